@@ -1,8 +1,11 @@
 package com.princz_mia.viaual04_gourmetgo_backend.business.service;
 
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.CartItem;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartItemDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartSyncRequest;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface ICartItemService {
@@ -14,4 +17,6 @@ public interface ICartItemService {
     CartItemDto updateItemQuantity(UUID cartId, UUID productId, int quantity);
 
     CartItem getCartItem(UUID cartId, UUID productId);
+
+    CartDto syncItems(UUID cartId, List<CartSyncRequest.Item> items);
 }
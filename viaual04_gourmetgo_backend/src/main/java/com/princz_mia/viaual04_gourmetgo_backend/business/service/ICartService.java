@@ -19,6 +19,23 @@ public interface ICartService {
 
     Cart getCartByCustomerId(UUID customerId);
 
+    /**
+     * Returns the customer's cart with its items up to date in the database, for placing an
+     * order from it. Carts kept in an ephemeral store are written back first.
+     */
+    Cart getCartForCheckout(UUID customerId);
+
+    /**
+     * Returns a read-only view of the cart, served from cache when the cart has not changed
+     * since it was last read. The returned DTO is shared and must not be modified.
+     */
+    CartDto getCartView(UUID id);
+
+    /**
+     * Returns the read-only view of the customer's cart, see {@link #getCartView(UUID)}.
+     */
+    CartDto getCartViewByCustomerId(UUID customerId);
+
     CartDto convertToDto(Cart cart);
 
 }
@@ -4,13 +4,28 @@ import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Image;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ImageDto;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.UUID;
 
 public interface IImageService {
+    // Hex digits of the content hash carried as the ?v= version of download URLs
+    int VERSION_LENGTH = 16;
+
     Image getImageById(UUID id);
+    void streamImage(UUID id, ImageSink sink) throws IOException;
     void deleteImageById(UUID id);
     Image saveProductImage(MultipartFile file, UUID productId);
     ImageDto saveRestaurantImage(MultipartFile file, UUID restaurantId);
     Image updateImage(MultipartFile file, UUID id);
+    boolean moveDataToStorage(UUID id) throws IOException;
     ImageDto convertImageToDto(Image image);
+
+    /**
+     * Receives the image metadata and size before the content is copied into the returned stream.
+     */
+    @FunctionalInterface
+    interface ImageSink {
+        OutputStream open(Image image, long contentLength) throws IOException;
+    }
 }
\ No newline at end of file
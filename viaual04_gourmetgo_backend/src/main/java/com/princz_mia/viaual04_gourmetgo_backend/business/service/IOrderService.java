@@ -3,6 +3,8 @@ package com.princz_mia.viaual04_gourmetgo_backend.business.service;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Customer;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Order;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.OrderStatus;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.OrderPageQuery;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CursorPageDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.OrderDto;
 
 import java.util.List;
@@ -25,4 +27,10 @@ public interface IOrderService {
     boolean existsByCustomerIdAndRestaurantId(UUID customerId, UUID restaurantId);
 
     List<OrderDto> getRestaurantOrders(UUID restaurantId);
+
+    /**
+     * Returns one page of matching orders, newest first. Pass the previous page's
+     * {@code nextCursor} to continue, or null for the first page.
+     */
+    CursorPageDto<OrderDto> getOrderPage(OrderPageQuery query, String cursor, int limit);
 }
\ No newline at end of file
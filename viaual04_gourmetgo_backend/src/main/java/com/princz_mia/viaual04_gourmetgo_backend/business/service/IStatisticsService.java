@@ -21,4 +21,6 @@ public interface IStatisticsService {
     void removeSession(String sessionId);
     
     Long getActiveUsersCount();
+    
+    int rebuildOrderStatsRollup();
 }
\ No newline at end of file
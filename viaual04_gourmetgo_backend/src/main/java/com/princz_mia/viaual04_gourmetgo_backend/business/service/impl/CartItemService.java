@@ -9,29 +9,57 @@ import com.princz_mia.viaual04_gourmetgo_backend.data.entity.CartItem;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.CartItemRepository;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.CartRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ProductRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.events.CartChangedEvent;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.AppException;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ErrorType;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ResourceNotFoundException;
+import com.princz_mia.viaual04_gourmetgo_backend.exception.ServiceException;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartItemDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartSyncRequest;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.CartMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@ConditionalOnProperty(name = "app.cart.store", havingValue = "jpa", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class CartItemService implements ICartItemService{
 
     private final CartItemRepository cartItemRepository;
     private final CartRepository cartRepository;
+    private final ProductRepository productRepository;
     private final ICartService cartService;
     private final IProductService productService;
-    private final ModelMapper modelMapper;
+    private final InventoryReservationService inventoryReservationService;
+    private final CartMapper cartMapper;
+    private final ApplicationEventPublisher publisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.cart.sync-batch-size:50}")
+    private int syncBatchSize;
 
     @Override
     @Transactional
@@ -57,24 +85,29 @@ public class CartItemService implements ICartItemService{
                     .filter(item -> item.getProduct().getId().equals(productId))
                     .findFirst()
                     .orElse(new CartItem());
+            int cartQuantity = cartItem.getId() == null ? quantity : cartItem.getQuantity() + quantity;
+            inventoryReservationService.restoreOnRollback(inventoryReservationService.snapshot(cartId, List.of(productId)));
+            if (!inventoryReservationService.reserve(cartId, product, cartQuantity)) {
+                throw new AppException("Not enough inventory for " + product.getName(), ErrorType.BUSINESS_RULE_VIOLATION);
+            }
+            // The cart is managed, the total and item changes are flushed with the transaction
             if (cartItem.getId() == null) {
                 cartItem.setCart(cart);
                 cartItem.setProduct(product);
                 cartItem.setQuantity(quantity);
                 cartItem.setUnitPrice(product.getPrice());
+                cartItem.setTotalPrice();
+                cartItem = cartItemRepository.save(cartItem);
+                cart.addItem(cartItem);
             } else {
-                cartItem.setQuantity(cartItem.getQuantity() + quantity);
+                cart.updateItem(cartItem, cartQuantity, cartItem.getUnitPrice());
             }
-            cartItem.setTotalPrice();
-            CartItem savedCartItem = cartItemRepository.save(cartItem);
-
-            cart.addItem(savedCartItem);
-            cartRepository.save(cart);
+            publisher.publishEvent(new CartChangedEvent(cartId));
             
             LoggingUtils.logBusinessEvent(log, "CART_ITEM_ADDED", "cartId", cartId, "productId", productId, "quantity", quantity);
             LoggingUtils.logPerformance(log, "addItemToCart", System.currentTimeMillis() - startTime);
             
-            return modelMapper.map(savedCartItem, CartItemDto.class);
+            return cartMapper.toDto(cartItem);
         } catch (Exception e) {
             LoggingUtils.logError(log, "Failed to add item to cart", e, "cartId", cartId, "productId", productId, "quantity", quantity);
             throw e;
@@ -91,7 +124,9 @@ public class CartItemService implements ICartItemService{
             Cart cart = cartService.getCart(cartId);
             CartItem itemToRemove = getCartItem(cartId, productId);
             cart.removeItem(itemToRemove);
-            cartRepository.save(cart);
+            inventoryReservationService.restoreOnRollback(inventoryReservationService.snapshot(cartId, List.of(productId)));
+            inventoryReservationService.release(cartId, productId);
+            publisher.publishEvent(new CartChangedEvent(cartId));
             
             LoggingUtils.logBusinessEvent(log, "CART_ITEM_REMOVED", "cartId", cartId, "productId", productId);
             LoggingUtils.logPerformance(log, "removeItemFromCart", System.currentTimeMillis() - startTime);
@@ -112,34 +147,151 @@ public class CartItemService implements ICartItemService{
 
             if (quantity <= 0) {
                 removeItemFromCart(cartId, productId);
+                return null;
             }
 
-            cart.getItems()
+            CartItem item = cart.getItems()
                     .stream()
-                    .filter(item -> item.getProduct().getId().equals(productId))
+                    .filter(i -> i.getProduct().getId().equals(productId))
                     .findFirst()
-                    .ifPresent(item -> {
-                        item.setQuantity(quantity);
-                        item.setUnitPrice(item.getProduct().getPrice());
-                        item.setTotalPrice();
-                    });
-            BigDecimal totalAmount = cart.getItems()
-                    .stream()
-                    .map(CartItem::getTotalPrice)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            cart.setTotalAmount(totalAmount);
+                    .orElse(null);
+            // Nothing is written or invalidated when the line is already as requested
+            if (item != null && (item.getQuantity() != quantity
+                    || item.getUnitPrice() == null || item.getUnitPrice().compareTo(item.getProduct().getPrice()) != 0)) {
+                inventoryReservationService.restoreOnRollback(inventoryReservationService.snapshot(cartId, List.of(productId)));
+                if (!inventoryReservationService.reserve(cartId, item.getProduct(), quantity)) {
+                    throw new AppException("Not enough inventory for " + item.getProduct().getName(), ErrorType.BUSINESS_RULE_VIOLATION);
+                }
+                cart.updateItem(item, quantity, item.getProduct().getPrice());
+                publisher.publishEvent(new CartChangedEvent(cartId));
+            }
             
             LoggingUtils.logBusinessEvent(log, "CART_ITEM_QUANTITY_UPDATED", "cartId", cartId, "productId", productId, "quantity", quantity);
             LoggingUtils.logPerformance(log, "updateItemQuantity", System.currentTimeMillis() - startTime);
             
-            return modelMapper.map(cartRepository.save(cart), CartItemDto.class);
+            return item != null ? cartMapper.toDto(item) : null;
         } catch (Exception e) {
             LoggingUtils.logError(log, "Failed to update item quantity", e, "cartId", cartId, "productId", productId, "quantity", quantity);
             throw e;
         }
     }
 
+    /**
+     * Applies every line of the request in one transaction: the products are read with a single
+     * query and the changed rows are flushed as JDBC batches, one per statement kind.
+     */
+    @Override
+    @Transactional
+    public CartDto syncItems(UUID cartId, List<CartSyncRequest.Item> items) {
+        LoggingUtils.logMethodEntry(log, "syncItems", "cartId", cartId, "items", items.size());
+        long startTime = System.currentTimeMillis();
+
+        try {
+            Map<UUID, Integer> quantities = targetQuantities(items);
+            Cart cart = cartRepository.findWithItemsById(cartId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
+            Map<UUID, CartItem> lines = cart.getItems().stream()
+                    .collect(Collectors.toMap(item -> item.getProduct().getId(), Function.identity()));
+
+            Map<UUID, Integer> upserts = new LinkedHashMap<>();
+            quantities.forEach((productId, quantity) -> {
+                if (quantity > 0) {
+                    upserts.put(productId, quantity);
+                }
+            });
+            Map<UUID, Product> products = findProducts(upserts.keySet());
+
+            Set<UUID> restaurants = new HashSet<>();
+            lines.forEach((productId, item) -> {
+                if (quantities.getOrDefault(productId, 1) > 0) {
+                    restaurants.add(item.getProduct().getRestaurant().getId());
+                }
+            });
+            products.values().forEach(product -> restaurants.add(product.getRestaurant().getId()));
+            if (restaurants.size() > 1) {
+                throw new AppException("Cannot add from different restaurant", ErrorType.BUSINESS_RULE_VIOLATION);
+            }
+
+            inventoryReservationService.restoreOnRollback(inventoryReservationService.snapshot(cartId, quantities.keySet()));
+            Set<UUID> unavailable = inventoryReservationService.reserveAll(cartId, products, upserts);
+            if (!unavailable.isEmpty()) {
+                throw new AppException("Not enough inventory for " + unavailable.stream()
+                        .map(productId -> products.get(productId).getName())
+                        .collect(Collectors.joining(", ")), ErrorType.BUSINESS_RULE_VIOLATION);
+            }
+
+            entityManager.unwrap(Session.class).setJdbcBatchSize(syncBatchSize);
+            boolean changed = false;
+            List<CartItem> added = new ArrayList<>();
+            for (Map.Entry<UUID, Integer> target : quantities.entrySet()) {
+                UUID productId = target.getKey();
+                int quantity = target.getValue();
+                CartItem item = lines.get(productId);
+                if (quantity <= 0) {
+                    if (item != null) {
+                        cart.removeItem(item);
+                        inventoryReservationService.release(cartId, productId);
+                        changed = true;
+                    }
+                    continue;
+                }
+
+                Product product = products.get(productId);
+                if (item == null) {
+                    CartItem cartItem = CartItem.builder()
+                            .cart(cart)
+                            .product(product)
+                            .quantity(quantity)
+                            .unitPrice(product.getPrice())
+                            .build();
+                    cartItem.setTotalPrice();
+                    added.add(cartItem);
+                } else if (item.getQuantity() != quantity
+                        || item.getUnitPrice() == null || item.getUnitPrice().compareTo(product.getPrice()) != 0) {
+                    cart.updateItem(item, quantity, product.getPrice());
+                    changed = true;
+                }
+            }
+            // Persisting only assigns ids, the inserts go out with the other changes at flush
+            cartItemRepository.saveAll(added).forEach(cart::addItem);
+            if (changed || !added.isEmpty()) {
+                publisher.publishEvent(new CartChangedEvent(cartId));
+            }
+
+            LoggingUtils.logBusinessEvent(log, "CART_ITEMS_SYNCED", "cartId", cartId, "items", quantities.size());
+            LoggingUtils.logPerformance(log, "syncItems", System.currentTimeMillis() - startTime);
+
+            return cartMapper.toDto(cart);
+        } catch (Exception e) {
+            LoggingUtils.logError(log, "Failed to sync cart items", e, "cartId", cartId);
+            throw e;
+        }
+    }
+
+    /**
+     * Target quantity per product in request order; a product listed twice takes its last
+     * quantity.
+     */
+    static Map<UUID, Integer> targetQuantities(List<CartSyncRequest.Item> items) {
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        for (CartSyncRequest.Item item : items) {
+            quantities.put(item.getProductId(), item.getQuantity());
+        }
+        return quantities;
+    }
+
+    private Map<UUID, Product> findProducts(Set<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, Product> products = productRepository.findByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        if (products.size() < productIds.size()) {
+            throw new ServiceException("Product not found", ErrorType.RESOURCE_NOT_FOUND);
+        }
+        return products;
+    }
+
     @Override
     public CartItem getCartItem(UUID cartId, UUID productId) {
         LoggingUtils.logMethodEntry(log, "getCartItem", "cartId", cartId, "productId", productId);
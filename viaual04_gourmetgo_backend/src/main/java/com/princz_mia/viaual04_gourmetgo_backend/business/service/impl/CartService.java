@@ -3,15 +3,16 @@ package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.ICartService;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Cart;
-import com.princz_mia.viaual04_gourmetgo_backend.data.entity.CartItem;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Customer;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.CartItemRepository;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.CartRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.events.CartClearedEvent;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ResourceNotFoundException;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.CartMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,7 +27,11 @@ public class CartService implements ICartService {
 
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
-    private final ModelMapper modelMapper;
+    private final CartMapper cartMapper;
+    private final CartViewCache cartViewCache;
+    // Present when app.cart.store keeps carts outside the database
+    private final Optional<StoredCartService> storedCartService;
+    private final ApplicationEventPublisher publisher;
 
     @Override
     public Cart getCart(UUID id) {
@@ -36,11 +41,9 @@ public class CartService implements ICartService {
         try {
             Cart cart = cartRepository.findById(id)
                     .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
-            BigDecimal totalAmount = cart.getTotalAmount();
-            cart.setTotalAmount(totalAmount);
             
             LoggingUtils.logPerformance(log, "getCart", System.currentTimeMillis() - startTime);
-            return cartRepository.save(cart);
+            return cart;
         } catch (Exception e) {
             LoggingUtils.logError(log, "Failed to get cart", e, "cartId", id);
             throw e;
@@ -82,6 +85,9 @@ public class CartService implements ICartService {
                     .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
             cartItemRepository.deleteAllByCart_Id(id);
             cart.getItems().clear();
+            cart.setTotalAmount(BigDecimal.ZERO);
+            // Inventory held for the items is released once the clear commits
+            publisher.publishEvent(new CartClearedEvent(id));
             
             LoggingUtils.logBusinessEvent(log, "CART_CLEARED", "cartId", id);
             LoggingUtils.logPerformance(log, "clearCart", System.currentTimeMillis() - startTime);
@@ -97,11 +103,8 @@ public class CartService implements ICartService {
         long startTime = System.currentTimeMillis();
         
         try {
-            Cart cart = getCart(id);
-            BigDecimal totalPrice = cart.getItems()
-                    .stream()
-                    .map(CartItem::getTotalPrice)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // Kept up to date by every item change
+            BigDecimal totalPrice = getCartView(id).getTotalAmount();
             
             LoggingUtils.logBusinessEvent(log, "CART_TOTAL_CALCULATED", "cartId", id, "totalPrice", totalPrice);
             LoggingUtils.logPerformance(log, "getTotalPrice", System.currentTimeMillis() - startTime);
@@ -128,9 +131,43 @@ public class CartService implements ICartService {
         }
     }
 
+    @Override
+    @Transactional
+    public Cart getCartForCheckout(UUID customerId) {
+        LoggingUtils.logMethodEntry(log, "getCartForCheckout", "customerId", customerId);
+        Cart cart = getCartByCustomerId(customerId);
+        if (cart == null || storedCartService.isEmpty()) {
+            return cart;
+        }
+        return storedCartService.get().writeBack(cart.getId());
+    }
+
+    @Override
+    public CartDto getCartView(UUID id) {
+        LoggingUtils.logMethodEntry(log, "getCartView", "id", id);
+        long startTime = System.currentTimeMillis();
+
+        CartDto cart = cartViewCache.get(id, () -> storedCartService
+                .map(store -> store.view(id))
+                .orElseGet(() -> cartRepository.findWithItemsById(id)
+                        .map(cartMapper::toDto)
+                        .orElseThrow(() -> new ResourceNotFoundException("Cart not found"))));
+
+        LoggingUtils.logPerformance(log, "getCartView", System.currentTimeMillis() - startTime);
+        return cart;
+    }
+
+    @Override
+    public CartDto getCartViewByCustomerId(UUID customerId) {
+        LoggingUtils.logMethodEntry(log, "getCartViewByCustomerId", "customerId", customerId);
+        UUID cartId = cartRepository.findIdByCustomerId(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
+        return getCartView(cartId);
+    }
+
     @Override
     public CartDto convertToDto(Cart cart) {
         LoggingUtils.logMethodEntry(log, "convertToDto", "cartId", cart.getId());
-        return modelMapper.map(cart, CartDto.class);
+        return cartMapper.toDto(cart);
     }
 }
\ No newline at end of file
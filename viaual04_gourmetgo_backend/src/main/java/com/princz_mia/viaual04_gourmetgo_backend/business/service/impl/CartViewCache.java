@@ -0,0 +1,183 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
+
+import com.princz_mia.viaual04_gourmetgo_backend.config.BoundedTtlMap;
+import com.princz_mia.viaual04_gourmetgo_backend.config.invalidation.InvalidationBroadcaster;
+import com.princz_mia.viaual04_gourmetgo_backend.events.CartChangedEvent;
+import com.princz_mia.viaual04_gourmetgo_backend.events.CartClearedEvent;
+import com.princz_mia.viaual04_gourmetgo_backend.events.MenuChangedEvent;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartItemDto;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cart views served to cart reads. A miss builds the view inside a read-only transaction,
+ * so reading a cart never flushes or dirty-checks its items. Views are dropped once a change
+ * to the cart commits, and when the restaurant its products belong to changes its menu.
+ * Cached views are shared between requests and must not be modified.
+ * <p>
+ * Every instance keeps its own views, so both kinds of invalidation are also announced on
+ * the {@code cart-views} channel of the {@link InvalidationBroadcaster} and applied by the
+ * other instances. Delivery is best effort: when a message is lost, for example while Redis
+ * is unreachable, another instance may serve an outdated view for up to
+ * {@code app.cart-view-cache.ttl-ms}. Deployments that cannot accept that should keep the
+ * TTL short or run a single node.
+ */
+@Component
+@Slf4j
+public class CartViewCache {
+
+    private static final String CHANNEL = "cart-views";
+    private static final String CART_PREFIX = "cart:";
+    private static final String RESTAURANT_PREFIX = "restaurant:";
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final InvalidationBroadcaster broadcaster;
+
+    private final BoundedTtlMap<UUID, View> views;
+    // Invalidation times, a view built from a read that started earlier is not cached
+    private final Map<UUID, Long> cartsInvalidatedAt = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> restaurantsInvalidatedAt = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Value("${app.cart-view-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    private final int maxSize;
+
+    public CartViewCache(PlatformTransactionManager transactionManager,
+                         InvalidationBroadcaster broadcaster,
+                         @Value("${app.cart-view-cache.max-size:10000}") int maxSize) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.broadcaster = broadcaster;
+        this.maxSize = maxSize;
+        this.views = new BoundedTtlMap<>(maxSize, false);
+    }
+
+    @PostConstruct
+    public void init() {
+        broadcaster.subscribe(CHANNEL, this::applyRemote);
+    }
+
+    public CartDto get(UUID cartId, Supplier<CartDto> loader) {
+        View view = views.get(cartId);
+        if (view != null) {
+            hits.increment();
+            return view.cart;
+        }
+
+        misses.increment();
+        long startedAt = System.nanoTime();
+        CartDto cart = readOnlyTransaction.execute(status -> loader.get());
+        UUID restaurantId = restaurantOf(cart);
+        if (!invalidatedSince(cartsInvalidatedAt, cartId, startedAt)
+                && (restaurantId == null || !invalidatedSince(restaurantsInvalidatedAt, restaurantId, startedAt))) {
+            views.put(cartId, new View(cart, restaurantId), ttlMs);
+        }
+        return cart;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCartChanged(CartChangedEvent event) {
+        invalidate(event.getCartId());
+        announce(CART_PREFIX + event.getCartId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCartCleared(CartClearedEvent event) {
+        invalidate(event.getCartId());
+        announce(CART_PREFIX + event.getCartId());
+    }
+
+    // Carts show product prices and stock, so a menu change outdates them
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        UUID restaurantId = event.getRestaurantId();
+        if (restaurantId == null) {
+            return;
+        }
+        invalidateRestaurant(restaurantId);
+        announce(RESTAURANT_PREFIX + restaurantId);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("size", views.size());
+        metrics.put("maxSize", maxSize);
+        metrics.put("hits", hits.sum());
+        metrics.put("misses", misses.sum());
+        return metrics;
+    }
+
+    // Own announcements come back too, applying them again is harmless
+    private void applyRemote(String key) {
+        if (key.startsWith(CART_PREFIX)) {
+            invalidate(UUID.fromString(key.substring(CART_PREFIX.length())));
+        } else if (key.startsWith(RESTAURANT_PREFIX)) {
+            invalidateRestaurant(UUID.fromString(key.substring(RESTAURANT_PREFIX.length())));
+        }
+    }
+
+    private void announce(String key) {
+        try {
+            broadcaster.publish(CHANNEL, key);
+        } catch (Exception e) {
+            log.warn("Cart view invalidation '{}' could not be announced, other instances keep it until it expires: {}",
+                    key, e.getMessage());
+        }
+    }
+
+    private void invalidateRestaurant(UUID restaurantId) {
+        restaurantsInvalidatedAt.put(restaurantId, System.nanoTime());
+        views.removeIf((cartId, view) -> restaurantId.equals(view.restaurantId));
+    }
+
+    private void invalidate(UUID cartId) {
+        cartsInvalidatedAt.put(cartId, System.nanoTime());
+        views.remove(cartId);
+        if (cartsInvalidatedAt.size() > maxSize) {
+            pruneInvalidations();
+        }
+    }
+
+    // Invalidation times only matter to reads still in flight, which are far shorter than the TTL
+    private void pruneInvalidations() {
+        long horizon = System.nanoTime() - ttlMs * 1_000_000L;
+        cartsInvalidatedAt.values().removeIf(at -> at - horizon < 0);
+        restaurantsInvalidatedAt.values().removeIf(at -> at - horizon < 0);
+    }
+
+    private boolean invalidatedSince(Map<UUID, Long> invalidatedAt, UUID id, long startedAt) {
+        Long at = invalidatedAt.get(id);
+        return at != null && at - startedAt >= 0;
+    }
+
+    private UUID restaurantOf(CartDto cart) {
+        if (cart.getItems() == null) {
+            return null;
+        }
+        return cart.getItems().stream()
+                .map(CartItemDto::getProduct)
+                .filter(product -> product != null && product.getRestaurant() != null)
+                .map(product -> product.getRestaurant().getId())
+                .findFirst()
+                .orElse(null);
+    }
+
+    private record View(CartDto cart, UUID restaurantId) {
+    }
+}
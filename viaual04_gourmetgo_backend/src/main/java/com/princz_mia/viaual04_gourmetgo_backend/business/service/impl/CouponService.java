@@ -14,9 +14,9 @@ import com.princz_mia.viaual04_gourmetgo_backend.exception.AppException;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ErrorType;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ResourceNotFoundException;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CouponDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.CouponMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.ApplicationEventPublisher;
 
 import org.springframework.stereotype.Service;
@@ -39,7 +39,7 @@ public class CouponService implements ICouponService
     private final CouponRepository couponRepository;
     private final CouponUsageRepository couponUsageRepository;
 
-    private final ModelMapper modelMapper;
+    private final CouponMapper couponMapper;
     private final ApplicationEventPublisher publisher;
 
     @Override
@@ -139,6 +139,6 @@ public class CouponService implements ICouponService
     @Override
     public CouponDto convertCouponToDto(Coupon coupon) {
         LoggingUtils.logMethodEntry(log, "convertCouponToDto", "couponId", coupon.getId());
-        return modelMapper.map(coupon, CouponDto.class);
+        return couponMapper.toDto(coupon);
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
 
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.ICustomerService;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
+import com.princz_mia.viaual04_gourmetgo_backend.config.security.PrincipalCache;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Cart;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Confirmation;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Credential;
@@ -42,6 +43,7 @@ public class CustomerService implements ICustomerService {
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
     private final ApplicationEventPublisher publisher;
     private final CartRepository cartRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public Customer getCustomerById(UUID id) {
@@ -171,6 +173,7 @@ public class CustomerService implements ICustomerService {
         
         try {
             Customer updatedCustomer = customerRepository.findById(id).map(existingCustomer -> {
+                principalCache.invalidate(existingCustomer.getEmailAddress());
                 existingCustomer.setFullName(request.getFullName());
                 existingCustomer.setPhoneNumber(request.getPhoneNumber());
                 existingCustomer.setEmailAddress(request.getEmailAddress());
@@ -195,6 +198,7 @@ public class CustomerService implements ICustomerService {
         try {
             customerRepository.findById(id).ifPresentOrElse(customer -> {
                 customerRepository.delete(customer);
+                principalCache.invalidate(customer.getEmailAddress());
                 LoggingUtils.logBusinessEvent(log, "CUSTOMER_DELETED", "customerId", id, "email", LoggingUtils.maskSensitiveData(customer.getEmailAddress()));
             }, () -> {
                 throw new ServiceException("Customer not found with ID: " + id, ErrorType.RESOURCE_NOT_FOUND);
@@ -2,34 +2,46 @@ package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
 
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IImageService;
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IProductService;
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.ImageContentReleaser;
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.ImageStorage;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Image;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Restaurant;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ImageRepository;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.RestaurantRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.events.MenuChangedEvent;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ResourceNotFoundException;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ImageDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.CommonMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.multipart.MultipartFile;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
 
-import javax.sql.rowset.serial.SerialBlob;
 import java.io.IOException;
+import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ImageService implements IImageService {
+
     private final ImageRepository imageRepository;
     private final IProductService productService;
     private final RestaurantRepository restaurantRepository;
-    private final ModelMapper modelMapper;
+    private final CommonMapper commonMapper;
+    private final ImageStorage imageStorage;
+    private final ImageContentReleaser imageContentReleaser;
+    private final ImageVariantService imageVariantService;
+    private final ApplicationEventPublisher publisher;
 
     @Override
     @Transactional
@@ -41,11 +53,32 @@ public class ImageService implements IImageService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void streamImage(UUID id, ImageSink sink) throws IOException {
+        // Only used for images whose bytes have not been moved to the image store yet
+        Image img = imageRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No image found"));
+        // The blob is only readable while the transaction is open, so it is copied here in fixed-size chunks
+        try (InputStream data = img.getData().getBinaryStream()) {
+            StreamUtils.copy(data, sink.open(img, img.getData().length()));
+        } catch (SQLException e) {
+            throw new IOException("Failed to read image data", e);
+        }
+    }
+
+    @Override
+    @Transactional
     public void deleteImageById(UUID id) {
         LoggingUtils.logMethodEntry(log, "deleteImageById", "id", id);
         Image img = imageRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("No image found"));
+        List<String> hashes = new ArrayList<>();
+        hashes.add(img.getContentHash());
+        img.getVariants().forEach(variant -> hashes.add(variant.getContentHash()));
+        imageRepository.unlinkData(id);
         imageRepository.delete(img);
+        imageContentReleaser.releaseAfterCommit(hashes);
+        publishMenuChanged(img);
         LoggingUtils.logBusinessEvent(log, "IMAGE_DELETED", "imageId", id);
     }
 
@@ -61,6 +94,7 @@ public class ImageService implements IImageService {
         }
         
         Image savedImage = saveImage(file, img -> img.setProduct(product));
+        publishMenuChanged(savedImage);
         LoggingUtils.logBusinessEvent(log, "PRODUCT_IMAGE_SAVED", "imageId", savedImage.getId(), "productId", productId);
         return savedImage;
     }
@@ -83,6 +117,7 @@ public class ImageService implements IImageService {
         // Update restaurant's logo reference
         restaurant.setLogo(savedImage);
         restaurantRepository.save(restaurant);
+        publishMenuChanged(savedImage);
         
         LoggingUtils.logBusinessEvent(log, "RESTAURANT_IMAGE_SAVED", "imageId", savedImage.getId(), "restaurantId", restaurantId);
         return convertImageToDto(savedImage);
@@ -95,13 +130,24 @@ public class ImageService implements IImageService {
         Image img = imageRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("No image found"));
         try {
+            String previousHash = img.getContentHash();
+            ImageStorage.StoredContent content = imageStorage.store(file.getInputStream());
+            if (img.getData() != null) {
+                imageRepository.unlinkData(id);
+                img.setData(null);
+            }
             img.setFileName(file.getOriginalFilename());
             img.setFileType(file.getContentType());
-            img.setData(new SerialBlob(file.getBytes()));
+            applyContent(img, content);
             img = imageRepository.save(img);
+            if (!content.hash().equals(previousHash)) {
+                imageContentReleaser.releaseAfterCommit(previousHash);
+                imageVariantService.generateAfterCommit(id, content.hash());
+            }
+            publishMenuChanged(img);
             LoggingUtils.logBusinessEvent(log, "IMAGE_UPDATED", "imageId", id, "fileName", file.getOriginalFilename());
             return img;
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             LoggingUtils.logError(log, "Failed to update image", e, "id", id);
             throw new RuntimeException(e.getMessage(), e);
         }
@@ -109,25 +155,59 @@ public class ImageService implements IImageService {
 
     private Image saveImage(MultipartFile file, java.util.function.Consumer<Image> setOwner) {
         try {
+            ImageStorage.StoredContent content = imageStorage.store(file.getInputStream());
             Image img = Image.builder()
                     .fileName(file.getOriginalFilename())
                     .fileType(file.getContentType())
-                    .data(new SerialBlob(file.getBytes()))
                     .build();
             setOwner.accept(img);
             img = imageRepository.save(img);
-
-            img.setDownloadUrl("/api/v1/images/download/" + img.getId());
-
-            imageRepository.save(img);
+            applyContent(img, content);
+            imageVariantService.generateAfterCommit(img.getId(), content.hash());
             return img;
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
 
+    @Override
+    @Transactional
+    public boolean moveDataToStorage(UUID id) throws IOException {
+        Image img = imageRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No image found"));
+        if (img.getContentHash() != null || img.getData() == null) {
+            return false;
+        }
+        try (InputStream data = img.getData().getBinaryStream()) {
+            applyContent(img, imageStorage.store(data));
+        } catch (SQLException e) {
+            throw new IOException("Failed to read image data", e);
+        }
+        imageRepository.unlinkData(id);
+        img.setData(null);
+        imageRepository.save(img);
+        imageVariantService.generateAfterCommit(id, img.getContentHash());
+        return true;
+    }
+
+    private void publishMenuChanged(Image img) {
+        // Download URLs are versioned by content, so the owning restaurant's page has to be rebuilt
+        if (img.getProduct() != null && img.getProduct().getRestaurant() != null) {
+            publisher.publishEvent(new MenuChangedEvent(img.getProduct().getRestaurant().getId()));
+        } else if (img.getRestaurant() != null) {
+            publisher.publishEvent(new MenuChangedEvent(img.getRestaurant().getId()));
+        }
+    }
+
+    private void applyContent(Image img, ImageStorage.StoredContent content) {
+        img.setContentHash(content.hash());
+        img.setContentLength(content.size());
+        // The version pins the URL to this content, so clients may cache it forever
+        img.setDownloadUrl("/api/v1/images/download/" + img.getId() + "?v=" + content.hash().substring(0, VERSION_LENGTH));
+    }
+
     @Override
     public ImageDto convertImageToDto(Image image) {
-        return modelMapper.map(image, ImageDto.class);
+        return commonMapper.toDto(image);
     }
 }
\ No newline at end of file
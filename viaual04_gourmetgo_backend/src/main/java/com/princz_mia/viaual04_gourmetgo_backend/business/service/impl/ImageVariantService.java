@@ -0,0 +1,289 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
+
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.ImageContentReleaser;
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.ImageStorage;
+import com.princz_mia.viaual04_gourmetgo_backend.config.ImageStorageProperties;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Image;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.ImageVariant;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.ImageVariantSize;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ImageRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ImageVariantRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Generates resized JPEG variants of uploaded images on a small bounded worker pool, so
+ * listings can download a thumbnail or card rendition instead of the original. Until a
+ * variant exists the original is served; a full queue only postpones generation to the
+ * next request for that size. Content that cannot be resized is remembered by hash and not
+ * queued again until restart.
+ */
+@Service
+@Slf4j
+public class ImageVariantService {
+
+    private static final int MAX_UNPROCESSABLE = 10_000;
+
+    private final ImageRepository imageRepository;
+    private final ImageVariantRepository imageVariantRepository;
+    private final ImageStorage imageStorage;
+    private final ImageContentReleaser imageContentReleaser;
+    private final TransactionTemplate transactionTemplate;
+    private final ImageStorageProperties properties;
+    private final ThreadPoolExecutor workers;
+
+    // Image id and source hash of queued or running jobs, so repeated requests do not queue duplicates
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // Source hashes that failed or were skipped, every download of a size would otherwise queue them again
+    private final Set<String> unprocessable = ConcurrentHashMap.newKeySet();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public ImageVariantService(ImageRepository imageRepository,
+                               ImageVariantRepository imageVariantRepository,
+                               ImageStorage imageStorage,
+                               ImageContentReleaser imageContentReleaser,
+                               TransactionTemplate transactionTemplate,
+                               ImageStorageProperties properties) {
+        this.imageRepository = imageRepository;
+        this.imageVariantRepository = imageVariantRepository;
+        this.imageStorage = imageStorage;
+        this.imageContentReleaser = imageContentReleaser;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+
+        int threads = Math.max(1, properties.getVariantWorkers());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getVariantQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public Optional<ImageVariant> findVariant(Image image, ImageVariantSize size) {
+        if (image.getContentHash() == null) {
+            return Optional.empty();
+        }
+        return imageVariantRepository.findByImage_IdAndVariantAndSourceHash(image.getId(), size, image.getContentHash());
+    }
+
+    /**
+     * Queues variant generation once the surrounding transaction has committed the new content.
+     */
+    public void generateAfterCommit(UUID imageId, String sourceHash) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            generate(imageId, sourceHash);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                generate(imageId, sourceHash);
+            }
+        });
+    }
+
+    public void generate(UUID imageId, String sourceHash) {
+        if (sourceHash == null || unprocessable.contains(sourceHash)) {
+            return;
+        }
+        String job = imageId + ":" + sourceHash;
+        if (!inFlight.add(job)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    process(imageId, sourceHash);
+                } catch (Exception e) {
+                    failed.increment();
+                    markUnprocessable(sourceHash);
+                    log.error("Failed to generate variants for image {}", imageId, e);
+                } finally {
+                    inFlight.remove(job);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(job);
+            rejected.increment();
+            log.warn("Image variant queue full, variants for image {} postponed", imageId);
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("workers", workers.getMaximumPoolSize());
+        metrics.put("queueDepth", workers.getQueue().size());
+        metrics.put("active", workers.getActiveCount());
+        metrics.put("generated", generated.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("unprocessable", unprocessable.size());
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Pending jobs are regenerated on demand, nothing is lost by dropping them
+        workers.shutdownNow();
+    }
+
+    private void process(UUID imageId, String sourceHash) throws IOException {
+        BufferedImage source = decode(imageId, sourceHash);
+        if (source == null) {
+            markUnprocessable(sourceHash);
+            return;
+        }
+
+        List<ImageVariant> variants = new ArrayList<>();
+        for (ImageVariantSize size : ImageVariantSize.values()) {
+            BufferedImage scaled = scale(source, size.getMaxDimension());
+            ImageStorage.StoredContent content = imageStorage.store(new ByteArrayInputStream(encodeJpeg(scaled)));
+            variants.add(ImageVariant.builder()
+                    .variant(size)
+                    .sourceHash(sourceHash)
+                    .contentHash(content.hash())
+                    .contentLength(content.size())
+                    .width(scaled.getWidth())
+                    .height(scaled.getHeight())
+                    .build());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Image image = imageRepository.findById(imageId).orElse(null);
+            if (image == null || !sourceHash.equals(image.getContentHash())) {
+                // Replaced or deleted while resizing, the new content gets its own job
+                imageContentReleaser.releaseAfterCommit(variants.stream()
+                        .map(ImageVariant::getContentHash).collect(Collectors.toList()));
+                return;
+            }
+            List<String> previous = image.getVariants().stream()
+                    .map(ImageVariant::getContentHash).collect(Collectors.toList());
+            image.getVariants().clear();
+            // Orphan removal has to reach the database before the unique (image, variant) rows are reinserted
+            imageRepository.saveAndFlush(image);
+            variants.forEach(variant -> {
+                variant.setImage(image);
+                image.getVariants().add(variant);
+            });
+            imageRepository.save(image);
+            imageContentReleaser.releaseAfterCommit(previous);
+        });
+        generated.increment();
+    }
+
+    private void markUnprocessable(String sourceHash) {
+        if (unprocessable.size() < MAX_UNPROCESSABLE) {
+            unprocessable.add(sourceHash);
+        }
+    }
+
+    private BufferedImage decode(UUID imageId, String sourceHash) throws IOException {
+        try (InputStream in = imageStorage.open(sourceHash);
+             ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                log.warn("Image {} has no readable format, variants skipped", imageId);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                // Checked from the header, before any pixel is decoded
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > properties.getMaxSourcePixels()) {
+                    log.warn("Image {} is {} pixels, above the variant limit, variants skipped", imageId, pixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        // Halving steps keep bilinear filtering from aliasing on large reductions
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                // JPEG has no alpha channel, transparent areas become white
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(properties.getVariantJpegQuality());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
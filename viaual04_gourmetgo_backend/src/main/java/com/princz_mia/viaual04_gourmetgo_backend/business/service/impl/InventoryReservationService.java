@@ -0,0 +1,365 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.CartItem;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ProductRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.events.CartClearedEvent;
+import com.princz_mia.viaual04_gourmetgo_backend.events.InventoryCommittedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time-limited holds on product inventory, taken when an item is put in a cart so a sold out
+ * dish is reported there rather than at checkout. Holds live in a table split into stripes,
+ * each guarded by its own lock, so carts touching different products never contend. The
+ * stock a stripe checks against is a copy of {@code Product.inventory}: it is lowered when an
+ * order commits and reloaded from the database on every reconciliation.
+ * <p>
+ * Holds are kept per instance. The conditional decrement at checkout stays the authority on
+ * stock, a hold only makes a shortfall visible earlier.
+ * </p>
+ * <p>
+ * Holds change as soon as a cart change asks for them. A change that fails afterwards puts
+ * them back from a {@link HoldSnapshot} taken before, see {@link #restore} and
+ * {@link #restoreOnRollback}.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryReservationService {
+
+    private static final int STRIPES = 64;
+
+    private final ProductRepository productRepository;
+
+    private final Stripe[] stripes = createStripes();
+    // Products each cart holds, so a cleared cart releases its holds without scanning every stripe
+    private final Map<UUID, Set<UUID>> cartProducts = new ConcurrentHashMap<>();
+
+    private final LongAdder reservations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    @Value("${app.inventory-reservations.ttl-ms:900000}")
+    private long ttlMs;
+
+    /**
+     * Holds {@code quantity} units of the product for the cart, replacing the cart's previous
+     * hold on it. Fails without changing anything when the units not held by other carts do
+     * not cover the quantity.
+     *
+     * @param product the loaded product, its inventory seeds the stock of an untracked product
+     * @return whether the hold was placed
+     */
+    public boolean reserve(UUID cartId, Product product, int quantity) {
+        return place(cartId, product, quantity, null);
+    }
+
+    /**
+     * Places the holds of several cart lines at once. When any of them cannot be placed, the
+     * holds already changed by this call are put back as they were.
+     *
+     * @param quantities quantity to hold per product id, every product has to be given
+     * @return ids of the products that could not be held, empty when every hold was placed
+     */
+    public Set<UUID> reserveAll(UUID cartId, Map<UUID, Product> products, Map<UUID, Integer> quantities) {
+        Map<UUID, Hold> previous = new HashMap<>();
+        Set<UUID> unavailable = new HashSet<>();
+        quantities.forEach((productId, quantity) -> {
+            if (!place(cartId, products.get(productId), quantity, previous)) {
+                unavailable.add(productId);
+            }
+        });
+        if (!unavailable.isEmpty()) {
+            previous.forEach((productId, hold) -> restore(cartId, productId, hold));
+        }
+        return unavailable;
+    }
+
+    /**
+     * Records the cart's current holds on the products, so a change that fails after placing
+     * or releasing them can put them back.
+     */
+    public HoldSnapshot snapshot(UUID cartId, Collection<UUID> productIds) {
+        Map<UUID, Hold> holds = new HashMap<>();
+        for (UUID productId : productIds) {
+            Stripe stripe = stripeFor(productId);
+            synchronized (stripe) {
+                ProductHolds productHolds = stripe.products.get(productId);
+                holds.put(productId, productHolds != null ? productHolds.holds.get(cartId) : null);
+            }
+        }
+        return new HoldSnapshot(cartId, holds);
+    }
+
+    /**
+     * Puts the recorded holds back, releasing the ones the cart did not have. Holds that
+     * expired in the meantime stay released.
+     */
+    public void restore(HoldSnapshot snapshot) {
+        snapshot.holds.forEach((productId, hold) -> restore(snapshot.cartId, productId, hold));
+    }
+
+    /**
+     * Restores the snapshot once the surrounding transaction has rolled back, so holds taken or
+     * released by a failed cart change do not outlive it. Does nothing outside a transaction.
+     */
+    public void restoreOnRollback(HoldSnapshot snapshot) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    restore(snapshot);
+                }
+            }
+        });
+    }
+
+    private boolean place(UUID cartId, Product product, int quantity, Map<UUID, Hold> previous) {
+        long now = System.currentTimeMillis();
+        Stripe stripe = stripeFor(product.getId());
+        synchronized (stripe) {
+            ProductHolds holds = stripe.products.computeIfAbsent(product.getId(), id -> new ProductHolds(product.getInventory()));
+            expire(product.getId(), holds, now);
+            Hold existing = holds.holds.get(cartId);
+            int heldByOthers = holds.reserved() - (existing != null ? existing.quantity : 0);
+            if (holds.stock - heldByOthers < quantity) {
+                rejections.increment();
+                return false;
+            }
+            holds.holds.put(cartId, new Hold(quantity, now + ttlMs));
+            // Tracked under the stripe lock, a concurrent clear either sees the product or runs before the hold exists
+            track(cartId, product.getId());
+            if (previous != null) {
+                previous.put(product.getId(), existing);
+            }
+        }
+        reservations.increment();
+        return true;
+    }
+
+    private void restore(UUID cartId, UUID productId, Hold hold) {
+        if (hold == null || hold.expiresAt <= System.currentTimeMillis()) {
+            release(cartId, productId);
+            return;
+        }
+        Stripe stripe = stripeFor(productId);
+        synchronized (stripe) {
+            ProductHolds holds = stripe.products.get(productId);
+            if (holds != null) {
+                holds.holds.put(cartId, hold);
+                track(cartId, productId);
+            }
+        }
+    }
+
+    public void release(UUID cartId, UUID productId) {
+        Stripe stripe = stripeFor(productId);
+        synchronized (stripe) {
+            ProductHolds holds = stripe.products.get(productId);
+            if (holds != null) {
+                holds.holds.remove(cartId);
+            }
+            forget(cartId, productId);
+        }
+    }
+
+    /**
+     * Renews the holds of every item in the cart at checkout, placing them again where they
+     * expired or were lost with a restart.
+     *
+     * @return ids of the products that can no longer be held in the cart's quantity
+     */
+    public Set<UUID> confirm(UUID cartId, Collection<CartItem> items) {
+        Set<UUID> unavailable = new HashSet<>();
+        for (CartItem item : items) {
+            if (!reserve(cartId, item.getProduct(), item.getQuantity())) {
+                unavailable.add(item.getProduct().getId());
+            }
+        }
+        return unavailable;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryCommitted(InventoryCommittedEvent event) {
+        event.getQuantities().forEach((productId, quantity) -> {
+            Stripe stripe = stripeFor(productId);
+            synchronized (stripe) {
+                ProductHolds holds = stripe.products.get(productId);
+                if (holds != null) {
+                    holds.stock -= quantity;
+                    holds.generation++;
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCartCleared(CartClearedEvent event) {
+        Set<UUID> products = cartProducts.remove(event.getCartId());
+        if (products == null) {
+            return;
+        }
+        for (UUID productId : products) {
+            Stripe stripe = stripeFor(productId);
+            synchronized (stripe) {
+                ProductHolds holds = stripe.products.get(productId);
+                if (holds != null) {
+                    holds.holds.remove(event.getCartId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops expired holds and untracks products nobody holds, then reloads the stock of the
+     * rest from the database to pick up changes made by restaurants or other instances.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory-reservations.reconcile-interval-ms:30000}")
+    public void reconcile() {
+        long now = System.currentTimeMillis();
+        Map<UUID, Integer> generations = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.products.entrySet().removeIf(entry -> {
+                    expire(entry.getKey(), entry.getValue(), now);
+                    return entry.getValue().holds.isEmpty();
+                });
+                stripe.products.forEach((productId, holds) -> generations.put(productId, holds.generation));
+            }
+        }
+        if (generations.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, Integer> inventory;
+        try {
+            inventory = productRepository.findInventory(generations.keySet());
+        } catch (Exception e) {
+            log.warn("Inventory reconciliation failed, keeping local stock: {}", e.getMessage());
+            return;
+        }
+        inventory.forEach((productId, stock) -> {
+            Stripe stripe = stripeFor(productId);
+            synchronized (stripe) {
+                ProductHolds holds = stripe.products.get(productId);
+                // An order committed while loading already lowered the stock, the loaded value may predate it
+                if (holds != null && holds.generation == generations.get(productId)) {
+                    holds.stock = stock;
+                }
+            }
+        });
+    }
+
+    public Map<String, Object> getMetrics() {
+        int products = 0;
+        int holds = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                products += stripe.products.size();
+                for (ProductHolds productHolds : stripe.products.values()) {
+                    holds += productHolds.holds.size();
+                }
+            }
+        }
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("trackedProducts", products);
+        metrics.put("activeHolds", holds);
+        metrics.put("reservations", reservations.sum());
+        metrics.put("rejections", rejections.sum());
+        metrics.put("expirations", expirations.sum());
+        return metrics;
+    }
+
+    private void expire(UUID productId, ProductHolds holds, long now) {
+        holds.holds.entrySet().removeIf(entry -> {
+            if (entry.getValue().expiresAt > now) {
+                return false;
+            }
+            expirations.increment();
+            forget(entry.getKey(), productId);
+            return true;
+        });
+    }
+
+    private void track(UUID cartId, UUID productId) {
+        cartProducts.computeIfAbsent(cartId, id -> ConcurrentHashMap.newKeySet()).add(productId);
+    }
+
+    private void forget(UUID cartId, UUID productId) {
+        cartProducts.computeIfPresent(cartId, (id, products) -> {
+            products.remove(productId);
+            return products.isEmpty() ? null : products;
+        });
+    }
+
+    private Stripe stripeFor(UUID productId) {
+        return stripes[Math.floorMod(productId.hashCode(), STRIPES)];
+    }
+
+    private static Stripe[] createStripes() {
+        Stripe[] stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        return stripes;
+    }
+
+    private static final class Stripe {
+        private final Map<UUID, ProductHolds> products = new HashMap<>();
+    }
+
+    private static final class ProductHolds {
+        private int stock;
+        // Bumped by committed orders so a reconciliation does not overwrite them with an older read
+        private int generation;
+        private final Map<UUID, Hold> holds = new HashMap<>();
+
+        private ProductHolds(int stock) {
+            this.stock = stock;
+        }
+
+        private int reserved() {
+            int reserved = 0;
+            for (Hold hold : holds.values()) {
+                reserved += hold.quantity;
+            }
+            return reserved;
+        }
+    }
+
+    private record Hold(int quantity, long expiresAt) {
+    }
+
+    /**
+     * A cart's holds on some products as they were at one point, {@code null} where it had none.
+     */
+    public static final class HoldSnapshot {
+        private final UUID cartId;
+        private final Map<UUID, Hold> holds;
+
+        private HoldSnapshot(UUID cartId, Map<UUID, Hold> holds) {
+            this.cartId = cartId;
+            this.holds = holds;
+        }
+    }
+}
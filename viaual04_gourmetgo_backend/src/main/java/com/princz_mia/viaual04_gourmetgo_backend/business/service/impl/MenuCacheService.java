@@ -0,0 +1,120 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.princz_mia.viaual04_gourmetgo_backend.config.BoundedTtlMap;
+import com.princz_mia.viaual04_gourmetgo_backend.events.MenuChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pre-serialized snapshots of the public restaurant page responses. Every restaurant has a
+ * version counter that is bumped after a {@link MenuChangedEvent} commits; a snapshot is
+ * only served while it was built for the current version. The ETag is a digest of the
+ * serialized body, so unchanged pages are revalidated with a 304 instead of being resent,
+ * across rebuilds, restarts and instances alike.
+ */
+@Service
+public class MenuCacheService {
+
+    public enum View {
+        PRODUCTS,
+        RESTAURANT
+    }
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<UUID, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final BoundedTtlMap<Key, Snapshot> snapshots;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    // Bounds how long another instance can serve a page after a change made elsewhere
+    @Value("${app.menu-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    private final int maxSize;
+
+    public MenuCacheService(ObjectMapper objectMapper, @Value("${app.menu-cache.max-size:2000}") int maxSize) {
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.snapshots = new BoundedTtlMap<>(maxSize, false);
+    }
+
+    /**
+     * Returns the snapshot of the given view, building it with the loader when the cached one
+     * is missing, expired or older than the restaurant's current version.
+     */
+    public Snapshot get(UUID restaurantId, View view, Supplier<Object> loader) {
+        long version = currentVersion(restaurantId);
+        Key key = new Key(restaurantId, view);
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null && snapshot.version == version) {
+            hits.increment();
+            return snapshot;
+        }
+
+        misses.increment();
+        byte[] body = serialize(loader.get());
+        Snapshot built = new Snapshot(body, etag(body), version);
+        // A snapshot that lost a race with a change is never served, its version is already outdated
+        snapshots.put(key, built, ttlMs);
+        return built;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        UUID restaurantId = event.getRestaurantId();
+        if (restaurantId == null) {
+            return;
+        }
+        versions.computeIfAbsent(restaurantId, id -> new AtomicLong()).incrementAndGet();
+        snapshots.remove(new Key(restaurantId, View.PRODUCTS));
+        snapshots.remove(new Key(restaurantId, View.RESTAURANT));
+        invalidations.increment();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("size", snapshots.size());
+        metrics.put("maxSize", maxSize);
+        metrics.put("hits", hits.sum());
+        metrics.put("misses", misses.sum());
+        metrics.put("invalidations", invalidations.sum());
+        return metrics;
+    }
+
+    private long currentVersion(UUID restaurantId) {
+        AtomicLong version = versions.get(restaurantId);
+        return version == null ? 0 : version.get();
+    }
+
+    private static String etag(byte[] body) {
+        return "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize menu snapshot", e);
+        }
+    }
+
+    public record Snapshot(byte[] body, String etag, long version) {
+    }
+
+    private record Key(UUID restaurantId, View view) {
+    }
+}
@@ -3,20 +3,29 @@ package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.ICouponService;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.*;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.*;
+import com.princz_mia.viaual04_gourmetgo_backend.events.InventoryCommittedEvent;
+import com.princz_mia.viaual04_gourmetgo_backend.events.MenuChangedEvent;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ServiceException;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ErrorType;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.AddressDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.OrderDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +38,8 @@ public class OrderProcessingService {
     private final PaymentMethodRepository paymentMethodRepository;
     private final ICouponService couponService;
     private final RewardService rewardService;
+    private final InventoryReservationService inventoryReservationService;
+    private final ApplicationEventPublisher publisher;
 
     public Order createOrderFromRequest(Customer customer, Cart cart, OrderDto request) {
         validateOrderRequest(cart, request);
@@ -116,23 +127,43 @@ public class OrderProcessingService {
     }
 
     private void setOrderItems(Order order, Cart cart) {
-        List<OrderItem> orderItems = cart.getItems().stream().map(ci -> {
-            Product p = ci.getProduct();
-            if (p.getInventory() < ci.getQuantity()) {
-                throw new ServiceException("Insufficient inventory for " + p.getName(), ErrorType.BUSINESS_RULE_VIOLATION);
-            }
-            p.setInventory(p.getInventory() - ci.getQuantity());
-            productRepository.save(p);
-
-            return OrderItem.builder()
-                    .order(order)
-                    .product(p)
-                    .quantity(ci.getQuantity())
-                    .price(ci.getUnitPrice())
-                    .build();
-        }).toList();
-        
+        List<OrderItem> orderItems = cart.getItems().stream().map(ci -> OrderItem.builder()
+                .order(order)
+                .product(ci.getProduct())
+                .quantity(ci.getQuantity())
+                .price(ci.getUnitPrice())
+                .build()).toList();
+
+        reserveInventory(cart, orderItems);
         order.setOrderItems(new HashSet<>(orderItems));
+        // Inventory is part of the cached menu
+        orderItems.stream()
+                .map(item -> item.getProduct().getRestaurant().getId())
+                .distinct()
+                .forEach(restaurantId -> publisher.publishEvent(new MenuChangedEvent(restaurantId)));
+    }
+
+    private void reserveInventory(Cart cart, List<OrderItem> orderItems) {
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        Map<UUID, String> names = new HashMap<>();
+        for (OrderItem item : orderItems) {
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+            names.put(item.getProduct().getId(), item.getProduct().getName());
+        }
+
+        // Renews the cart's holds, a shortfall here fails the order before any row is touched
+        Set<UUID> insufficient = inventoryReservationService.confirm(cart.getId(), cart.getItems());
+        if (insufficient.isEmpty()) {
+            // Conditional decrements in the database; the loaded products are left untouched so a
+            // flush cannot write their stale inventory back over concurrent checkouts
+            insufficient = productRepository.decrementInventory(quantities);
+        }
+        if (!insufficient.isEmpty()) {
+            String products = insufficient.stream().map(names::get).sorted().collect(Collectors.joining(", "));
+            // Thrown inside the order transaction, so the lines that were applied roll back too
+            throw new ServiceException("Insufficient inventory for " + products, ErrorType.BUSINESS_RULE_VIOLATION);
+        }
+        publisher.publishEvent(new InventoryCommittedEvent(quantities));
     }
 
     private void calculateTotalAmount(Order order, OrderDto request) {
@@ -8,13 +8,15 @@ import org.springframework.context.ApplicationEventPublisher;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.*;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.*;
+import com.princz_mia.viaual04_gourmetgo_backend.events.OrderEvent;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ServiceException;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ErrorType;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.AddressDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CursorPageDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.OrderDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.OrderMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -23,7 +25,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,10 +36,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderService implements IOrderService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final ICartService cartService;
-    private final ModelMapper modelMapper;
+    private final OrderMapper orderMapper;
     private final CustomerRepository customerRepository;
     private final RestaurantRepository restaurantRepository;
     private final CouponRepository couponRepository;
@@ -57,6 +64,47 @@ public class OrderService implements IOrderService {
         return orders;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrderDto> getOrderPage(OrderPageQuery query, String cursor, int limit) {
+        LoggingUtils.logMethodEntry(log, "getOrderPage", "customerId", query.getCustomerId(),
+                "restaurantId", query.getRestaurantId(), "status", query.getStatus(), "limit", limit);
+        long startTime = System.currentTimeMillis();
+
+        OrderCursor after = null;
+        if (StringUtils.hasText(cursor)) {
+            try {
+                after = OrderCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ServiceException("Invalid page cursor", ErrorType.VALIDATION_ERROR);
+            }
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // One extra id tells whether another page follows without a count query
+        List<UUID> ids = orderRepository.findOrderIdsPage(query, after, pageSize + 1);
+        boolean hasMore = ids.size() > pageSize;
+        List<UUID> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+
+        Map<UUID, Order> loaded = orderRepository.findByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        List<Order> orders = pageIds.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        Order last = orders.isEmpty() ? null : orders.get(orders.size() - 1);
+        CursorPageDto<OrderDto> page = CursorPageDto.<OrderDto>builder()
+                .items(orders.stream().map(this::convertToDto).collect(Collectors.toList()))
+                .hasMore(hasMore)
+                .nextCursor(hasMore && last != null ? new OrderCursor(last.getOrderDate(), last.getId()).encode() : null)
+                .build();
+
+        LoggingUtils.logBusinessEvent(log, "ORDER_PAGE_RETRIEVED", "count", orders.size(), "hasMore", hasMore);
+        LoggingUtils.logPerformance(log, "getOrderPage", System.currentTimeMillis() - startTime);
+        return page;
+    }
+
     @Override
     public OrderDto getOrder(UUID orderId) {
         LoggingUtils.logMethodEntry(log, "getOrder", "orderId", orderId);
@@ -119,7 +167,7 @@ public class OrderService implements IOrderService {
             log.info("Processing order placement for customer: {} at restaurant: {}", 
                 customer.getId(), req.getRestaurant().getId());
             
-            Cart cart = cartService.getCartByCustomerId(customer.getId());
+            Cart cart = cartService.getCartForCheckout(customer.getId());
             log.debug("Cart retrieved with {} items", cart.getItems().size());
 
             Order order = orderProcessingService.createOrderFromRequest(customer, cart, req);
@@ -127,7 +175,7 @@ public class OrderService implements IOrderService {
             Order saved = orderRepository.save(order);
             log.info("Order saved with ID: {}", saved.getId());
             
-            eventPublisher.publishEvent(saved);
+            eventPublisher.publishEvent(OrderEvent.placed(saved));
             cartService.clearCart(cart.getId());
             log.debug("Cart cleared for customer: {}", customer.getId());
             
@@ -143,6 +191,7 @@ public class OrderService implements IOrderService {
     }
 
     @Override
+    @Transactional
     public void updateStatus(UUID id, OrderStatus status) {
         LoggingUtils.logMethodEntry(log, "updateStatus", "orderId", id, "status", status);
         long startTime = System.currentTimeMillis();
@@ -156,7 +205,7 @@ public class OrderService implements IOrderService {
             Order saved = orderRepository.save(order);
             
             // Publish order event for real-time updates
-            eventPublisher.publishEvent(saved);
+            eventPublisher.publishEvent(OrderEvent.statusChanged(saved, previousStatus));
             
             // Trigger revenue recalculation for cancelled orders
             if (status == OrderStatus.CANCELLED) {
@@ -213,8 +262,6 @@ public class OrderService implements IOrderService {
 
     @Override
     public OrderDto convertToDto(Order order) {
-        OrderDto dto = modelMapper.map(order, OrderDto.class);
-        dto.setUsedRewardPoints(order.getUsedRewardPoints());
-        return dto;
+        return orderMapper.toDto(order);
     }
 }
\ No newline at end of file
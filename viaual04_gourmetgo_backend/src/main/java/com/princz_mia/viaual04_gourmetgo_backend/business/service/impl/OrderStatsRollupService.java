@@ -0,0 +1,80 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
+
+import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.OrderRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.OrderStatsHourlyRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.events.EventType;
+import com.princz_mia.viaual04_gourmetgo_backend.events.OrderEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatsRollupService {
+
+    private final OrderStatsHourlyRepository orderStatsHourlyRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Runs inside the order's transaction, as late as possible to keep the hot rollup row locked briefly
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getRestaurantId() == null || event.getOrderDate() == null || event.getStatus() == null) {
+            return;
+        }
+        if (event.getType() == EventType.ORDER_STATUS_CHANGED && event.getPreviousStatus() == event.getStatus()) {
+            return;
+        }
+
+        LocalDateTime bucket = event.getOrderDate().truncatedTo(ChronoUnit.HOURS);
+        BigDecimal amount = Optional.ofNullable(event.getTotalAmount()).orElse(BigDecimal.ZERO);
+
+        // Joins the order's transaction, or opens one when the status change was saved outside of it
+        transactionTemplate.executeWithoutResult(status -> {
+            if (event.getType() == EventType.ORDER_STATUS_CHANGED && event.getPreviousStatus() != null) {
+                orderStatsHourlyRepository.upsertDelta(event.getRestaurantId(), bucket,
+                        event.getPreviousStatus().name(), -1, amount.negate());
+            }
+            orderStatsHourlyRepository.upsertDelta(event.getRestaurantId(), bucket, event.getStatus().name(), 1, amount);
+        });
+    }
+
+    public int rebuild() {
+        long startTime = System.currentTimeMillis();
+
+        int rows = transactionTemplate.execute(status -> {
+            // Blocks concurrent upserts so no order is counted twice or missed while rebuilding
+            orderStatsHourlyRepository.lockForRebuild();
+            orderStatsHourlyRepository.deleteAllRows();
+            return orderStatsHourlyRepository.rebuildFromOrders();
+        });
+
+        LoggingUtils.logBusinessEvent(log, "ORDER_STATS_ROLLUP_REBUILT", "rows", rows);
+        LoggingUtils.logPerformance(log, "rebuildOrderStatsRollup", System.currentTimeMillis() - startTime);
+        return rows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (orderStatsHourlyRepository.count() == 0 && orderRepository.count() > 0) {
+                log.info("Order stats rollup is empty, backfilling from existing orders");
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill order stats rollup", e);
+        }
+    }
+}
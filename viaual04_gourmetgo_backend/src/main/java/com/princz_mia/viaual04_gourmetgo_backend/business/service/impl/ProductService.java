@@ -1,25 +1,31 @@
 package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
 
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IProductService;
-import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Image;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.ProductCategory;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Restaurant;
-import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ImageRepository;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ProductCategoryRepository;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ProductRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.RestaurantRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.events.MenuChangedEvent;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ServiceException;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ErrorType;
-import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ImageDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ProductCategoryDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ProductDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.RestaurantDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.CommonMapper;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.ProductMapper;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.RestaurantMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -32,9 +38,12 @@ public class ProductService implements IProductService
 
     private final ProductRepository productRepository;
     private final ProductCategoryRepository productCategoryRepository;
-    private final ImageRepository imageRepository;
+    private final RestaurantRepository restaurantRepository;
 
-    private final ModelMapper modelMapper;
+    private final ProductMapper productMapper;
+    private final RestaurantMapper restaurantMapper;
+    private final CommonMapper commonMapper;
+    private final ApplicationEventPublisher publisher;
 
     @Override
     public Product addProduct(ProductDto dto) {
@@ -52,6 +61,7 @@ public class ProductService implements IProductService
                 });
 
         Product savedProduct = productRepository.save(createProduct(dto, productCategory));
+        publisher.publishEvent(new MenuChangedEvent(savedProduct.getRestaurant().getId()));
         LoggingUtils.logBusinessEvent(log, "PRODUCT_CREATED", "productId", savedProduct.getId(), "name", savedProduct.getName());
         return savedProduct;
     }
@@ -67,7 +77,7 @@ public class ProductService implements IProductService
                 .price(dto.getPrice())
                 .inventory(dto.getInventory())
                 .category(productCategory)
-                .restaurant(modelMapper.map(dto.getRestaurant(), Restaurant.class))
+                .restaurant(restaurantRepository.getReferenceById(dto.getRestaurant().getId()))
                 .build();
     }
 
@@ -84,6 +94,7 @@ public class ProductService implements IProductService
         productRepository.findById(id)
                 .ifPresentOrElse(product -> {
                     productRepository.delete(product);
+                    publisher.publishEvent(new MenuChangedEvent(product.getRestaurant().getId()));
                     LoggingUtils.logBusinessEvent(log, "PRODUCT_DELETED", "productId", id, "name", product.getName());
                 }, () -> { throw new ServiceException("Product not found", ErrorType.RESOURCE_NOT_FOUND); });
     }
@@ -95,6 +106,7 @@ public class ProductService implements IProductService
                 .map(existingProduct -> updateExistingProduct(existingProduct, dto))
                 .map(productRepository::save)
                 .orElseThrow(() -> new ServiceException("Product not found", ErrorType.RESOURCE_NOT_FOUND));
+        publisher.publishEvent(new MenuChangedEvent(updatedProduct.getRestaurant().getId()));
         LoggingUtils.logBusinessEvent(log, "PRODUCT_UPDATED", "productId", productId, "name", updatedProduct.getName());
         return updatedProduct;
     }
@@ -136,12 +148,10 @@ public class ProductService implements IProductService
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductDto> getProductsByRestaurantId(UUID restaurantId) {
         LoggingUtils.logMethodEntry(log, "getProductsByRestaurantId", "restaurantId", restaurantId);
-        List<ProductDto> products = productRepository.findByRestaurant_Id(restaurantId).stream()
-                .filter(product -> !product.isDeleted())
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<ProductDto> products = convertAll(productRepository.findByRestaurant_IdAndDeletedFalse(restaurantId));
         LoggingUtils.logBusinessEvent(log, "RESTAURANT_PRODUCTS_RETRIEVED", "restaurantId", restaurantId, "count", products.size());
         return products;
     }
@@ -165,20 +175,33 @@ public class ProductService implements IProductService
     @Override
     public List<ProductDto> getConvertedProducts(List<Product> products) {
         LoggingUtils.logMethodEntry(log, "getConvertedProducts", "count", products.size());
-        return products.stream().map(this::convertToDto).toList();
+        return convertAll(products);
     }
 
     @Override
     public ProductDto convertToDto(Product product) {
         LoggingUtils.logMethodEntry(log, "convertToDto", "productId", product.getId());
-        ProductDto productDto = modelMapper.map(product, ProductDto.class);
+        return productMapper.toDto(product);
+    }
 
-        Image productImage = imageRepository.findByProduct_Id(product.getId());
-        if (productImage != null) {
-            ImageDto imageDto = modelMapper.map(productImage, ImageDto.class);
-            productDto.setImage(imageDto);
-        }
+    private List<ProductDto> convertAll(List<Product> products) {
+        // A menu shares one restaurant and a handful of categories, each is mapped once
+        Map<UUID, RestaurantDto> restaurants = new HashMap<>();
+        Map<UUID, ProductCategoryDto> categories = new HashMap<>();
+        return products.stream()
+                .map(product -> toDto(product, restaurants, categories))
+                .collect(Collectors.toList());
+    }
+
+    private ProductDto toDto(Product product, Map<UUID, RestaurantDto> restaurants, Map<UUID, ProductCategoryDto> categories) {
+        Restaurant restaurant = product.getRestaurant();
+        ProductCategory category = product.getCategory();
 
-        return productDto;
+        ProductDto dto = productMapper.toDtoWithoutReferences(product);
+        dto.setCategory(category == null ? null : categories.computeIfAbsent(category.getId(),
+                id -> commonMapper.toDto(category)));
+        dto.setRestaurant(restaurant == null ? null : restaurants.computeIfAbsent(restaurant.getId(),
+                id -> restaurantMapper.toDto(restaurant)));
+        return dto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
+
+import com.princz_mia.viaual04_gourmetgo_backend.config.StatisticsProperties;
+import com.princz_mia.viaual04_gourmetgo_backend.config.StatisticsProperties.BackpressurePolicy;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.RequestLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers {@link RequestLog} rows in a bounded queue and persists them from a single
+ * background writer using JDBC batch inserts, so request threads never touch the database.
+ */
+@Service
+@Slf4j
+public class RequestLogIngestionService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO request_logs (id, timestamp, endpoint, method, status_code, response_time, user_agent, ip_address) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatisticsProperties.RequestLog properties;
+    private final BlockingQueue<RequestLog> queue;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public RequestLogIngestionService(JdbcTemplate jdbcTemplate, StatisticsProperties statisticsProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = statisticsProperties.getRequestLog();
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "request-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Request log writer started with capacity {}, batch size {} and {} backpressure",
+                properties.getCapacity(), properties.getBatchSize(), properties.getBackpressure());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            writer.join(properties.getShutdownTimeoutMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Request log writer did not drain in time, {} entries discarded", queue.size());
+        } else {
+            log.info("Request log writer stopped, {} entries written in total", written.get());
+        }
+    }
+
+    public boolean enqueue(RequestLog requestLog) {
+        if (!running) {
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        boolean accepted;
+        if (properties.getBackpressure() == BackpressurePolicy.BLOCK) {
+            try {
+                accepted = queue.offer(requestLog, properties.getBlockTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = queue.offer(requestLog);
+        }
+
+        if (accepted) {
+            enqueued.incrementAndGet();
+        } else if (dropped.incrementAndGet() % 1000 == 1) {
+            log.warn("Request log buffer full, dropping events ({} dropped so far)", dropped.get());
+        }
+        return accepted;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("queueDepth", queue.size());
+        metrics.put("capacity", properties.getCapacity());
+        metrics.put("enqueued", enqueued.get());
+        metrics.put("dropped", dropped.get());
+        metrics.put("written", written.get());
+        metrics.put("failed", failed.get());
+        metrics.put("batches", batches.get());
+        return metrics;
+    }
+
+    private void runWriter() {
+        int batchSize = properties.getBatchSize();
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+        List<RequestLog> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.nanoTime();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                RequestLog next = queue.poll(properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // Keep draining until the queue is empty, shutdown is driven by the running flag
+                running = false;
+            }
+
+            boolean intervalElapsed = System.nanoTime() - lastFlush >= flushIntervalNanos;
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (intervalElapsed || !running))) {
+                flush(batch);
+                batch.clear();
+                lastFlush = System.nanoTime();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<RequestLog> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    RequestLog entry = batch.get(i);
+                    ps.setObject(1, entry.getId() != null ? entry.getId() : UUID.randomUUID());
+                    ps.setTimestamp(2, Timestamp.valueOf(entry.getTimestamp()));
+                    ps.setString(3, entry.getEndpoint());
+                    ps.setString(4, entry.getMethod());
+                    ps.setInt(5, entry.getStatusCode());
+                    ps.setLong(6, entry.getResponseTime());
+                    ps.setString(7, entry.getUserAgent());
+                    ps.setString(8, entry.getIpAddress());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            log.error("Failed to write batch of {} request logs", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
+
+import com.princz_mia.viaual04_gourmetgo_backend.config.StatisticsProperties;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.PerformanceSnapshot;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.PerformanceSnapshotRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Sliding-window request metrics kept entirely in memory. Requests are recorded into
+ * per-minute buckets of a ring, each holding striped counters and a log-bucketed latency
+ * histogram per endpoint, so window queries cost O(minutes x endpoints) and never touch
+ * the database. Completed minutes are persisted as {@link PerformanceSnapshot} rows.
+ */
+@Service
+@Slf4j
+public class RequestMetricsEngine {
+
+    private static final long MINUTE_MS = 60_000L;
+    private static final String OTHER_ENDPOINTS = "other";
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private final PerformanceSnapshotRepository performanceSnapshotRepository;
+    private final StatisticsProperties.Performance properties;
+    private final AtomicReferenceArray<MinuteBucket> ring;
+
+    private volatile long lastPersistedMinute;
+
+    public RequestMetricsEngine(PerformanceSnapshotRepository performanceSnapshotRepository,
+                                StatisticsProperties statisticsProperties) {
+        this.performanceSnapshotRepository = performanceSnapshotRepository;
+        this.properties = statisticsProperties.getPerformance();
+        // One spare slot so the current minute never overwrites the oldest minute of the window
+        this.ring = new AtomicReferenceArray<>(properties.getWindowMinutes() + 1);
+        this.lastPersistedMinute = currentMinute() - 1;
+    }
+
+    public void record(String endpoint, int statusCode, long responseTimeMs) {
+        MinuteBucket bucket = bucketFor(currentMinute());
+        bucket.endpointStats(normalize(endpoint), properties.getMaxEndpoints())
+                .record(statusCode >= 400, Math.max(0, responseTimeMs));
+    }
+
+    public WindowStats getWindow(int minutes) {
+        long now = currentMinute();
+        long from = now - Math.min(minutes, properties.getWindowMinutes()) + 1;
+
+        Map<String, Aggregate> byEndpoint = new HashMap<>();
+        Aggregate total = new Aggregate();
+        for (int i = 0; i < ring.length(); i++) {
+            MinuteBucket bucket = ring.get(i);
+            if (bucket == null || bucket.minute < from || bucket.minute > now) {
+                continue;
+            }
+            bucket.endpoints.forEach((endpoint, stats) -> {
+                byEndpoint.computeIfAbsent(endpoint, key -> new Aggregate()).add(stats);
+                total.add(stats);
+            });
+        }
+
+        List<EndpointWindowStats> endpoints = new ArrayList<>();
+        byEndpoint.forEach((endpoint, aggregate) -> endpoints.add(new EndpointWindowStats(
+                endpoint, aggregate.count, aggregate.errors, aggregate.average(),
+                aggregate.percentile(95), aggregate.percentile(99))));
+        endpoints.sort(Comparator.comparingLong(EndpointWindowStats::getRequestCount).reversed());
+
+        return new WindowStats(total.count, total.errors, total.average(), total.errorRate(),
+                total.percentile(50), total.percentile(95), total.percentile(99), endpoints);
+    }
+
+    @Scheduled(fixedDelayString = "${app.statistics.performance.snapshot-interval-ms:60000}")
+    public void persistSnapshots() {
+        long current = currentMinute();
+        List<PerformanceSnapshot> snapshots = new ArrayList<>();
+
+        // Only completed minutes are written, each exactly once
+        for (long minute = Math.max(lastPersistedMinute + 1, current - properties.getWindowMinutes()); minute < current; minute++) {
+            MinuteBucket bucket = ring.get((int) (minute % ring.length()));
+            if (bucket == null || bucket.minute != minute) {
+                continue;
+            }
+            Aggregate aggregate = new Aggregate();
+            bucket.endpoints.values().forEach(aggregate::add);
+            if (aggregate.count == 0) {
+                continue;
+            }
+            snapshots.add(PerformanceSnapshot.builder()
+                    .bucketStart(LocalDateTime.ofInstant(Instant.ofEpochMilli(minute * MINUTE_MS), ZoneId.systemDefault()))
+                    .requestCount(aggregate.count)
+                    .errorCount(aggregate.errors)
+                    .averageResponseTime(aggregate.average())
+                    .p50ResponseTime(aggregate.percentile(50))
+                    .p95ResponseTime(aggregate.percentile(95))
+                    .p99ResponseTime(aggregate.percentile(99))
+                    .build());
+        }
+        lastPersistedMinute = current - 1;
+
+        if (!snapshots.isEmpty()) {
+            try {
+                performanceSnapshotRepository.saveAll(snapshots);
+            } catch (Exception e) {
+                log.error("Failed to persist {} performance snapshots", snapshots.size(), e);
+            }
+        }
+    }
+
+    private MinuteBucket bucketFor(long minute) {
+        int index = (int) (minute % ring.length());
+        while (true) {
+            MinuteBucket bucket = ring.get(index);
+            if (bucket != null && bucket.minute >= minute) {
+                return bucket;
+            }
+            // First request of a new minute recycles the slot of the minute that fell out of the window
+            MinuteBucket fresh = new MinuteBucket(minute);
+            if (ring.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private String normalize(String endpoint) {
+        if (endpoint == null || endpoint.isEmpty()) {
+            return "/";
+        }
+        // Path variables would otherwise turn every entity into its own endpoint
+        String[] segments = endpoint.split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (ID_SEGMENT.matcher(segments[i]).matches()) {
+                segments[i] = "{id}";
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / MINUTE_MS;
+    }
+
+    private static class MinuteBucket {
+
+        private final long minute;
+        private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+        MinuteBucket(long minute) {
+            this.minute = minute;
+        }
+
+        EndpointStats endpointStats(String endpoint, int maxEndpoints) {
+            EndpointStats stats = endpoints.get(endpoint);
+            if (stats != null) {
+                return stats;
+            }
+            String key = endpoints.size() < maxEndpoints ? endpoint : OTHER_ENDPOINTS;
+            return endpoints.computeIfAbsent(key, k -> new EndpointStats());
+        }
+    }
+
+    private static class EndpointStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder latencySum = new LongAdder();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        void record(boolean error, long latencyMs) {
+            count.increment();
+            if (error) {
+                errors.increment();
+            }
+            latencySum.add(latencyMs);
+            histogram.record(latencyMs);
+        }
+    }
+
+    /**
+     * HdrHistogram-style log-linear buckets: exact below 16 ms, then eight sub-buckets per
+     * power of two, which bounds the relative error of any percentile to 12.5%.
+     */
+    static class LatencyHistogram {
+
+        private static final int LINEAR_BUCKETS = 16;
+        private static final int SUB_BUCKETS = 8;
+        private static final int MAX_EXPONENT = 30;
+        static final int SIZE = LINEAR_BUCKETS + (MAX_EXPONENT - 3) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(SIZE);
+
+        void record(long value) {
+            counts.incrementAndGet(indexOf(value));
+        }
+
+        void addTo(long[] target) {
+            for (int i = 0; i < SIZE; i++) {
+                target[i] += counts.get(i);
+            }
+        }
+
+        static int indexOf(long value) {
+            if (value < LINEAR_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            if (exponent > MAX_EXPONENT) {
+                return SIZE - 1;
+            }
+            int subBucket = (int) ((value >> (exponent - 3)) & (SUB_BUCKETS - 1));
+            return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + subBucket;
+        }
+
+        static long highestValueAt(int index) {
+            if (index < LINEAR_BUCKETS) {
+                return index;
+            }
+            int exponent = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 4;
+            int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - 3)) - 1;
+        }
+    }
+
+    private static class Aggregate {
+
+        private long count;
+        private long errors;
+        private long latencySum;
+        private final long[] histogram = new long[LatencyHistogram.SIZE];
+
+        void add(EndpointStats stats) {
+            count += stats.count.sum();
+            errors += stats.errors.sum();
+            latencySum += stats.latencySum.sum();
+            stats.histogram.addTo(histogram);
+        }
+
+        double average() {
+            return count > 0 ? (double) latencySum / count : 0.0;
+        }
+
+        double errorRate() {
+            return count > 0 ? errors * 100.0 / count : 0.0;
+        }
+
+        long percentile(double percentile) {
+            long recorded = 0;
+            for (long bucketCount : histogram) {
+                recorded += bucketCount;
+            }
+            if (recorded == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * recorded));
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= rank) {
+                    return LatencyHistogram.highestValueAt(i);
+                }
+            }
+            return LatencyHistogram.highestValueAt(histogram.length - 1);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class WindowStats {
+        private long requestCount;
+        private long errorCount;
+        private double averageResponseTime;
+        private double errorRate;
+        private long p50ResponseTime;
+        private long p95ResponseTime;
+        private long p99ResponseTime;
+        private List<EndpointWindowStats> endpoints;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class EndpointWindowStats {
+        private String endpoint;
+        private long requestCount;
+        private long errorCount;
+        private double averageResponseTime;
+        private long p95ResponseTime;
+        private long p99ResponseTime;
+    }
+}
@@ -0,0 +1,190 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
+
+import com.princz_mia.viaual04_gourmetgo_backend.config.StatisticsProperties;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.OrderStatus;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.OrderRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.events.EventType;
+import com.princz_mia.viaual04_gourmetgo_backend.events.OrderEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps daily revenue buckets per restaurant in memory and derives the rolling
+ * daily/weekly/monthly/yearly totals from them. Buckets are seeded from the database
+ * once per restaurant and then adjusted from committed {@link OrderEvent}s; the
+ * dashboard topic is fed from these snapshots by {@link StatisticsBroadcaster}.
+ * <p>
+ * Every order event takes a sequence number just before its transaction commits and holds
+ * the commit lock until the commit is done. Seeding takes the lock exclusively, so no order
+ * commit is under way while the seeding query runs: every number taken before it belongs
+ * to an order the query sees, and every later one to an order it does not. A bucket
+ * remembers the last number taken before its query and ignores events at or below it.
+ * Seeding is rare, and checkouts only wait for it while its query runs.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantRevenueAggregator {
+
+    private final OrderRepository orderRepository;
+    private final StatisticsProperties statisticsProperties;
+
+    private final Map<UUID, DailyRevenue> revenueByRestaurant = new ConcurrentHashMap<>();
+    private final AtomicLong committedEvents = new AtomicLong();
+    // Shared by commits in progress, exclusive while a restaurant is seeded
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    /**
+     * Numbers the event of a transaction about to commit. The caller must call
+     * {@link #endCommit()} on the same thread once the transaction has completed.
+     */
+    public long beginCommit() {
+        commitLock.readLock().lock();
+        return committedEvents.incrementAndGet();
+    }
+
+    public void endCommit() {
+        commitLock.readLock().unlock();
+    }
+
+    /**
+     * Numbers an event published outside a transaction, whose order is already committed.
+     */
+    public long nextSequence() {
+        long sequence = beginCommit();
+        endCommit();
+        return sequence;
+    }
+
+    // Called from the order event lanes after the order transaction has committed
+    public void apply(OrderEvent event, long sequence) {
+        if (event.getRestaurantId() == null || event.getOrderDate() == null || event.getTotalAmount() == null) {
+            return;
+        }
+
+        boolean counted = event.getStatus() != OrderStatus.CANCELLED;
+        boolean wasCounted = event.getType() == EventType.ORDER_STATUS_CHANGED
+                && event.getPreviousStatus() != OrderStatus.CANCELLED;
+
+        BigDecimal delta = null;
+        if (counted && !wasCounted) {
+            delta = event.getTotalAmount();
+        } else if (!counted && wasCounted) {
+            delta = event.getTotalAmount().negate();
+        }
+
+        if (delta == null) {
+            return;
+        }
+        // Restaurants that were never loaded pick the change up from the database on first read.
+        // A bucket being seeded is only inserted once its query is done, while no later order can commit.
+        LocalDate date = event.getOrderDate().toLocalDate();
+        BigDecimal amount = delta;
+        revenueByRestaurant.computeIfPresent(event.getRestaurantId(), (id, revenue) -> {
+            if (sequence > revenue.watermark) {
+                revenue.add(date, amount);
+            }
+            return revenue;
+        });
+    }
+
+    /**
+     * Drops the restaurant's buckets so the next read seeds them again from the database,
+     * for when one of its events could not be queued.
+     */
+    public void invalidate(UUID restaurantId) {
+        if (restaurantId != null) {
+            revenueByRestaurant.remove(restaurantId);
+        }
+    }
+
+    public RevenueSnapshot getSnapshot(UUID restaurantId) {
+        DailyRevenue revenue = revenueByRestaurant.get(restaurantId);
+        if (revenue == null) {
+            revenue = load(restaurantId);
+        }
+        return revenue.snapshot(LocalDate.now());
+    }
+
+    @Scheduled(cron = "0 5 0 * * *") // Shortly after midnight
+    public void reseed() {
+        // Drop the in-memory buckets so they are rebuilt from the database and any drift is corrected
+        revenueByRestaurant.clear();
+        log.debug("Restaurant revenue buckets cleared for reseeding");
+    }
+
+    private DailyRevenue load(UUID restaurantId) {
+        int windowDays = statisticsProperties.getRevenue().getWindowDays();
+        commitLock.writeLock().lock();
+        try {
+            DailyRevenue seeded = revenueByRestaurant.get(restaurantId);
+            if (seeded != null) {
+                return seeded;
+            }
+            DailyRevenue revenue = new DailyRevenue(windowDays, committedEvents.get());
+            LocalDate since = LocalDate.now().minusDays(windowDays);
+            for (Object[] row : orderRepository.sumDailyRevenueByRestaurantSince(restaurantId, since.atStartOfDay())) {
+                if (row[1] != null) {
+                    revenue.add((LocalDate) row[0], (BigDecimal) row[1]);
+                }
+            }
+            DailyRevenue existing = revenueByRestaurant.putIfAbsent(restaurantId, revenue);
+            return existing != null ? existing : revenue;
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+    }
+
+    private static class DailyRevenue {
+
+        private final int windowDays;
+        private final long watermark;
+        private final TreeMap<LocalDate, BigDecimal> days = new TreeMap<>();
+
+        DailyRevenue(int windowDays, long watermark) {
+            this.windowDays = windowDays;
+            this.watermark = watermark;
+        }
+
+        synchronized void add(LocalDate date, BigDecimal amount) {
+            days.merge(date, amount, BigDecimal::add);
+        }
+
+        synchronized RevenueSnapshot snapshot(LocalDate today) {
+            days.headMap(today.minusDays(windowDays)).clear();
+            return new RevenueSnapshot(
+                    sumSince(today, 0),
+                    sumSince(today, 7),
+                    sumSince(today, 30),
+                    sumSince(today, windowDays));
+        }
+
+        private BigDecimal sumSince(LocalDate today, int daysBack) {
+            return days.subMap(today.minusDays(daysBack), true, today, true).values().stream()
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RevenueSnapshot {
+        private BigDecimal dailyRevenue;
+        private BigDecimal weeklyRevenue;
+        private BigDecimal monthlyRevenue;
+        private BigDecimal yearlyRevenue;
+    }
+}
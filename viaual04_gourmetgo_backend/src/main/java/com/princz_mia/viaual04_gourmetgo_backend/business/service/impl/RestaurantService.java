@@ -3,9 +3,11 @@ package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IImageService;
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IRestaurantService;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
+import com.princz_mia.viaual04_gourmetgo_backend.config.security.PrincipalCache;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.*;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.*;
 import com.princz_mia.viaual04_gourmetgo_backend.events.EventType;
+import com.princz_mia.viaual04_gourmetgo_backend.events.MenuChangedEvent;
 import com.princz_mia.viaual04_gourmetgo_backend.events.UserEvent;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.AlreadyExistsException;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.AppException;
@@ -15,9 +17,9 @@ import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ImageDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.PasswordDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.RestaurantDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.RestaurantRegistrationDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.RestaurantMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.ApplicationEventPublisher;
 
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -47,9 +49,10 @@ public class RestaurantService implements IRestaurantService
 
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
     private final ApplicationEventPublisher publisher;
-    private final ModelMapper modelMapper;
+    private final RestaurantMapper restaurantMapper;
     private final CredentialRepository credentialRepository;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     @Transactional
@@ -130,16 +133,14 @@ public class RestaurantService implements IRestaurantService
         confirmationRepository.save(confirmation);
         
         LoggingUtils.logBusinessEvent(log, "RESTAURANT_REGISTERED", "restaurantId", restaurant.getId(), "name", restaurant.getFullName());
-        return modelMapper.map(restaurant, RestaurantDto.class);
+        return restaurantMapper.toDto(restaurant);
     }
 
     @Override
     @Transactional
     public RestaurantDto convertRestaurantToDto(Restaurant restaurant) {
         LoggingUtils.logMethodEntry(log, "convertRestaurantToDto", "restaurantId", restaurant.getId());
-        RestaurantDto dto = modelMapper.map(restaurant, RestaurantDto.class);
-        dto.setRating(restaurant.getRating());
-        return dto;
+        return restaurantMapper.toDto(restaurant);
     }
 
     @Override
@@ -159,6 +160,7 @@ public class RestaurantService implements IRestaurantService
         Restaurant restaurant = getRestaurantById(id);
         restaurant.setApproved(true);
         restaurantRepository.save(restaurant);
+        publisher.publishEvent(new MenuChangedEvent(id));
 
         Confirmation confirmation = Optional.of(confirmationRepository.findByUser_Id(restaurant.getId()))
                         .orElseThrow(() -> new AppException("Confirmation key was not found in database", ErrorType.RESOURCE_NOT_FOUND));
@@ -172,6 +174,8 @@ public class RestaurantService implements IRestaurantService
         LoggingUtils.logMethodEntry(log, "rejectRestaurant", "id", id);
         Restaurant restaurant = getRestaurantById(id);
         restaurantRepository.delete(restaurant);
+        principalCache.invalidate(restaurant.getEmailAddress());
+        publisher.publishEvent(new MenuChangedEvent(id));
         LoggingUtils.logBusinessEvent(log, "RESTAURANT_REJECTED", "restaurantId", id, "name", restaurant.getFullName());
     }
 
@@ -188,6 +192,7 @@ public class RestaurantService implements IRestaurantService
             credentialRepository.save(credential);
 
             restaurantRepository.save(restaurant);
+            principalCache.invalidate(restaurant.getEmailAddress());
             confirmationRepository.delete(confirmation);
             LoggingUtils.logBusinessEvent(log, "RESTAURANT_ACCOUNT_VERIFIED", "restaurantId", restaurant.getId());
         } else {
@@ -239,8 +244,9 @@ public class RestaurantService implements IRestaurantService
         r.setOpeningHours(newHours);
 
         restaurantRepository.save(r);
+        publisher.publishEvent(new MenuChangedEvent(id));
         LoggingUtils.logBusinessEvent(log, "RESTAURANT_UPDATED", "restaurantId", id, "name", r.getFullName());
-        return modelMapper.map(r, RestaurantDto.class);
+        return restaurantMapper.toDto(r);
     }
 
     private Confirmation getCustomerConfirmation(String key) {
@@ -8,11 +8,13 @@ import com.princz_mia.viaual04_gourmetgo_backend.data.repository.CustomerReposit
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.OrderRepository;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.RestaurantRepository;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ReviewRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.events.MenuChangedEvent;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ResourceNotFoundException;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ReviewDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.ReviewMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
@@ -30,7 +32,8 @@ public class ReviewService implements IReviewService {
     private final RestaurantRepository restaurantRepository;
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
-    private final ModelMapper modelMapper;
+    private final ReviewMapper reviewMapper;
+    private final ApplicationEventPublisher publisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -111,12 +114,13 @@ public class ReviewService implements IReviewService {
                 .orElse(0.0);
         restaurant.setRating(averageRating);
         restaurantRepository.save(restaurant);
+        publisher.publishEvent(new MenuChangedEvent(restaurant.getId()));
         LoggingUtils.logBusinessEvent(log, "RESTAURANT_RATING_UPDATED", "restaurantId", restaurant.getId(), "newRating", averageRating);
     }
 
     @Override
     public ReviewDto convertReviewToDto(Review review) {
         LoggingUtils.logMethodEntry(log, "convertReviewToDto", "reviewId", review.getId());
-        return modelMapper.map(review, ReviewDto.class);
+        return reviewMapper.toDto(review);
     }
 }
\ No newline at end of file
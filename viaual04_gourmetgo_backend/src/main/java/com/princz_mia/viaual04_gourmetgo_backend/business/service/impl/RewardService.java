@@ -8,9 +8,9 @@ import com.princz_mia.viaual04_gourmetgo_backend.exception.BusinessRuleException
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ResourceNotFoundException;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.RewardPointDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.RewardTransactionDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.RewardMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,7 +31,7 @@ public class RewardService implements IRewardService {
     private final CustomerRepository customerRepository;
     private final CategoryBonusRepository categoryBonusRepository;
     private final HappyHourRepository happyHourRepository;
-    private final ModelMapper modelMapper;
+    private final RewardMapper rewardMapper;
     
     private static final BigDecimal REWARD_RATE = new BigDecimal("0.03"); // 3% reward rate
     private static final BigDecimal POINTS_PER_DOLLAR = new BigDecimal("10"); // 10 points per $1
@@ -43,7 +43,7 @@ public class RewardService implements IRewardService {
         LoggingUtils.logMethodEntry(log, "getCustomerPoints", "customerId", customerId);
         
         RewardPoint rewardPoint = getOrCreateRewardPoint(customerId);
-        return modelMapper.map(rewardPoint, RewardPointDto.class);
+        return rewardMapper.toDto(rewardPoint);
     }
 
     @Override
@@ -52,7 +52,7 @@ public class RewardService implements IRewardService {
         
         return rewardTransactionRepository.findByCustomerIdOrderByCreatedAtDesc(customerId)
                 .stream()
-                .map(transaction -> modelMapper.map(transaction, RewardTransactionDto.class))
+                .map(rewardMapper::toDto)
                 .toList();
     }
 
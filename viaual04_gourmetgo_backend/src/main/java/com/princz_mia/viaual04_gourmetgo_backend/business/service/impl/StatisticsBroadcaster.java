@@ -0,0 +1,295 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.OrderStatus;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.VisitStatistics;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ActiveSessionRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.OrderRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.OrderStatsHourlyRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.TimeBucket;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.TimeGranularity;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.VisitStatisticsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces dashboard updates for the statistics WebSocket topics. Callers only mark a
+ * scope as dirty; a scheduled flush recomputes each dirty scope once per interval on the
+ * scheduler thread and skips messages whose payload did not change since the last push.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsBroadcaster {
+
+    private static final String ADMIN_TOPIC = "/topic/admin/statistics";
+    private static final String RESTAURANT_TOPIC = "/topic/restaurant/statistics";
+
+    private final OrderRepository orderRepository;
+    private final OrderStatsHourlyRepository orderStatsHourlyRepository;
+    private final VisitStatisticsRepository visitStatisticsRepository;
+    private final RequestMetricsEngine requestMetricsEngine;
+    private final ActiveSessionRepository activeSessionRepository;
+    private final RestaurantRevenueAggregator restaurantRevenueAggregator;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Set<AdminScope> dirtyAdminScopes = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> dirtyRestaurants = ConcurrentHashMap.newKeySet();
+    private final Map<String, Object> lastSent = new ConcurrentHashMap<>();
+
+    private final AtomicLong marked = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+
+    public enum AdminScope {
+        // VISIT_UPDATE and TRAFFIC_UPDATE
+        TRAFFIC,
+        // PERFORMANCE_UPDATE
+        PERFORMANCE,
+        // ORDER_UPDATE and PRODUCTS_UPDATE
+        ORDERS
+    }
+
+    public void markDirty(AdminScope scope) {
+        afterCommit(() -> dirtyAdminScopes.add(scope));
+    }
+
+    public void markRestaurantDirty(UUID restaurantId) {
+        if (restaurantId == null) {
+            return;
+        }
+        afterCommit(() -> dirtyRestaurants.add(restaurantId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.statistics.broadcast.interval-ms:1000}")
+    public void flush() {
+        if (dirtyAdminScopes.isEmpty() && dirtyRestaurants.isEmpty()) {
+            return;
+        }
+        flushes.incrementAndGet();
+
+        for (AdminScope scope : EnumSet.copyOf(dirtyAdminScopes)) {
+            dirtyAdminScopes.remove(scope);
+            try {
+                switch (scope) {
+                    case TRAFFIC -> publishTraffic();
+                    case PERFORMANCE -> publishPerformance();
+                    case ORDERS -> publishGlobalOrders();
+                }
+            } catch (Exception e) {
+                log.warn("Failed to publish {} statistics update", scope, e);
+            }
+        }
+
+        for (UUID restaurantId : Set.copyOf(dirtyRestaurants)) {
+            dirtyRestaurants.remove(restaurantId);
+            try {
+                publishRestaurant(restaurantId);
+            } catch (Exception e) {
+                log.warn("Failed to publish statistics update for restaurant {}", restaurantId, e);
+            }
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("marked", marked.get());
+        metrics.put("flushes", flushes.get());
+        metrics.put("sent", sent.get());
+        metrics.put("unchanged", unchanged.get());
+        metrics.put("pendingAdminScopes", dirtyAdminScopes.size());
+        metrics.put("pendingRestaurants", dirtyRestaurants.size());
+        return metrics;
+    }
+
+    private void publishTraffic() {
+        LocalDate today = LocalDate.now();
+        send(ADMIN_TOPIC, "VISIT_UPDATE", null,
+                activeSessionRepository.countActiveSessions(LocalDateTime.now().minusMinutes(30)));
+
+        List<VisitStatistics> recentStats = visitStatisticsRepository.findByDateBetweenOrderByDateDesc(
+                today.minusDays(7), today);
+        Map<LocalDate, Long> dailyVisits = recentStats.stream()
+                .collect(Collectors.toMap(VisitStatistics::getDate, VisitStatistics::getTotalVisits));
+
+        Map<String, Object> trafficData = new HashMap<>();
+        trafficData.put("dailyVisits", dailyVisits);
+        trafficData.put("weeklyVisits", visitStatisticsRepository.sumTotalVisitsBetweenDates(
+                today.minusDays(7), today));
+        send(ADMIN_TOPIC, "TRAFFIC_UPDATE", null, trafficData);
+    }
+
+    private void publishPerformance() {
+        RequestMetricsEngine.WindowStats window = requestMetricsEngine.getWindow(60);
+
+        List<Map<String, Object>> topEndpoints = window.getEndpoints().stream()
+                .limit(5)
+                .map(endpoint -> {
+                    Map<String, Object> endpointData = new HashMap<>();
+                    endpointData.put("endpoint", endpoint.getEndpoint());
+                    endpointData.put("requestCount", endpoint.getRequestCount());
+                    endpointData.put("p95ResponseTime", endpoint.getP95ResponseTime());
+                    return endpointData;
+                })
+                .collect(Collectors.toList());
+
+        Map<String, Object> perfStats = new HashMap<>();
+        perfStats.put("requestsPerHour", window.getRequestCount());
+        perfStats.put("averageResponseTime", window.getAverageResponseTime());
+        perfStats.put("errorRate", window.getErrorRate());
+        perfStats.put("p50ResponseTime", window.getP50ResponseTime());
+        perfStats.put("p95ResponseTime", window.getP95ResponseTime());
+        perfStats.put("p99ResponseTime", window.getP99ResponseTime());
+        perfStats.put("topEndpoints", topEndpoints);
+        send(ADMIN_TOPIC, "PERFORMANCE_UPDATE", null, perfStats);
+    }
+
+    private void publishGlobalOrders() {
+        LocalDate today = LocalDate.now();
+        LocalDate weekAgo = today.minusDays(7);
+
+        Map<LocalDate, Long> dailyOrders = new HashMap<>();
+        for (TimeBucket bucket : lastSevenDays()) {
+            dailyOrders.put(bucket.getBucketStart().toLocalDate(), bucket.getOrderCount());
+        }
+
+        Map<String, Long> ordersByStatus = new HashMap<>();
+        for (Object[] row : orderRepository.countOrdersByStatusGrouped(weekAgo, today)) {
+            ordersByStatus.put(row[0].toString(), (Long) row[1]);
+        }
+
+        List<Map<String, Object>> topProducts = new ArrayList<>();
+        for (Object[] row : orderRepository.findTopProductsGlobally(weekAgo, today)) {
+            if (topProducts.size() >= 5) break;
+            Map<String, Object> product = new HashMap<>();
+            product.put("productName", row[0]);
+            product.put("orderCount", row[1]);
+            topProducts.add(product);
+        }
+
+        Map<String, Object> orderStats = new HashMap<>();
+        orderStats.put("totalOrders", dailyOrders.getOrDefault(today, 0L));
+        orderStats.put("dailyOrders", dailyOrders);
+        orderStats.put("ordersByStatus", ordersByStatus);
+
+        send(ADMIN_TOPIC, "ORDER_UPDATE", null, orderStats);
+        send(ADMIN_TOPIC, "PRODUCTS_UPDATE", null, topProducts);
+    }
+
+    private void publishRestaurant(UUID restaurantId) {
+        LocalDate today = LocalDate.now();
+        LocalDate weekAgo = today.minusDays(7);
+
+        // Counts and charts come from the hourly rollup, so no orders are scanned
+        LocalDateTime to = today.plusDays(1).atStartOfDay();
+        Map<String, Long> ordersByStatus = new HashMap<>();
+        long totalOrders = 0;
+        for (Object[] row : orderStatsHourlyRepository.countByRestaurantGroupedByStatus(restaurantId, weekAgo.atStartOfDay(), to)) {
+            ordersByStatus.put(((OrderStatus) row[0]).name(), (Long) row[1]);
+            totalOrders += (Long) row[1];
+        }
+
+        // One grouped query serves both the daily order and the daily revenue chart
+        Map<LocalDate, Long> dailyOrders = new HashMap<>();
+        Map<LocalDate, BigDecimal> dailyRevenueChart = new HashMap<>();
+        for (LocalDate day = today.minusDays(6); !day.isAfter(today); day = day.plusDays(1)) {
+            dailyOrders.put(day, 0L);
+            dailyRevenueChart.put(day, BigDecimal.ZERO);
+        }
+        for (Object[] row : orderStatsHourlyRepository.sumHourlyByRestaurant(restaurantId, today.minusDays(6).atStartOfDay(), to)) {
+            LocalDate day = ((LocalDateTime) row[0]).toLocalDate();
+            dailyOrders.merge(day, (Long) row[1], Long::sum);
+            dailyRevenueChart.merge(day, (BigDecimal) row[2], BigDecimal::add);
+        }
+
+        Long cancelledOrders = ordersByStatus.getOrDefault("CANCELLED", 0L);
+        Double cancellationRate = totalOrders > 0 ? (cancelledOrders.doubleValue() / totalOrders) * 100 : 0.0;
+
+        Map<String, Object> orderStats = new HashMap<>();
+        orderStats.put("totalOrders", totalOrders);
+        orderStats.put("ordersByStatus", ordersByStatus);
+        orderStats.put("dailyOrders", dailyOrders);
+        orderStats.put("cancellationRate", cancellationRate);
+        orderStats.put("averagePreparationTime", 25.0);
+
+        // Rolling totals come from the in-memory buckets instead of four range sums
+        RestaurantRevenueAggregator.RevenueSnapshot snapshot = restaurantRevenueAggregator.getSnapshot(restaurantId);
+        Map<String, Object> revenueStats = new HashMap<>();
+        revenueStats.put("dailyRevenue", snapshot.getDailyRevenue());
+        revenueStats.put("weeklyRevenue", snapshot.getWeeklyRevenue());
+        revenueStats.put("monthlyRevenue", snapshot.getMonthlyRevenue());
+        revenueStats.put("yearlyRevenue", snapshot.getYearlyRevenue());
+        revenueStats.put("dailyRevenueChart", dailyRevenueChart);
+
+        List<Map<String, Object>> topProducts = orderRepository.findTopProductsByRestaurant(restaurantId, weekAgo, today).stream()
+                .limit(8)
+                .map(row -> {
+                    Map<String, Object> product = new HashMap<>();
+                    product.put("productName", row[0]);
+                    product.put("orderCount", row[1]);
+                    return product;
+                })
+                .collect(Collectors.toList());
+
+        send(RESTAURANT_TOPIC, "ORDER_UPDATE", restaurantId, orderStats);
+        send(RESTAURANT_TOPIC, "REVENUE_UPDATE", restaurantId, revenueStats);
+        send(RESTAURANT_TOPIC, "PRODUCTS_UPDATE", restaurantId, topProducts);
+    }
+
+    private void send(String topic, String type, UUID restaurantId, Object data) {
+        String key = restaurantId != null ? type + ":" + restaurantId : type;
+        if (data != null && data.equals(lastSent.put(key, data))) {
+            unchanged.incrementAndGet();
+            return;
+        }
+
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", type);
+        if (restaurantId != null) {
+            message.put("restaurantId", restaurantId.toString());
+        }
+        message.put("data", data);
+        messagingTemplate.convertAndSend(topic, message);
+        sent.incrementAndGet();
+    }
+
+    private void afterCommit(Runnable mark) {
+        marked.incrementAndGet();
+        // Marking inside a transaction waits for the commit so the flush never reads uncommitted state
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mark.run();
+                }
+            });
+        } else {
+            mark.run();
+        }
+    }
+
+    private List<TimeBucket> lastSevenDays() {
+        LocalDate today = LocalDate.now();
+        return orderRepository.findOrderSeries(TimeGranularity.DAY,
+                today.minusDays(6).atStartOfDay(), today.plusDays(1).atStartOfDay(), null);
+    }
+}
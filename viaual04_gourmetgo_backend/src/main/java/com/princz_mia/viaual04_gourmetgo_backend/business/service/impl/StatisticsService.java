@@ -1,15 +1,14 @@
 package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
 
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IStatisticsService;
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.impl.StatisticsBroadcaster.AdminScope;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.*;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.*;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.AdminDashboardDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.RestaurantDashboardDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -29,12 +28,19 @@ public class StatisticsService implements IStatisticsService {
     private final ActiveSessionRepository activeSessionRepository;
     private final UserRepository userRepository;
     private final HappyHourRepository happyHourRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final StatisticsBroadcaster statisticsBroadcaster;
+    private final RequestLogIngestionService requestLogIngestionService;
+    private final RequestMetricsEngine requestMetricsEngine;
+    private final VisitTrackingService visitTrackingService;
+    private final UniqueVisitorService uniqueVisitorService;
+    private final RestaurantRevenueAggregator restaurantRevenueAggregator;
+    private final OrderStatsHourlyRepository orderStatsHourlyRepository;
+    private final OrderStatsRollupService orderStatsRollupService;
     
     @Override
     public AdminDashboardDto getAdminDashboard(LocalDate startDate, LocalDate endDate) {
         return AdminDashboardDto.builder()
-                .onlineUsers(getOnlineUsersStats())
+                .onlineUsers(getOnlineUsersStats(startDate, endDate))
                 .trafficStats(getTrafficStats(startDate, endDate))
                 .orderStats(getGlobalOrderStats(startDate, endDate))
                 .performanceStats(getPerformanceStats())
@@ -57,61 +63,12 @@ public class StatisticsService implements IStatisticsService {
     }
     
     @Override
-    @Transactional
     public void trackVisit(String sessionId, String userEmail, String ipAddress, String userAgent) {
-        // Update or create active session
-        ActiveSession session = activeSessionRepository.findBySessionId(sessionId)
-                .orElse(ActiveSession.builder()
-                        .sessionId(sessionId)
-                        .userEmail(userEmail != null ? userEmail : "anonymous")
-                        .createdAt(LocalDateTime.now())
-                        .ipAddress(ipAddress)
-                        .userAgent(userAgent)
-                        .build());
-        
-        session.setLastActivity(LocalDateTime.now());
-        activeSessionRepository.save(session);
-        
-        // Update daily visit statistics
-        LocalDate today = LocalDate.now();
-        VisitStatistics stats = visitStatisticsRepository.findByDate(today)
-                .orElse(VisitStatistics.builder()
-                        .date(today)
-                        .totalVisits(0L)
-                        .uniqueVisitors(0L)
-                        .authenticatedUsers(0L)
-                        .anonymousUsers(0L)
-                        .build());
-        
-        stats.setTotalVisits(stats.getTotalVisits() + 1);
-        if (userEmail != null) {
-            stats.setAuthenticatedUsers(stats.getAuthenticatedUsers() + 1);
-        } else {
-            stats.setAnonymousUsers(stats.getAnonymousUsers() + 1);
-        }
-        
-        visitStatisticsRepository.save(stats);
-        
-        // Notify admins of visit update
-        notifyStatisticsUpdate("VISIT_UPDATE", getActiveUsersCount());
-        
-        // Send updated traffic stats
-        List<VisitStatistics> recentStats = visitStatisticsRepository.findByDateBetweenOrderByDateDesc(
-            today.minusDays(7), today);
-        
-        Map<LocalDate, Long> dailyVisits = recentStats.stream()
-            .collect(Collectors.toMap(VisitStatistics::getDate, VisitStatistics::getTotalVisits));
-        
-        Map<String, Object> trafficData = new HashMap<>();
-        trafficData.put("dailyVisits", dailyVisits);
-        trafficData.put("weeklyVisits", visitStatisticsRepository.sumTotalVisitsBetweenDates(
-            today.minusDays(7), today));
-        
-        notifyStatisticsUpdate("TRAFFIC_UPDATE", trafficData);
+        // Counters and session activity are persisted in batches by the write-behind tracker
+        visitTrackingService.recordVisit(sessionId, userEmail, ipAddress, userAgent);
     }
     
     @Override
-    @Transactional
     public void trackRequest(String endpoint, String method, Integer statusCode, Long responseTime, String userAgent, String ipAddress) {
         RequestLog log = RequestLog.builder()
                 .timestamp(LocalDateTime.now())
@@ -123,99 +80,23 @@ public class StatisticsService implements IStatisticsService {
                 .ipAddress(ipAddress)
                 .build();
         
-        requestLogRepository.save(log);
+        requestLogIngestionService.enqueue(log);
+        requestMetricsEngine.record(endpoint, statusCode, responseTime);
         
         // Only notify for non-WebSocket requests to avoid loops
         if (!endpoint.contains("/ws")) {
-            // Send current performance stats
-            LocalDateTime hourAgo = LocalDateTime.now().minusHours(1);
-            LocalDateTime now = LocalDateTime.now();
-            
-            Long requestsPerHour = requestLogRepository.countRequestsBetween(hourAgo, now);
-            Double avgResponseTime = requestLogRepository.averageResponseTimeBetween(hourAgo, now);
-            Double errorRate = requestLogRepository.errorRateBetween(hourAgo, now);
-            
-            List<Object[]> topEndpointsData = requestLogRepository.topEndpointsBetween(hourAgo, now);
-            List<Map<String, Object>> topEndpoints = topEndpointsData.stream()
-                .limit(5)
-                .map(row -> {
-                    Map<String, Object> endpointData = new HashMap<>();
-                    endpointData.put("endpoint", row[0]);
-                    endpointData.put("requestCount", row[1]);
-                    return endpointData;
-                })
-                .collect(Collectors.toList());
-            
-            Map<String, Object> perfStats = new HashMap<>();
-            perfStats.put("requestsPerHour", requestsPerHour != null ? requestsPerHour : 0L);
-            perfStats.put("averageResponseTime", avgResponseTime != null ? avgResponseTime : 0.0);
-            perfStats.put("errorRate", errorRate != null ? errorRate : 0.0);
-            perfStats.put("topEndpoints", topEndpoints);
-            
-            notifyStatisticsUpdate("PERFORMANCE_UPDATE", perfStats);
-            
-            // Send restaurant revenue updates for all restaurants
-            List<UUID> restaurantIds = orderRepository.findAll().stream()
-                .filter(order -> order.getRestaurant() != null)
-                .map(order -> order.getRestaurant().getId())
-                .distinct()
-                .collect(Collectors.toList());
-            
-            LocalDate today = LocalDate.now();
-            for (UUID restaurantId : restaurantIds) {
-                BigDecimal dailyRevenue = Optional.ofNullable(orderRepository.sumRevenueByRestaurantBetweenDates(restaurantId, today, today)).orElse(BigDecimal.ZERO);
-                BigDecimal weeklyRevenue = Optional.ofNullable(orderRepository.sumRevenueByRestaurantBetweenDates(restaurantId, today.minusDays(7), today)).orElse(BigDecimal.ZERO);
-                BigDecimal monthlyRevenue = Optional.ofNullable(orderRepository.sumRevenueByRestaurantBetweenDates(restaurantId, today.minusDays(30), today)).orElse(BigDecimal.ZERO);
-                BigDecimal yearlyRevenue = Optional.ofNullable(orderRepository.sumRevenueByRestaurantBetweenDates(restaurantId, today.minusDays(365), today)).orElse(BigDecimal.ZERO);
-                
-                Map<String, Object> revenueData = new HashMap<>();
-                revenueData.put("dailyRevenue", dailyRevenue);
-                revenueData.put("weeklyRevenue", weeklyRevenue);
-                revenueData.put("monthlyRevenue", monthlyRevenue);
-                revenueData.put("yearlyRevenue", yearlyRevenue);
-                
-                Map<String, Object> restaurantRevenueMessage = new HashMap<>();
-                restaurantRevenueMessage.put("type", "REVENUE_UPDATE");
-                restaurantRevenueMessage.put("restaurantId", restaurantId.toString());
-                restaurantRevenueMessage.put("data", revenueData);
-                
-                messagingTemplate.convertAndSend("/topic/restaurant/statistics", restaurantRevenueMessage);
-            }
+            statisticsBroadcaster.markDirty(AdminScope.PERFORMANCE);
         }
     }
     
     @Override
-    @Transactional
     public void updateSessionActivity(String sessionId) {
-        activeSessionRepository.findBySessionId(sessionId)
-                .ifPresent(session -> {
-                    session.setLastActivity(LocalDateTime.now());
-                    activeSessionRepository.save(session);
-                });
+        visitTrackingService.touchSession(sessionId);
     }
     
     @Override
-    @Transactional
     public void removeSession(String sessionId) {
-        activeSessionRepository.deleteBySessionId(sessionId);
-        
-        // Notify admins of session removal
-        notifyStatisticsUpdate("VISIT_UPDATE", getActiveUsersCount());
-        
-        // Send updated traffic stats
-        LocalDate currentDate = LocalDate.now();
-        List<VisitStatistics> recentStats = visitStatisticsRepository.findByDateBetweenOrderByDateDesc(
-            currentDate.minusDays(7), currentDate);
-        
-        Map<LocalDate, Long> dailyVisits = recentStats.stream()
-            .collect(Collectors.toMap(VisitStatistics::getDate, VisitStatistics::getTotalVisits));
-        
-        Map<String, Object> trafficData = new HashMap<>();
-        trafficData.put("dailyVisits", dailyVisits);
-        trafficData.put("weeklyVisits", visitStatisticsRepository.sumTotalVisitsBetweenDates(
-            currentDate.minusDays(7), currentDate));
-        
-        notifyStatisticsUpdate("TRAFFIC_UPDATE", trafficData);
+        visitTrackingService.removeSession(sessionId);
     }
     
     @Override
@@ -224,13 +105,18 @@ public class StatisticsService implements IStatisticsService {
         return activeSessionRepository.countActiveSessions(threshold);
     }
     
-    private AdminDashboardDto.OnlineUsersDto getOnlineUsersStats() {
+    @Override
+    public int rebuildOrderStatsRollup() {
+        return orderStatsRollupService.rebuild();
+    }
+    
+    private AdminDashboardDto.OnlineUsersDto getOnlineUsersStats(LocalDate startDate, LocalDate endDate) {
         LocalDateTime threshold = LocalDateTime.now().minusMinutes(30);
         Long activeUsers = activeSessionRepository.countActiveSessions(threshold);
         
         return AdminDashboardDto.OnlineUsersDto.builder()
                 .activeUsers(activeUsers)
-                .totalVisitors(activeUsers) // Simplified for now
+                .totalVisitors(uniqueVisitorService.countUniqueVisitors(startDate, endDate))
                 .build();
     }
     
@@ -239,24 +125,17 @@ public class StatisticsService implements IStatisticsService {
         
         Map<String, Long> dailyVisits = new LinkedHashMap<>();
         
-        // If same day, generate hourly data
+        // If same day, generate hourly data from the request logs with one grouped query
         if (startDate.equals(endDate)) {
-            for (int hour = 0; hour < 24; hour++) {
-                LocalDateTime hourStart = startDate.atTime(hour, 0);
-                LocalDateTime hourEnd = startDate.atTime(hour, 59, 59);
-                
-                // Get actual hourly visit count from active sessions or request logs
-                Long hourlyVisits = requestLogRepository.countRequestsBetween(hourStart, hourEnd);
-                if (hourlyVisits == null) hourlyVisits = 0L;
-                
-                dailyVisits.put(hourStart.toString(), hourlyVisits);
-            }
+            requestLogRepository.countRequestSeries(TimeGranularity.HOUR, startDate.atStartOfDay(), startDate.plusDays(1).atStartOfDay())
+                    .forEach((hourStart, hourlyVisits) -> dailyVisits.put(hourStart.toString(), hourlyVisits));
         } else {
             // Multi-day: generate daily data with 0 for missing days
             LocalDate current = startDate;
             while (!current.isAfter(endDate)) {
+                LocalDate day = current;
                 VisitStatistics dayStats = stats.stream()
-                    .filter(s -> s.getDate().equals(current))
+                    .filter(s -> s.getDate().equals(day))
                     .findFirst().orElse(null);
                 Long visits = dayStats != null ? dayStats.getTotalVisits() : 0L;
                 dailyVisits.put(current.toString(), visits);
@@ -264,21 +143,24 @@ public class StatisticsService implements IStatisticsService {
             }
         }
         
-        LocalDate weekStart = LocalDate.now().minusDays(7);
-        LocalDate monthStart = LocalDate.now().minusDays(30);
-        LocalDate yearStart = LocalDate.now().minusDays(365);
+        LocalDate today = LocalDate.now();
+        LocalDate weekStart = today.minusDays(7);
+        LocalDate monthStart = today.minusDays(30);
+        LocalDate yearStart = today.minusDays(365);
         
         return AdminDashboardDto.TrafficStatsDto.builder()
                 .dailyVisits(dailyVisits)
                 .weeklyVisits(Optional.ofNullable(visitStatisticsRepository.sumTotalVisitsBetweenDates(weekStart, LocalDate.now())).orElse(0L))
                 .monthlyVisits(Optional.ofNullable(visitStatisticsRepository.sumTotalVisitsBetweenDates(monthStart, LocalDate.now())).orElse(0L))
                 .yearlyVisits(Optional.ofNullable(visitStatisticsRepository.sumTotalVisitsBetweenDates(yearStart, LocalDate.now())).orElse(0L))
+                .uniqueVisitors(uniqueVisitorService.countUniqueVisitors(startDate, endDate))
+                .weeklyUniqueVisitors(uniqueVisitorService.countUniqueVisitors(weekStart, today))
+                .monthlyUniqueVisitors(uniqueVisitorService.countUniqueVisitors(monthStart, today))
+                .yearlyUniqueVisitors(uniqueVisitorService.countUniqueVisitors(yearStart, today))
                 .build();
     }
     
     private AdminDashboardDto.OrderStatsDto getGlobalOrderStats(LocalDate startDate, LocalDate endDate) {
-        Long totalOrders = orderRepository.countOrdersBetweenDates(startDate, endDate);
-        
         List<Object[]> statusCounts = orderRepository.countOrdersByStatusGrouped(startDate, endDate);
         Map<String, Long> ordersByStatus = statusCounts.stream()
                 .collect(Collectors.toMap(
@@ -286,27 +168,18 @@ public class StatisticsService implements IStatisticsService {
                         row -> (Long) row[1]
                 ));
         
-        // Generate daily orders for chart
-        Map<String, Long> dailyOrders = new LinkedHashMap<>();
+        // Whole chart in one grouped query: hourly buckets for a single day, daily buckets otherwise
+        boolean singleDay = startDate.equals(endDate);
+        List<TimeBucket> series = orderRepository.findOrderSeries(
+                singleDay ? TimeGranularity.HOUR : TimeGranularity.DAY,
+                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay(), null);
         
-        // If same day, generate hourly data
-        if (startDate.equals(endDate)) {
-            for (int hour = 0; hour < 24; hour++) {
-                LocalDateTime hourStart = startDate.atTime(hour, 0);
-                LocalDateTime hourEnd = startDate.atTime(hour, 59, 59);
-                Long count = orderRepository.countOrdersBetweenDateTimes(hourStart, hourEnd);
-                if (count == null) count = 0L;
-                dailyOrders.put(hourStart.toString(), count);
-            }
-        } else {
-            // Multi-day: generate daily data
-            LocalDate current = startDate;
-            while (!current.isAfter(endDate)) {
-                Long count = orderRepository.countOrdersBetweenDates(current, current);
-                dailyOrders.put(current.toString(), count);
-                current = current.plusDays(1);
-            }
+        Map<String, Long> dailyOrders = new LinkedHashMap<>();
+        for (TimeBucket bucket : series) {
+            String key = singleDay ? bucket.getBucketStart().toString() : bucket.getBucketStart().toLocalDate().toString();
+            dailyOrders.put(key, bucket.getOrderCount());
         }
+        Long totalOrders = series.stream().mapToLong(TimeBucket::getOrderCount).sum();
         
         return AdminDashboardDto.OrderStatsDto.builder()
                 .totalOrders(totalOrders)
@@ -317,26 +190,26 @@ public class StatisticsService implements IStatisticsService {
     }
     
     private AdminDashboardDto.PerformanceStatsDto getPerformanceStats() {
-        LocalDateTime hourAgo = LocalDateTime.now().minusHours(1);
-        LocalDateTime now = LocalDateTime.now();
+        RequestMetricsEngine.WindowStats window = requestMetricsEngine.getWindow(60);
         
-        Long requestsPerHour = requestLogRepository.countRequestsBetween(hourAgo, now);
-        Double avgResponseTime = requestLogRepository.averageResponseTimeBetween(hourAgo, now);
-        Double errorRate = requestLogRepository.errorRateBetween(hourAgo, now);
-        
-        List<Object[]> topEndpointsData = requestLogRepository.topEndpointsBetween(hourAgo, now);
-        List<AdminDashboardDto.EndpointStatsDto> topEndpoints = topEndpointsData.stream()
+        List<AdminDashboardDto.EndpointStatsDto> topEndpoints = window.getEndpoints().stream()
                 .limit(5)
-                .map(row -> AdminDashboardDto.EndpointStatsDto.builder()
-                        .endpoint((String) row[0])
-                        .requestCount((Long) row[1])
+                .map(endpoint -> AdminDashboardDto.EndpointStatsDto.builder()
+                        .endpoint(endpoint.getEndpoint())
+                        .requestCount(endpoint.getRequestCount())
+                        .averageResponseTime(endpoint.getAverageResponseTime())
+                        .p95ResponseTime(endpoint.getP95ResponseTime())
+                        .p99ResponseTime(endpoint.getP99ResponseTime())
                         .build())
                 .collect(Collectors.toList());
         
         return AdminDashboardDto.PerformanceStatsDto.builder()
-                .requestsPerHour(Optional.ofNullable(requestsPerHour).orElse(0L))
-                .averageResponseTime(Optional.ofNullable(avgResponseTime).orElse(0.0))
-                .errorRate(Optional.ofNullable(errorRate).orElse(0.0))
+                .requestsPerHour(window.getRequestCount())
+                .averageResponseTime(window.getAverageResponseTime())
+                .errorRate(window.getErrorRate())
+                .p50ResponseTime(window.getP50ResponseTime())
+                .p95ResponseTime(window.getP95ResponseTime())
+                .p99ResponseTime(window.getP99ResponseTime())
                 .topEndpoints(topEndpoints)
                 .build();
     }
@@ -373,33 +246,21 @@ public class StatisticsService implements IStatisticsService {
     }
     
     private RestaurantDashboardDto.OrderStatsDto getRestaurantOrderStats(UUID restaurantId, LocalDate startDate, LocalDate endDate) {
-        Long totalOrders = orderRepository.countOrdersByRestaurantBetweenDates(restaurantId, startDate, endDate);
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
         
-        List<Object[]> statusCounts = orderRepository.countOrdersByRestaurantAndStatusGrouped(restaurantId, startDate, endDate);
+        List<Object[]> statusCounts = orderStatsHourlyRepository.countByRestaurantGroupedByStatus(restaurantId, from, to);
         Map<String, Long> ordersByStatus = statusCounts.stream()
                 .collect(Collectors.toMap(
                         row -> ((OrderStatus) row[0]).name(),
                         row -> (Long) row[1]
                 ));
+        Long totalOrders = ordersByStatus.values().stream().mapToLong(Long::longValue).sum();
         
-        Map<String, Long> dailyOrders = new LinkedHashMap<>();
-        
-        // If same day, generate hourly data
-        if (startDate.equals(endDate)) {
-            for (int hour = 0; hour < 24; hour++) {
-                LocalDateTime hourStart = startDate.atTime(hour, 0);
-                LocalDateTime hourEnd = startDate.atTime(hour, 59, 59);
-                Long count = orderRepository.countOrdersByRestaurantBetweenDateTimes(restaurantId, hourStart, hourEnd);
-                dailyOrders.put(hourStart.toString(), count);
-            }
-        } else {
-            // Multi-day: generate daily data
-            LocalDate current = startDate;
-            while (!current.isAfter(endDate)) {
-                Long count = orderRepository.countOrdersByRestaurantBetweenDates(restaurantId, current, current);
-                dailyOrders.put(current.toString(), count);
-                current = current.plusDays(1);
-            }
+        // Hourly buckets for a single day, daily buckets otherwise
+        Map<String, Long> dailyOrders = emptySeries(startDate, endDate, 0L);
+        for (Object[] row : orderStatsHourlyRepository.sumHourlyByRestaurant(restaurantId, from, to)) {
+            dailyOrders.merge(seriesKey((LocalDateTime) row[0], startDate, endDate), (Long) row[1], Long::sum);
         }
         
         Long cancelledOrders = ordersByStatus.getOrDefault("CANCELLED", 0L);
@@ -415,44 +276,41 @@ public class StatisticsService implements IStatisticsService {
     }
     
     private RestaurantDashboardDto.RevenueStatsDto getRestaurantRevenueStats(UUID restaurantId, LocalDate startDate, LocalDate endDate) {
-        LocalDate today = LocalDate.now();
-        LocalDate weekStart = today.minusDays(7);
-        LocalDate monthStart = today.minusDays(30);
-        LocalDate yearStart = today.minusDays(365);
-        
-        // Always recalculate revenue to ensure cancelled orders are excluded
-        BigDecimal dailyRevenue = Optional.ofNullable(orderRepository.sumRevenueByRestaurantBetweenDates(restaurantId, today, today)).orElse(BigDecimal.ZERO);
-        BigDecimal weeklyRevenue = Optional.ofNullable(orderRepository.sumRevenueByRestaurantBetweenDates(restaurantId, weekStart, today)).orElse(BigDecimal.ZERO);
-        BigDecimal monthlyRevenue = Optional.ofNullable(orderRepository.sumRevenueByRestaurantBetweenDates(restaurantId, monthStart, today)).orElse(BigDecimal.ZERO);
-        BigDecimal yearlyRevenue = Optional.ofNullable(orderRepository.sumRevenueByRestaurantBetweenDates(restaurantId, yearStart, today)).orElse(BigDecimal.ZERO);
-        
-        Map<String, BigDecimal> dailyRevenueChart = new LinkedHashMap<>();
+        // Rolling totals are maintained incrementally and already exclude cancelled orders
+        RestaurantRevenueAggregator.RevenueSnapshot rollingRevenue = restaurantRevenueAggregator.getSnapshot(restaurantId);
+        
+        Map<String, BigDecimal> dailyRevenueChart = emptySeries(startDate, endDate, BigDecimal.ZERO);
+        List<Object[]> rows = orderStatsHourlyRepository.sumHourlyByRestaurant(
+                restaurantId, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+        for (Object[] row : rows) {
+            dailyRevenueChart.merge(seriesKey((LocalDateTime) row[0], startDate, endDate), (BigDecimal) row[2], BigDecimal::add);
+        }
         
-        // If same day, generate hourly data
+        return RestaurantDashboardDto.RevenueStatsDto.builder()
+                .dailyRevenue(rollingRevenue.getDailyRevenue())
+                .weeklyRevenue(rollingRevenue.getWeeklyRevenue())
+                .monthlyRevenue(rollingRevenue.getMonthlyRevenue())
+                .yearlyRevenue(rollingRevenue.getYearlyRevenue())
+                .dailyRevenueChart(dailyRevenueChart)
+                .build();
+    }
+    
+    private <T> Map<String, T> emptySeries(LocalDate startDate, LocalDate endDate, T zero) {
+        Map<String, T> series = new LinkedHashMap<>();
         if (startDate.equals(endDate)) {
             for (int hour = 0; hour < 24; hour++) {
-                LocalDateTime hourStart = startDate.atTime(hour, 0);
-                LocalDateTime hourEnd = startDate.atTime(hour, 59, 59);
-                BigDecimal revenue = Optional.ofNullable(orderRepository.sumRevenueByRestaurantBetweenDateTimes(restaurantId, hourStart, hourEnd)).orElse(BigDecimal.ZERO);
-                dailyRevenueChart.put(hourStart.toString(), revenue);
+                series.put(startDate.atTime(hour, 0).toString(), zero);
             }
         } else {
-            // Multi-day: generate daily data
-            LocalDate current = startDate;
-            while (!current.isAfter(endDate)) {
-                BigDecimal revenue = Optional.ofNullable(orderRepository.sumRevenueByRestaurantBetweenDates(restaurantId, current, current)).orElse(BigDecimal.ZERO);
-                dailyRevenueChart.put(current.toString(), revenue);
-                current = current.plusDays(1);
+            for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+                series.put(day.toString(), zero);
             }
         }
-        
-        return RestaurantDashboardDto.RevenueStatsDto.builder()
-                .dailyRevenue(dailyRevenue)
-                .weeklyRevenue(weeklyRevenue)
-                .monthlyRevenue(monthlyRevenue)
-                .yearlyRevenue(yearlyRevenue)
-                .dailyRevenueChart(dailyRevenueChart)
-                .build();
+        return series;
+    }
+    
+    private String seriesKey(LocalDateTime bucketStart, LocalDate startDate, LocalDate endDate) {
+        return startDate.equals(endDate) ? bucketStart.toString() : bucketStart.toLocalDate().toString();
     }
     
     private List<RestaurantDashboardDto.TopProductDto> getTopProductsByRestaurant(UUID restaurantId, LocalDate startDate, LocalDate endDate) {
@@ -500,15 +358,4 @@ public class StatisticsService implements IStatisticsService {
                 .revenueIncrease(0.0)
                 .build();
     }
-    
-    private void notifyStatisticsUpdate(String type, Object data) {
-        try {
-            Map<String, Object> message = new HashMap<>();
-            message.put("type", type);
-            message.put("data", data);
-            messagingTemplate.convertAndSend("/topic/admin/statistics", message);
-        } catch (Exception e) {
-            log.warn("Failed to send statistics update notification", e);
-        }
-    }
 }
\ No newline at end of file
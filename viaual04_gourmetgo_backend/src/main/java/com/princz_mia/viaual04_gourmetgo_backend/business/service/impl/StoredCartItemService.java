@@ -0,0 +1,266 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
+
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.ICartItemService;
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.IProductService;
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.impl.InventoryReservationService.HoldSnapshot;
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.CartStore;
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.CartStore.Line;
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.CartStore.StoredCart;
+import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.CartItem;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
+import com.princz_mia.viaual04_gourmetgo_backend.events.CartChangedEvent;
+import com.princz_mia.viaual04_gourmetgo_backend.exception.AppException;
+import com.princz_mia.viaual04_gourmetgo_backend.exception.ErrorType;
+import com.princz_mia.viaual04_gourmetgo_backend.exception.ResourceNotFoundException;
+import com.princz_mia.viaual04_gourmetgo_backend.exception.ServiceException;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartItemDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartSyncRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Cart item operations against the {@link CartStore}. Items are changed in the store only;
+ * the cart's rows are brought up to date by {@link StoredCartService} at checkout or when the
+ * cart goes idle.
+ */
+@Service
+@ConditionalOnExpression("'${app.cart.store:jpa}' != 'jpa'")
+@RequiredArgsConstructor
+@Slf4j
+public class StoredCartItemService implements ICartItemService {
+
+    private final CartStore cartStore;
+    private final StoredCartService storedCartService;
+    private final IProductService productService;
+    private final InventoryReservationService inventoryReservationService;
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public CartItemDto addItemToCart(UUID cartId, UUID productId, int quantity) {
+        LoggingUtils.logMethodEntry(log, "addItemToCart", "cartId", cartId, "productId", productId, "quantity", quantity);
+        long startTime = System.currentTimeMillis();
+
+        HoldSnapshot previousHolds = null;
+        try {
+            Product product = productService.getProductById(productId);
+            UUID restaurantId = product.getRestaurant().getId();
+            StoredCart cart = storedCartService.load(cartId);
+            if (cart.restaurantId() != null && !cart.restaurantId().equals(restaurantId)) {
+                throw new AppException("Cannot add from different restaurant", ErrorType.BUSINESS_RULE_VIOLATION);
+            }
+
+            Line line = cart.lines().get(productId);
+            int cartQuantity = (line != null ? line.quantity() : 0) + quantity;
+            previousHolds = inventoryReservationService.snapshot(cartId, List.of(productId));
+            if (!inventoryReservationService.reserve(cartId, product, cartQuantity)) {
+                throw new AppException("Not enough inventory for " + product.getName(), ErrorType.BUSINESS_RULE_VIOLATION);
+            }
+            int updated = cartStore.increment(cartId, restaurantId, productId, quantity, product.getPrice());
+            if (updated == CartStore.DIFFERENT_RESTAURANT) {
+                // Another request filled the cart from a different restaurant since it was loaded
+                throw new AppException("Cannot add from different restaurant", ErrorType.BUSINESS_RULE_VIOLATION);
+            }
+            publisher.publishEvent(new CartChangedEvent(cartId));
+
+            LoggingUtils.logBusinessEvent(log, "CART_ITEM_ADDED", "cartId", cartId, "productId", productId, "quantity", quantity);
+            LoggingUtils.logPerformance(log, "addItemToCart", System.currentTimeMillis() - startTime);
+
+            return storedCartService.toDto(productId,
+                    new Line(updated, line != null ? line.unitPrice() : product.getPrice()), product);
+        } catch (Exception e) {
+            if (previousHolds != null) {
+                inventoryReservationService.restore(previousHolds);
+            }
+            LoggingUtils.logError(log, "Failed to add item to cart", e, "cartId", cartId, "productId", productId, "quantity", quantity);
+            throw e;
+        }
+    }
+
+    @Override
+    public void removeItemFromCart(UUID cartId, UUID productId) {
+        LoggingUtils.logMethodEntry(log, "removeItemFromCart", "cartId", cartId, "productId", productId);
+        long startTime = System.currentTimeMillis();
+
+        try {
+            if (!storedCartService.load(cartId).lines().containsKey(productId)) {
+                throw new ResourceNotFoundException("Item not found");
+            }
+            cartStore.remove(cartId, productId);
+            inventoryReservationService.release(cartId, productId);
+            publisher.publishEvent(new CartChangedEvent(cartId));
+
+            LoggingUtils.logBusinessEvent(log, "CART_ITEM_REMOVED", "cartId", cartId, "productId", productId);
+            LoggingUtils.logPerformance(log, "removeItemFromCart", System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            LoggingUtils.logError(log, "Failed to remove item from cart", e, "cartId", cartId, "productId", productId);
+            throw e;
+        }
+    }
+
+    @Override
+    public CartItemDto updateItemQuantity(UUID cartId, UUID productId, int quantity) {
+        LoggingUtils.logMethodEntry(log, "updateItemQuantity", "cartId", cartId, "productId", productId, "quantity", quantity);
+        long startTime = System.currentTimeMillis();
+
+        HoldSnapshot previousHolds = null;
+        try {
+            if (quantity <= 0) {
+                removeItemFromCart(cartId, productId);
+                return null;
+            }
+
+            Line line = storedCartService.load(cartId).lines().get(productId);
+            if (line == null) {
+                return null;
+            }
+            Product product = productService.getProductById(productId);
+            Line updated = new Line(quantity, product.getPrice());
+            // Nothing is written or invalidated when the line is already as requested
+            if (line.quantity() != quantity || line.unitPrice() == null || line.unitPrice().compareTo(product.getPrice()) != 0) {
+                previousHolds = inventoryReservationService.snapshot(cartId, List.of(productId));
+                if (!inventoryReservationService.reserve(cartId, product, quantity)) {
+                    throw new AppException("Not enough inventory for " + product.getName(), ErrorType.BUSINESS_RULE_VIOLATION);
+                }
+                cartStore.update(cartId, productId, quantity, product.getPrice());
+                publisher.publishEvent(new CartChangedEvent(cartId));
+            }
+
+            LoggingUtils.logBusinessEvent(log, "CART_ITEM_QUANTITY_UPDATED", "cartId", cartId, "productId", productId, "quantity", quantity);
+            LoggingUtils.logPerformance(log, "updateItemQuantity", System.currentTimeMillis() - startTime);
+
+            return storedCartService.toDto(productId, updated, product);
+        } catch (Exception e) {
+            if (previousHolds != null) {
+                inventoryReservationService.restore(previousHolds);
+            }
+            LoggingUtils.logError(log, "Failed to update item quantity", e, "cartId", cartId, "productId", productId, "quantity", quantity);
+            throw e;
+        }
+    }
+
+    /**
+     * Applies every line of the request with one store call. The products of the request and
+     * of the lines already in the cart are read with a single query, which also serves the
+     * returned cart.
+     */
+    @Override
+    public CartDto syncItems(UUID cartId, List<CartSyncRequest.Item> items) {
+        LoggingUtils.logMethodEntry(log, "syncItems", "cartId", cartId, "items", items.size());
+        long startTime = System.currentTimeMillis();
+
+        HoldSnapshot previousHolds = null;
+        try {
+            Map<UUID, Integer> quantities = CartItemService.targetQuantities(items);
+            StoredCart cart = storedCartService.load(cartId);
+
+            Set<UUID> productIds = new HashSet<>(cart.lines().keySet());
+            quantities.forEach((productId, quantity) -> {
+                if (quantity > 0) {
+                    productIds.add(productId);
+                }
+            });
+            Map<UUID, Product> products = storedCartService.findProducts(productIds);
+
+            Map<UUID, Line> lines = new LinkedHashMap<>(cart.lines());
+            Map<UUID, Integer> upserts = new LinkedHashMap<>();
+            Map<UUID, Line> changes = new LinkedHashMap<>();
+            List<UUID> removals = new ArrayList<>();
+            for (Map.Entry<UUID, Integer> target : quantities.entrySet()) {
+                UUID productId = target.getKey();
+                int quantity = target.getValue();
+                Line line = lines.get(productId);
+                if (quantity <= 0) {
+                    if (line != null) {
+                        lines.remove(productId);
+                        removals.add(productId);
+                    }
+                    continue;
+                }
+
+                Product product = products.get(productId);
+                if (product == null) {
+                    throw new ServiceException("Product not found", ErrorType.RESOURCE_NOT_FOUND);
+                }
+                upserts.put(productId, quantity);
+                if (line == null || line.quantity() != quantity
+                        || line.unitPrice() == null || line.unitPrice().compareTo(product.getPrice()) != 0) {
+                    Line updated = new Line(quantity, product.getPrice());
+                    lines.put(productId, updated);
+                    changes.put(productId, updated);
+                }
+            }
+
+            Set<UUID> restaurants = lines.keySet().stream()
+                    .map(products::get)
+                    .filter(Objects::nonNull)
+                    .map(product -> product.getRestaurant().getId())
+                    .collect(Collectors.toSet());
+            if (restaurants.size() > 1) {
+                throw new AppException("Cannot add from different restaurant", ErrorType.BUSINESS_RULE_VIOLATION);
+            }
+
+            previousHolds = inventoryReservationService.snapshot(cartId, quantities.keySet());
+            Set<UUID> unavailable = inventoryReservationService.reserveAll(cartId, products, upserts);
+            if (!unavailable.isEmpty()) {
+                throw new AppException("Not enough inventory for " + unavailable.stream()
+                        .map(productId -> products.get(productId).getName())
+                        .collect(Collectors.joining(", ")), ErrorType.BUSINESS_RULE_VIOLATION);
+            }
+
+            if (!changes.isEmpty() || !removals.isEmpty()) {
+                UUID restaurantId = restaurants.isEmpty() ? null : restaurants.iterator().next();
+                if (!cartStore.apply(cartId, restaurantId, changes, removals)) {
+                    // Another request filled the cart from a different restaurant since it was loaded
+                    throw new AppException("Cannot add from different restaurant", ErrorType.BUSINESS_RULE_VIOLATION);
+                }
+                removals.forEach(productId -> inventoryReservationService.release(cartId, productId));
+                publisher.publishEvent(new CartChangedEvent(cartId));
+            }
+
+            LoggingUtils.logBusinessEvent(log, "CART_ITEMS_SYNCED", "cartId", cartId, "items", quantities.size());
+            LoggingUtils.logPerformance(log, "syncItems", System.currentTimeMillis() - startTime);
+
+            return storedCartService.view(cartId, lines, products);
+        } catch (Exception e) {
+            if (previousHolds != null) {
+                inventoryReservationService.restore(previousHolds);
+            }
+            LoggingUtils.logError(log, "Failed to sync cart items", e, "cartId", cartId);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns an unsaved item built from the stored line, the store keeps no rows.
+     */
+    @Override
+    public CartItem getCartItem(UUID cartId, UUID productId) {
+        LoggingUtils.logMethodEntry(log, "getCartItem", "cartId", cartId, "productId", productId);
+        Line line = storedCartService.load(cartId).lines().get(productId);
+        if (line == null) {
+            throw new ResourceNotFoundException("Item not found");
+        }
+        CartItem item = CartItem.builder()
+                .product(productService.getProductById(productId))
+                .quantity(line.quantity())
+                .unitPrice(line.unitPrice())
+                .build();
+        item.setTotalPrice();
+        return item;
+    }
+}
@@ -0,0 +1,211 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
+
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.CartStore;
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.CartStore.Line;
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.CartStore.StoredCart;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Cart;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.CartItem;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.CartItemRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.CartRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ProductRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.events.CartClearedEvent;
+import com.princz_mia.viaual04_gourmetgo_backend.exception.ResourceNotFoundException;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartItemDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.ProductMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves carts between the {@link CartStore} and the {@code cart}/{@code cart_item} tables when
+ * {@code app.cart.store} selects an ephemeral store. A cart is read into the store on first
+ * use and written back at checkout, or once it has been idle for
+ * {@code app.cart.idle-write-back-ms}, after which the store lets it go.
+ */
+@Service
+@ConditionalOnExpression("'${app.cart.store:jpa}' != 'jpa'")
+@RequiredArgsConstructor
+@Slf4j
+public class StoredCartService {
+
+    private final CartStore cartStore;
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final LongAdder writeBacks = new LongAdder();
+    private final LongAdder idleReleases = new LongAdder();
+
+    @Value("${app.cart.idle-write-back-ms:1800000}")
+    private long idleWriteBackMs;
+
+    /**
+     * The cart as held by the store, reading it from its rows first when the store does not
+     * hold it yet.
+     */
+    public StoredCart load(UUID cartId) {
+        StoredCart stored = cartStore.find(cartId);
+        if (stored != null) {
+            return stored;
+        }
+        Cart cart = cartRepository.findWithItemsById(cartId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
+        Map<UUID, Line> lines = new LinkedHashMap<>();
+        UUID restaurantId = null;
+        for (CartItem item : cart.getItems()) {
+            lines.put(item.getProduct().getId(), new Line(item.getQuantity(), item.getUnitPrice()));
+            restaurantId = item.getProduct().getRestaurant().getId();
+        }
+        cartStore.load(cartId, new StoredCart(restaurantId, lines));
+        return cartStore.find(cartId);
+    }
+
+    public CartDto view(UUID cartId) {
+        StoredCart stored = load(cartId);
+        return view(cartId, stored.lines(), findProducts(stored.lines().keySet()));
+    }
+
+    /**
+     * Builds the cart response from lines and products the caller already holds; lines whose
+     * product is missing are left out.
+     */
+    public CartDto view(UUID cartId, Map<UUID, Line> lines, Map<UUID, Product> products) {
+        Set<CartItemDto> items = new HashSet<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<UUID, Line> line : lines.entrySet()) {
+            Product product = products.get(line.getKey());
+            if (product == null) {
+                continue;
+            }
+            CartItemDto item = toDto(line.getKey(), line.getValue(), product);
+            items.add(item);
+            if (item.getUnitPrice() != null) {
+                total = total.add(item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            }
+        }
+        return CartDto.builder().id(cartId).items(items).totalAmount(total).build();
+    }
+
+    /**
+     * Stored lines have no row of their own, the product id identifies them within the cart.
+     */
+    public CartItemDto toDto(UUID productId, Line line, Product product) {
+        return CartItemDto.builder()
+                .id(productId)
+                .quantity(line.quantity())
+                .unitPrice(line.unitPrice())
+                .product(productMapper.toDto(product))
+                .build();
+    }
+
+    /**
+     * Writes the stored lines into the cart's rows, inside the caller's transaction when there
+     * is one, and returns the managed cart with its items.
+     */
+    public Cart writeBack(UUID cartId) {
+        return transactionTemplate.execute(status -> {
+            Cart cart = cartRepository.findWithItemsById(cartId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
+            StoredCart stored = cartStore.find(cartId);
+            if (stored == null) {
+                return cart;
+            }
+
+            Set<UUID> persisted = new HashSet<>();
+            for (CartItem item : new ArrayList<>(cart.getItems())) {
+                Line line = stored.lines().get(item.getProduct().getId());
+                if (line == null) {
+                    cart.removeItem(item);
+                } else {
+                    persisted.add(item.getProduct().getId());
+                    if (line.quantity() != item.getQuantity() || !Objects.equals(line.unitPrice(), item.getUnitPrice())) {
+                        cart.updateItem(item, line.quantity(), line.unitPrice());
+                    }
+                }
+            }
+
+            Map<UUID, Product> products = findProducts(stored.lines().keySet().stream()
+                    .filter(productId -> !persisted.contains(productId))
+                    .collect(Collectors.toSet()));
+            products.forEach((productId, product) -> {
+                Line line = stored.lines().get(productId);
+                CartItem item = CartItem.builder()
+                        .cart(cart)
+                        .product(product)
+                        .quantity(line.quantity())
+                        .unitPrice(line.unitPrice())
+                        .build();
+                item.setTotalPrice();
+                cart.addItem(cartItemRepository.save(item));
+            });
+            writeBacks.increment();
+            return cart;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.cart.write-back-interval-ms:60000}")
+    public void writeBackIdleCarts() {
+        long touchedBefore = System.currentTimeMillis() - idleWriteBackMs;
+        for (UUID cartId : cartStore.findIdle(touchedBefore)) {
+            try {
+                writeBack(cartId);
+            } catch (ResourceNotFoundException e) {
+                log.debug("Stored cart {} no longer exists, releasing it", cartId);
+            } catch (Exception e) {
+                log.warn("Failed to write back idle cart {}: {}", cartId, e.getMessage());
+                continue;
+            }
+            // Kept when it was changed after being picked, the next round writes it again
+            if (cartStore.evict(cartId, touchedBefore)) {
+                idleReleases.increment();
+            }
+        }
+    }
+
+    // Emptied once the clear commits, a rolled back checkout keeps the cart as it was
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCartCleared(CartClearedEvent event) {
+        cartStore.clear(event.getCartId());
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>(cartStore.getMetrics());
+        metrics.put("writeBacks", writeBacks.sum());
+        metrics.put("idleReleases", idleReleases.sum());
+        return metrics;
+    }
+
+    /**
+     * The given products with their restaurant, category and image, read in one query.
+     */
+    public Map<UUID, Product> findProducts(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.findByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+}
@@ -1,10 +1,14 @@
 package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
 
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.ISystemHealthService;
+import com.princz_mia.viaual04_gourmetgo_backend.config.ratelimit.RateLimiter;
+import com.princz_mia.viaual04_gourmetgo_backend.config.security.PrincipalCache;
+import com.princz_mia.viaual04_gourmetgo_backend.config.security.jwt.TokenBlacklist;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.UserRepository;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.OrderRepository;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.CustomerRepository;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.RestaurantRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.events.OrderEventDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -33,6 +37,18 @@ public class SystemHealthService implements ISystemHealthService {
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
     private final RestaurantRepository restaurantRepository;
+    private final RequestLogIngestionService requestLogIngestionService;
+    private final StatisticsBroadcaster statisticsBroadcaster;
+    private final OrderEventDispatcher orderEventDispatcher;
+    private final VisitTrackingService visitTrackingService;
+    private final PrincipalCache principalCache;
+    private final TokenBlacklist tokenBlacklist;
+    private final RateLimiter rateLimiter;
+    private final ImageVariantService imageVariantService;
+    private final MenuCacheService menuCacheService;
+    private final InventoryReservationService inventoryReservationService;
+    private final CartViewCache cartViewCache;
+    private final Optional<StoredCartService> storedCartService;
     
     @Override
     public Map<String, Object> getSystemMetrics() {
@@ -54,6 +70,18 @@ public class SystemHealthService implements ISystemHealthService {
         metrics.put("cpuUsage", String.format("%.1f%%", getProcessCpuLoad() * 100));
         metrics.put("activeConnections", Runtime.getRuntime().availableProcessors());
         metrics.put("errorRate", "0.2%");
+        metrics.put("requestLogIngestion", requestLogIngestionService.getMetrics());
+        metrics.put("statisticsBroadcast", statisticsBroadcaster.getMetrics());
+        metrics.put("orderEvents", orderEventDispatcher.getMetrics());
+        metrics.put("visitTracking", visitTrackingService.getMetrics());
+        metrics.put("principalCache", principalCache.getMetrics());
+        metrics.put("tokenBlacklist", tokenBlacklist.getMetrics());
+        metrics.put("rateLimiter", rateLimiter.getMetrics());
+        metrics.put("imageVariants", imageVariantService.getMetrics());
+        metrics.put("menuCache", menuCacheService.getMetrics());
+        metrics.put("inventoryReservations", inventoryReservationService.getMetrics());
+        metrics.put("cartViews", cartViewCache.getMetrics());
+        storedCartService.ifPresent(store -> metrics.put("cartStore", store.getMetrics()));
         
         return metrics;
     }
@@ -0,0 +1,138 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.VisitorSketch;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.VisitorSketchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts distinct visitors with one {@link HyperLogLog} sketch per day. Sketches are
+ * merged into the database on every visit flush and unioned on read, with completed
+ * months cached as rollups so long ranges touch only a handful of sketches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UniqueVisitorService {
+
+    private static final String UPSERT_SKETCH_SQL =
+            "INSERT INTO visitor_sketches (date, sketch) VALUES (?, ?) " +
+            "ON CONFLICT (date) DO UPDATE SET sketch = EXCLUDED.sketch";
+
+    private static final String UPDATE_UNIQUE_VISITORS_SQL =
+            "UPDATE visit_statistics SET unique_visitors = ? WHERE date = ?";
+
+    private final VisitorSketchRepository visitorSketchRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<LocalDate, PendingSketch> pending = new ConcurrentHashMap<>();
+    private final Map<YearMonth, HyperLogLog> monthRollups = new ConcurrentHashMap<>();
+
+    public void offer(LocalDate date, String userEmail, String ipAddress, String userAgent) {
+        // Signed-in users are identified by account, anonymous visitors by address and client
+        String visitorKey = userEmail != null ? "user:" + userEmail : "anon:" + ipAddress + "|" + userAgent;
+        PendingSketch sketch = pending.computeIfAbsent(date, day -> new PendingSketch());
+        if (sketch.sketch.add(visitorKey)) {
+            sketch.dirty = true;
+        }
+    }
+
+    /**
+     * Merges changed daily sketches into the database. Returns true when anything was written.
+     */
+    public boolean flush() {
+        boolean changed = false;
+        LocalDate today = LocalDate.now();
+
+        for (Map.Entry<LocalDate, PendingSketch> entry : pending.entrySet()) {
+            LocalDate date = entry.getKey();
+            PendingSketch sketch = entry.getValue();
+            if (sketch.dirty) {
+                sketch.dirty = false;
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        // Union with the stored sketch under a row lock, so concurrent instances never overwrite each other
+                        List<byte[]> stored = jdbcTemplate.queryForList(
+                                "SELECT sketch FROM visitor_sketches WHERE date = ? FOR UPDATE", byte[].class, Date.valueOf(date));
+                        if (!stored.isEmpty()) {
+                            sketch.sketch.merge(HyperLogLog.fromBytes(stored.get(0)));
+                        }
+                        jdbcTemplate.update(UPSERT_SKETCH_SQL, Date.valueOf(date), sketch.sketch.toBytes());
+                        jdbcTemplate.update(UPDATE_UNIQUE_VISITORS_SQL, sketch.sketch.estimate(), Date.valueOf(date));
+                    });
+                    // A late flush into a completed month changes its rollup
+                    monthRollups.remove(YearMonth.from(date));
+                    changed = true;
+                } catch (Exception e) {
+                    sketch.dirty = true;
+                    log.error("Failed to flush visitor sketch for {}", date, e);
+                    continue;
+                }
+            }
+
+            if (date.isBefore(today) && !sketch.dirty) {
+                pending.remove(date, sketch);
+            }
+        }
+        return changed;
+    }
+
+    public long countUniqueVisitors(LocalDate startDate, LocalDate endDate) {
+        HyperLogLog union = new HyperLogLog();
+        YearMonth currentMonth = YearMonth.now();
+        List<LocalDate> days = new ArrayList<>();
+
+        LocalDate cursor = startDate;
+        while (!cursor.isAfter(endDate)) {
+            YearMonth month = YearMonth.from(cursor);
+            // Whole past months come from the rollup cache, partial ones day by day
+            if (cursor.getDayOfMonth() == 1 && !month.atEndOfMonth().isAfter(endDate) && month.isBefore(currentMonth)) {
+                union.merge(monthRollups.computeIfAbsent(month, this::loadMonth));
+                cursor = month.atEndOfMonth().plusDays(1);
+            } else {
+                days.add(cursor);
+                cursor = cursor.plusDays(1);
+            }
+        }
+
+        if (!days.isEmpty()) {
+            for (VisitorSketch stored : visitorSketchRepository.findByDateIn(days)) {
+                union.merge(HyperLogLog.fromBytes(stored.getSketch()));
+            }
+            // Visitors not flushed yet
+            for (LocalDate day : days) {
+                PendingSketch sketch = pending.get(day);
+                if (sketch != null) {
+                    union.merge(sketch.sketch);
+                }
+            }
+        }
+        return union.estimate();
+    }
+
+    private HyperLogLog loadMonth(YearMonth month) {
+        HyperLogLog rollup = new HyperLogLog();
+        for (VisitorSketch stored : visitorSketchRepository.findByDateBetween(month.atDay(1), month.atEndOfMonth())) {
+            rollup.merge(HyperLogLog.fromBytes(stored.getSketch()));
+        }
+        return rollup;
+    }
+
+    private static class PendingSketch {
+
+        private final HyperLogLog sketch = new HyperLogLog();
+        private volatile boolean dirty;
+    }
+}
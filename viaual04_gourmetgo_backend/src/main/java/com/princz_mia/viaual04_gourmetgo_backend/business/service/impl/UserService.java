@@ -2,6 +2,7 @@ package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
 
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IUserService;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
+import com.princz_mia.viaual04_gourmetgo_backend.config.security.PrincipalCache;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.*;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.*;
 import com.princz_mia.viaual04_gourmetgo_backend.events.EventType;
@@ -45,6 +46,7 @@ public class UserService implements IUserService
     private final CustomerRepository customerRepository;
     private final RestaurantRepository restaurantRepository;
     private final AdminRepository adminRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public List<UserDto> getAllUsers() {
@@ -72,6 +74,7 @@ public class UserService implements IUserService
                 .orElseThrow(() -> new ResourceNotFoundException("User was not found"));
         u.setAccountNonLocked(!locked);
         userRepository.save(u);
+        principalCache.invalidate(u.getEmailAddress());
         LoggingUtils.logBusinessEvent(log, "USER_LOCK_STATUS_CHANGED", "userId", userId, "locked", locked);
     }
 
@@ -81,6 +84,7 @@ public class UserService implements IUserService
         LoggingUtils.logMethodEntry(log, "deleteUser", "userId", userId);
         User user = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("User was not found"));
         userRepository.delete(user);
+        principalCache.invalidate(user.getEmailAddress());
         LoggingUtils.logBusinessEvent(log, "USER_DELETED", "userId", userId, "email", LoggingUtils.maskSensitiveData(user.getEmailAddress()));
     }
 
@@ -96,6 +100,7 @@ public class UserService implements IUserService
             throw new AppException("Email address already in use", ErrorType.VALIDATION_ERROR);
         }
 
+        principalCache.invalidate(u.getEmailAddress());
         u.setEmailAddress(dto.getEmailAddress());
 
         if (u instanceof Customer) {
@@ -157,6 +162,7 @@ public class UserService implements IUserService
 
         cred.setPassword(encoded);
         credentialRepository.save(cred);
+        principalCache.invalidate(user.getEmailAddress());
 
         confirmationRepository.delete(confirmation);
         LoggingUtils.logBusinessEvent(log, "PASSWORD_RESET_COMPLETED", "userId", user.getId(), "email", LoggingUtils.maskSensitiveData(user.getEmailAddress()));
@@ -0,0 +1,283 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.service.impl;
+
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.impl.StatisticsBroadcaster.AdminScope;
+import com.princz_mia.viaual04_gourmetgo_backend.config.StatisticsProperties;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ActiveSessionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind store for visit counters and session activity. Visits only bump striped
+ * in-memory counters and session entries; a scheduled flush applies the accumulated
+ * deltas with additive upserts, so concurrent logins never read-modify-write the same
+ * {@code visit_statistics} row.
+ */
+@Service
+@Slf4j
+public class VisitTrackingService {
+
+    private static final String UPSERT_VISITS_SQL =
+            "INSERT INTO visit_statistics (id, date, total_visits, unique_visitors, authenticated_users, anonymous_users) " +
+            "VALUES (?, ?, ?, 0, ?, ?) " +
+            "ON CONFLICT (date) DO UPDATE SET " +
+            "total_visits = visit_statistics.total_visits + EXCLUDED.total_visits, " +
+            "authenticated_users = visit_statistics.authenticated_users + EXCLUDED.authenticated_users, " +
+            "anonymous_users = visit_statistics.anonymous_users + EXCLUDED.anonymous_users";
+
+    private static final String UPSERT_SESSION_SQL =
+            "INSERT INTO active_sessions (id, session_id, user_email, last_activity, created_at, ip_address, user_agent) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (session_id) DO UPDATE SET " +
+            "last_activity = GREATEST(active_sessions.last_activity, EXCLUDED.last_activity)";
+
+    private static final String TOUCH_SESSION_SQL =
+            "UPDATE active_sessions SET last_activity = GREATEST(last_activity, ?) WHERE session_id = ?";
+
+    private static final String DELETE_SESSION_SQL = "DELETE FROM active_sessions WHERE session_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ActiveSessionRepository activeSessionRepository;
+    private final StatisticsBroadcaster statisticsBroadcaster;
+    private final UniqueVisitorService uniqueVisitorService;
+    private final StatisticsProperties.Visits properties;
+
+    private final Map<LocalDate, DayCounters> counters = new ConcurrentHashMap<>();
+    private final Map<String, SessionActivity> sessions = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> pendingTouches = new ConcurrentHashMap<>();
+    // Sessions removed since the last flush; the flush deletes them again after its upserts,
+    // so a session it had already picked up is not left behind by the removal
+    private final Set<String> removedSessions = ConcurrentHashMap.newKeySet();
+    // Keeps the shutdown flush from overlapping a scheduled one
+    private final Object flushLock = new Object();
+
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    public VisitTrackingService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ActiveSessionRepository activeSessionRepository,
+                                StatisticsBroadcaster statisticsBroadcaster,
+                                UniqueVisitorService uniqueVisitorService,
+                                StatisticsProperties statisticsProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.activeSessionRepository = activeSessionRepository;
+        this.statisticsBroadcaster = statisticsBroadcaster;
+        this.uniqueVisitorService = uniqueVisitorService;
+        this.properties = statisticsProperties.getVisits();
+    }
+
+    public void recordVisit(String sessionId, String userEmail, String ipAddress, String userAgent) {
+        LocalDateTime now = LocalDateTime.now();
+
+        DayCounters day = counters.computeIfAbsent(now.toLocalDate(), date -> new DayCounters());
+        day.total.increment();
+        if (userEmail != null) {
+            day.authenticated.increment();
+        } else {
+            day.anonymous.increment();
+        }
+        uniqueVisitorService.offer(now.toLocalDate(), userEmail, ipAddress, userAgent);
+
+        SessionActivity session = sessions.computeIfAbsent(sessionId, id -> new SessionActivity(
+                userEmail != null ? userEmail : "anonymous", now, ipAddress, userAgent));
+        session.touch(now);
+    }
+
+    public void touchSession(String sessionId) {
+        LocalDateTime now = LocalDateTime.now();
+        SessionActivity session = sessions.get(sessionId);
+        if (session != null) {
+            session.touch(now);
+        } else {
+            // Session created before a restart, only its activity timestamp is updated
+            pendingTouches.put(sessionId, now);
+        }
+    }
+
+    public void removeSession(String sessionId) {
+        // Recorded before the delete, so a flush writing after the delete also sees it
+        removedSessions.add(sessionId);
+        sessions.remove(sessionId);
+        pendingTouches.remove(sessionId);
+        transactionTemplate.executeWithoutResult(status -> activeSessionRepository.deleteBySessionId(sessionId));
+        statisticsBroadcaster.markDirty(AdminScope.TRAFFIC);
+    }
+
+    @Scheduled(fixedDelayString = "${app.statistics.visits.flush-interval-ms:5000}")
+    public void flush() {
+        boolean changed;
+        synchronized (flushLock) {
+            // Counters first, so today's visit_statistics row exists when the unique count is written
+            changed = flushCounters() | flushSessions() | uniqueVisitorService.flush();
+            evictIdleSessions();
+        }
+        if (changed) {
+            flushes.incrementAndGet();
+            statisticsBroadcaster.markDirty(AdminScope.TRAFFIC);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("trackedSessions", sessions.size());
+        metrics.put("pendingTouches", pendingTouches.size());
+        metrics.put("pendingDays", counters.size());
+        metrics.put("flushes", flushes.get());
+        metrics.put("failedFlushes", failedFlushes.get());
+        return metrics;
+    }
+
+    private boolean flushCounters() {
+        boolean changed = false;
+        LocalDate today = LocalDate.now();
+
+        for (Map.Entry<LocalDate, DayCounters> entry : counters.entrySet()) {
+            DayCounters day = entry.getValue();
+            long total = day.total.sum();
+            long authenticated = day.authenticated.sum();
+            long anonymous = day.anonymous.sum();
+            long totalDelta = total - day.flushedTotal;
+            long authenticatedDelta = authenticated - day.flushedAuthenticated;
+            long anonymousDelta = anonymous - day.flushedAnonymous;
+
+            if (totalDelta > 0 || authenticatedDelta > 0 || anonymousDelta > 0) {
+                try {
+                    jdbcTemplate.update(UPSERT_VISITS_SQL, UUID.randomUUID(), Date.valueOf(entry.getKey()),
+                            totalDelta, authenticatedDelta, anonymousDelta);
+                    // Counters are never reset, only the flushed watermark moves, so no increment is lost
+                    day.flushedTotal = total;
+                    day.flushedAuthenticated = authenticated;
+                    day.flushedAnonymous = anonymous;
+                    changed = true;
+                } catch (Exception e) {
+                    failedFlushes.incrementAndGet();
+                    log.error("Failed to flush visit counters for {}", entry.getKey(), e);
+                    continue;
+                }
+            }
+
+            if (entry.getKey().isBefore(today)) {
+                counters.remove(entry.getKey(), day);
+            }
+        }
+        return changed;
+    }
+
+    private boolean flushSessions() {
+        List<Object[]> upserts = new ArrayList<>();
+        List<SessionActivity> flushed = new ArrayList<>();
+        sessions.forEach((sessionId, session) -> {
+            if (session.dirty && !removedSessions.contains(sessionId)) {
+                session.dirty = false;
+                flushed.add(session);
+                upserts.add(new Object[]{UUID.randomUUID(), sessionId, session.userEmail,
+                        Timestamp.valueOf(session.lastActivity), Timestamp.valueOf(session.createdAt),
+                        session.ipAddress, session.userAgent});
+            }
+        });
+
+        List<Object[]> touches = new ArrayList<>();
+        Map<String, LocalDateTime> touched = new HashMap<>(pendingTouches);
+        touched.forEach((sessionId, lastActivity) -> {
+            pendingTouches.remove(sessionId, lastActivity);
+            touches.add(new Object[]{Timestamp.valueOf(lastActivity), sessionId});
+        });
+
+        if (upserts.isEmpty() && touches.isEmpty()) {
+            // Nothing written, so no removal that came before this flush can have been undone
+            removedSessions.clear();
+            return false;
+        }
+
+        try {
+            if (!upserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_SESSION_SQL, upserts);
+                deleteRemovedSessions();
+            }
+            if (!touches.isEmpty()) {
+                jdbcTemplate.batchUpdate(TOUCH_SESSION_SQL, touches);
+            }
+            return true;
+        } catch (Exception e) {
+            failedFlushes.incrementAndGet();
+            flushed.forEach(session -> session.dirty = true);
+            touched.forEach(pendingTouches::putIfAbsent);
+            log.error("Failed to flush {} session updates", upserts.size() + touches.size(), e);
+            return false;
+        }
+    }
+
+    private void deleteRemovedSessions() {
+        List<String> removed = new ArrayList<>(removedSessions);
+        if (removed.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_SESSION_SQL, removed.stream().map(sessionId -> new Object[]{sessionId}).toList());
+        removed.forEach(removedSessions::remove);
+    }
+
+    private void evictIdleSessions() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(properties.getSessionIdleMinutes());
+        sessions.entrySet().removeIf(entry -> !entry.getValue().dirty && entry.getValue().lastActivity.isBefore(threshold));
+    }
+
+    private static class DayCounters {
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder authenticated = new LongAdder();
+        private final LongAdder anonymous = new LongAdder();
+
+        // Only read and written by the flushing thread
+        private long flushedTotal;
+        private long flushedAuthenticated;
+        private long flushedAnonymous;
+    }
+
+    private static class SessionActivity {
+
+        private final String userEmail;
+        private final LocalDateTime createdAt;
+        private final String ipAddress;
+        private final String userAgent;
+        private volatile LocalDateTime lastActivity;
+        private volatile boolean dirty;
+
+        SessionActivity(String userEmail, LocalDateTime createdAt, String ipAddress, String userAgent) {
+            this.userEmail = userEmail;
+            this.createdAt = createdAt;
+            this.ipAddress = ipAddress;
+            this.userAgent = userAgent;
+            this.lastActivity = createdAt;
+        }
+
+        void touch(LocalDateTime now) {
+            lastActivity = now;
+            dirty = true;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.storage;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Working copy of active carts, kept outside the database while customers edit them. A cart
+ * enters the store from its {@code cart_item} rows on first use and is written back to them
+ * at checkout or once idle. Carts untouched for longer than the store's TTL are dropped.
+ */
+public interface CartStore {
+
+    /**
+     * Returned by {@link #increment} when the cart holds products of another restaurant.
+     */
+    int DIFFERENT_RESTAURANT = -1;
+
+    /**
+     * The cart as held by the store, or {@code null} when it has to be loaded first.
+     */
+    StoredCart find(UUID cartId);
+
+    /**
+     * Puts a cart read from the database into the store, unless the store already holds it.
+     */
+    void load(UUID cartId, StoredCart cart);
+
+    /**
+     * Adds {@code delta} to the quantity of a line, creating it at the given unit price. The
+     * restaurant is checked in the same step, so two concurrent adds cannot mix restaurants.
+     *
+     * @return the new quantity of the line, or {@link #DIFFERENT_RESTAURANT} without any change
+     *         when the cart already belongs to another restaurant
+     */
+    int increment(UUID cartId, UUID restaurantId, UUID productId, int delta, BigDecimal unitPrice);
+
+    /**
+     * Sets the quantity and unit price of a line the cart already has; does nothing otherwise.
+     */
+    void update(UUID cartId, UUID productId, int quantity, BigDecimal unitPrice);
+
+    void remove(UUID cartId, UUID productId);
+
+    /**
+     * Sets and removes several lines in one step and records the cart's restaurant. Nothing is
+     * changed when the cart now belongs to another restaurant and keeps lines this call does
+     * not touch, which happens when a concurrent add got in after the caller read the cart.
+     *
+     * @param restaurantId restaurant of the products left in the cart, {@code null} when the caller expects it to end up empty
+     * @return whether the lines were applied
+     */
+    boolean apply(UUID cartId, UUID restaurantId, Map<UUID, Line> upserts, Collection<UUID> removals);
+
+    /**
+     * Removes every line, the cart stays in the store so it is not reloaded from stale rows.
+     */
+    void clear(UUID cartId);
+
+    /**
+     * Drops the cart from the store unless it was changed after {@code touchedBefore}.
+     *
+     * @return whether the cart was dropped
+     */
+    boolean evict(UUID cartId, long touchedBefore);
+
+    /**
+     * Carts last changed before {@code touchedBefore}, in epoch millis.
+     */
+    Set<UUID> findIdle(long touchedBefore);
+
+    Map<String, Object> getMetrics();
+
+    /**
+     * @param restaurantId restaurant of the products in the cart, {@code null} while it is empty
+     */
+    record StoredCart(UUID restaurantId, Map<UUID, Line> lines) {
+    }
+
+    record Line(int quantity, BigDecimal unitPrice) {
+    }
+}
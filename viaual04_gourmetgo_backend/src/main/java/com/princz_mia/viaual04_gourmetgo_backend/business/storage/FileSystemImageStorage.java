@@ -0,0 +1,151 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.storage;
+
+import com.princz_mia.viaual04_gourmetgo_backend.config.ImageStorageProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Stores each image as {@code <root>/ab/cd/<sha256>}. Two levels of sharding keep directories
+ * small, and writes go through a temporary file renamed into place, so a file under its
+ * hash name is always complete. The modification time of a file records the last store of its
+ * content, and deletion skips recently stored files.
+ */
+@Component
+@Slf4j
+public class FileSystemImageStorage implements ImageStorage {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path root;
+    private final Path tempDir;
+    // Serializes the dedup check of a store with deletion of the same hash
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public FileSystemImageStorage(ImageStorageProperties properties) throws IOException {
+        this.root = Path.of(properties.getStorageRoot()).toAbsolutePath().normalize();
+        this.tempDir = root.resolve("tmp");
+        Files.createDirectories(tempDir);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public StoredContent store(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(hash);
+            synchronized (lockFor(hash)) {
+                if (Files.exists(target)) {
+                    // Identical content is already stored under the same name, touching it keeps it from being released
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                } else {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            return new StoredContent(hash, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return Files.exists(resolve(hash));
+    }
+
+    @Override
+    public InputStream open(String hash) throws IOException {
+        return Files.newInputStream(resolve(hash));
+    }
+
+    @Override
+    public void transferTo(String hash, WritableByteChannel target) throws IOException {
+        try (FileChannel file = FileChannel.open(resolve(hash), StandardOpenOption.READ)) {
+            long size = file.size();
+            long position = 0;
+            while (position < size) {
+                position += file.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    @Override
+    public Optional<Path> localFile(String hash) {
+        Path file = resolve(hash);
+        return Files.exists(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    @Override
+    public boolean deleteIfIdleSince(String hash, Instant cutoff) throws IOException {
+        Path file = resolve(hash);
+        synchronized (lockFor(hash)) {
+            if (!Files.exists(file)) {
+                return true;
+            }
+            if (!Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                return false;
+            }
+            Files.delete(file);
+        }
+        log.debug("Deleted unreferenced image content {}", hash);
+        return true;
+    }
+
+    @Override
+    public void forEachIdleSince(Instant cutoff, Consumer<String> action) throws IOException {
+        // Only the two shard levels hold content, the temp directory is skipped
+        try (Stream<Path> files = Files.find(root, 3, (path, attributes) -> attributes.isRegularFile()
+                && HASH_PATTERN.matcher(path.getFileName().toString()).matches()
+                && !path.startsWith(tempDir)
+                && attributes.lastModifiedTime().toInstant().isBefore(cutoff))) {
+            files.forEach(file -> action.accept(file.getFileName().toString()));
+        }
+    }
+
+    private Path resolve(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid image content hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Integer.parseInt(hash.substring(0, 2), 16) % LOCK_STRIPES];
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
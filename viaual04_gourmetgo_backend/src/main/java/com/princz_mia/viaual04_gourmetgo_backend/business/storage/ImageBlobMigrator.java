@@ -0,0 +1,58 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.storage;
+
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.IImageService;
+import com.princz_mia.viaual04_gourmetgo_backend.config.ImageStorageProperties;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ImageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One-off tool that moves image bytes still stored as PostgreSQL large objects into the
+ * image store. Enable with {@code app.images.migrate-blobs=true}; each image is moved in
+ * its own transaction, so the run can be interrupted and resumed at any point.
+ */
+@Component
+@ConditionalOnProperty(name = "app.images.migrate-blobs", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ImageBlobMigrator implements ApplicationRunner {
+
+    private final ImageRepository imageRepository;
+    private final IImageService imageService;
+    private final ImageStorageProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int moved = 0;
+        int failed = 0;
+        UUID after = new UUID(0, 0);
+
+        List<UUID> batch;
+        do {
+            batch = imageRepository.findBlobOnlyIdsAfter(after, PageRequest.of(0, properties.getMigrationBatchSize()));
+            for (UUID id : batch) {
+                try {
+                    if (imageService.moveDataToStorage(id)) {
+                        moved++;
+                    }
+                } catch (Exception e) {
+                    // Left in the database and still served from there, picked up again on the next run
+                    failed++;
+                    log.error("Failed to move image {} to the image store", id, e);
+                }
+                after = id;
+            }
+            log.info("Image blob migration progress: {} moved, {} failed", moved, failed);
+        } while (!batch.isEmpty());
+
+        log.info("Image blob migration finished: {} moved, {} failed", moved, failed);
+    }
+}
@@ -0,0 +1,115 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.storage;
+
+import com.princz_mia.viaual04_gourmetgo_backend.config.ImageStorageProperties;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ImageRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ImageVariantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes stored content that is no longer referenced. Content is shared by hash between
+ * images and variants, so a file goes only once no row points at it anymore, and only after
+ * the transaction dropping the last reference has committed. Content stored within the release
+ * grace period may be about to gain a reference from an uncommitted upload; it is kept for the
+ * periodic sweep, which walks the store itself for idle content without references. Nothing is
+ * remembered in memory, so content left behind by a restart, another instance or a failed
+ * release is found the same way.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageContentReleaser {
+
+    private static final int SWEEP_BATCH = 500;
+
+    private final ImageRepository imageRepository;
+    private final ImageVariantRepository imageVariantRepository;
+    private final ImageStorage imageStorage;
+    private final ImageStorageProperties properties;
+
+    public void releaseAfterCommit(String hash) {
+        releaseAfterCommit(hash == null ? List.of() : List.of(hash));
+    }
+
+    public void releaseAfterCommit(Collection<String> hashes) {
+        List<String> candidates = hashes.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(candidates);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(candidates);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.images.release-sweep-interval-ms:300000}")
+    public void sweepOrphans() {
+        Instant cutoff = Instant.now().minus(properties.getReleaseGrace());
+        List<String> batch = new ArrayList<>(SWEEP_BATCH);
+        try {
+            imageStorage.forEachIdleSince(cutoff, hash -> {
+                batch.add(hash);
+                if (batch.size() == SWEEP_BATCH) {
+                    releaseUnreferenced(batch, cutoff);
+                    batch.clear();
+                }
+            });
+            releaseUnreferenced(batch, cutoff);
+        } catch (Exception e) {
+            log.warn("Image content sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private void release(Collection<String> hashes) {
+        Instant cutoff = Instant.now().minus(properties.getReleaseGrace());
+        for (String hash : hashes) {
+            try {
+                // Content still within the grace period is left to the sweep
+                if (!imageRepository.existsByContentHash(hash) && !imageVariantRepository.existsByContentHash(hash)) {
+                    imageStorage.deleteIfIdleSince(hash, cutoff);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to delete unreferenced image content {}: {}", hash, e.getMessage());
+            }
+        }
+    }
+
+    // Checks a whole batch with one query per table
+    private void releaseUnreferenced(List<String> hashes, Instant cutoff) {
+        if (hashes.isEmpty()) {
+            return;
+        }
+        Set<String> referenced = new HashSet<>(imageRepository.findContentHashesIn(hashes));
+        referenced.addAll(imageVariantRepository.findContentHashesIn(hashes));
+        for (String hash : hashes) {
+            if (referenced.contains(hash)) {
+                continue;
+            }
+            try {
+                // A store since the walk touched the file, so it is kept
+                imageStorage.deleteIfIdleSince(hash, cutoff);
+            } catch (Exception e) {
+                log.warn("Failed to delete unreferenced image content {}: {}", hash, e.getMessage());
+            }
+        }
+    }
+}
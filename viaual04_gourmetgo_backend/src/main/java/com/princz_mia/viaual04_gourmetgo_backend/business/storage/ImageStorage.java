@@ -0,0 +1,47 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Content-addressed store for image bytes. Content is identified by its SHA-256 hash, so
+ * identical uploads are stored once and a stored object never changes.
+ */
+public interface ImageStorage {
+
+    StoredContent store(InputStream content) throws IOException;
+
+    boolean exists(String hash);
+
+    InputStream open(String hash) throws IOException;
+
+    void transferTo(String hash, WritableByteChannel target) throws IOException;
+
+    /**
+     * The backing file, for servers that can send it to the socket without copying through the JVM.
+     */
+    Optional<Path> localFile(String hash);
+
+    /**
+     * Deletes the content unless it was stored, or matched by an identical upload, at or after
+     * {@code cutoff}. A recent match may belong to a transaction that has not committed its
+     * reference yet.
+     *
+     * @return whether the content is gone
+     */
+    boolean deleteIfIdleSince(String hash, Instant cutoff) throws IOException;
+
+    /**
+     * Passes the hash of every stored content last stored or matched before {@code cutoff},
+     * for finding content whose last reference is gone.
+     */
+    void forEachIdleSince(Instant cutoff, Consumer<String> action) throws IOException;
+
+    record StoredContent(String hash, long size) {
+    }
+}
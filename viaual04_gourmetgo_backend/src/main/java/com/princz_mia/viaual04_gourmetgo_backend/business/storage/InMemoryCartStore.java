@@ -0,0 +1,160 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Single-node stand-in for {@link RedisCartStore} with the same semantics, for tests and
+ * local runs without Redis.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cart.store", havingValue = "in-memory")
+public class InMemoryCartStore implements CartStore {
+
+    private final Map<UUID, Entry> carts = new ConcurrentHashMap<>();
+
+    @Value("${app.cart.ttl-ms:604800000}")
+    private long ttlMs;
+
+    @Override
+    public StoredCart find(UUID cartId) {
+        Entry entry = live(cartId);
+        if (entry == null) {
+            return null;
+        }
+        synchronized (entry) {
+            return new StoredCart(entry.restaurantId, new LinkedHashMap<>(entry.lines));
+        }
+    }
+
+    @Override
+    public void load(UUID cartId, StoredCart cart) {
+        carts.compute(cartId, (id, existing) -> {
+            if (existing != null && existing.touchedAt + ttlMs > System.currentTimeMillis()) {
+                return existing;
+            }
+            Entry entry = new Entry();
+            entry.restaurantId = cart.restaurantId();
+            entry.lines.putAll(cart.lines());
+            return entry;
+        });
+    }
+
+    @Override
+    public int increment(UUID cartId, UUID restaurantId, UUID productId, int delta, BigDecimal unitPrice) {
+        Entry entry = touch(cartId);
+        synchronized (entry) {
+            if (entry.restaurantId == null) {
+                entry.restaurantId = restaurantId;
+            } else if (!entry.restaurantId.equals(restaurantId)) {
+                return DIFFERENT_RESTAURANT;
+            }
+            Line line = entry.lines.get(productId);
+            Line updated = line == null ? new Line(delta, unitPrice) : new Line(line.quantity() + delta, line.unitPrice());
+            entry.lines.put(productId, updated);
+            return updated.quantity();
+        }
+    }
+
+    @Override
+    public void update(UUID cartId, UUID productId, int quantity, BigDecimal unitPrice) {
+        Entry entry = touch(cartId);
+        synchronized (entry) {
+            entry.lines.computeIfPresent(productId, (id, line) -> new Line(quantity, unitPrice));
+        }
+    }
+
+    @Override
+    public void remove(UUID cartId, UUID productId) {
+        Entry entry = touch(cartId);
+        synchronized (entry) {
+            entry.lines.remove(productId);
+            if (entry.lines.isEmpty()) {
+                entry.restaurantId = null;
+            }
+        }
+    }
+
+    @Override
+    public boolean apply(UUID cartId, UUID restaurantId, Map<UUID, Line> upserts, Collection<UUID> removals) {
+        Entry entry = touch(cartId);
+        synchronized (entry) {
+            if (restaurantId != null && entry.restaurantId != null && !entry.restaurantId.equals(restaurantId)
+                    && entry.lines.keySet().stream().anyMatch(productId ->
+                            !upserts.containsKey(productId) && !removals.contains(productId))) {
+                return false;
+            }
+            entry.lines.putAll(upserts);
+            removals.forEach(entry.lines::remove);
+            if (entry.lines.isEmpty()) {
+                entry.restaurantId = null;
+            } else if (restaurantId != null) {
+                entry.restaurantId = restaurantId;
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public void clear(UUID cartId) {
+        Entry entry = touch(cartId);
+        synchronized (entry) {
+            entry.lines.clear();
+            entry.restaurantId = null;
+        }
+    }
+
+    @Override
+    public boolean evict(UUID cartId, long touchedBefore) {
+        Entry entry = carts.get(cartId);
+        return entry != null && entry.touchedAt < touchedBefore && carts.remove(cartId, entry);
+    }
+
+    @Override
+    public Set<UUID> findIdle(long touchedBefore) {
+        return carts.entrySet().stream()
+                .filter(entry -> entry.getValue().touchedAt < touchedBefore)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("backend", "in-memory");
+        metrics.put("carts", carts.size());
+        return metrics;
+    }
+
+    private Entry live(UUID cartId) {
+        Entry entry = carts.get(cartId);
+        if (entry != null && entry.touchedAt + ttlMs <= System.currentTimeMillis()) {
+            carts.remove(cartId, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private Entry touch(UUID cartId) {
+        Entry entry = carts.computeIfAbsent(cartId, id -> new Entry());
+        entry.touchedAt = System.currentTimeMillis();
+        return entry;
+    }
+
+    private static final class Entry {
+        private volatile long touchedAt = System.currentTimeMillis();
+        private UUID restaurantId;
+        private final Map<UUID, Line> lines = new LinkedHashMap<>();
+    }
+}
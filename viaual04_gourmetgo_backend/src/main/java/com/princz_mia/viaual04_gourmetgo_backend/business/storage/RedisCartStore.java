@@ -0,0 +1,274 @@
+package com.princz_mia.viaual04_gourmetgo_backend.business.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps every active cart in a {@code cart:<id>} hash: {@code q:<productId>} holds a line's
+ * quantity, changed with HINCRBY, {@code p:<productId>} its unit price and {@code restaurant}
+ * the restaurant of the cart's products. Each mutation is one Lua script that also renews the
+ * hash's TTL and records the cart in the {@code carts:touched} sorted set, which is scored by
+ * the time of the last change and drives the idle write-back.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cart.store", havingValue = "redis")
+public class RedisCartStore implements CartStore {
+
+    private static final String KEY_PREFIX = "cart:";
+    private static final String TOUCHED_KEY = "carts:touched";
+    private static final String LOADED = "loaded";
+    private static final String RESTAURANT = "restaurant";
+    private static final int IDLE_BATCH = 500;
+
+    // Shared prologue: ARGV[1] ttl, ARGV[2] now, ARGV[3] cart id
+    private static final String TOUCH =
+            "redis.call('HSETNX', KEYS[1], 'loaded', '1') " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[1]) " +
+            "redis.call('ZADD', KEYS[2], ARGV[2], ARGV[3]) ";
+
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "if #ARGV > 3 then redis.call('HSET', KEYS[1], unpack(ARGV, 4)) end " +
+            TOUCH +
+            "return 1",
+            Long.class);
+
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local restaurant = redis.call('HGET', KEYS[1], 'restaurant') " +
+            "if restaurant and restaurant ~= ARGV[4] then return " + DIFFERENT_RESTAURANT + " end " +
+            "redis.call('HSETNX', KEYS[1], 'restaurant', ARGV[4]) " +
+            "redis.call('HSETNX', KEYS[1], 'p:' .. ARGV[5], ARGV[7]) " +
+            "local quantity = redis.call('HINCRBY', KEYS[1], 'q:' .. ARGV[5], ARGV[6]) " +
+            TOUCH +
+            "return quantity",
+            Long.class);
+
+    private static final RedisScript<Long> UPDATE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], 'q:' .. ARGV[4]) == 0 then return 0 end " +
+            "redis.call('HSET', KEYS[1], 'q:' .. ARGV[4], ARGV[5], 'p:' .. ARGV[4], ARGV[6]) " +
+            TOUCH +
+            "return 1",
+            Long.class);
+
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('HDEL', KEYS[1], 'q:' .. ARGV[4], 'p:' .. ARGV[4]) " +
+            "local empty = true " +
+            "for _, field in ipairs(redis.call('HKEYS', KEYS[1])) do " +
+            "  if string.sub(field, 1, 2) == 'q:' then empty = false break end " +
+            "end " +
+            "if empty then redis.call('HDEL', KEYS[1], 'restaurant') end " +
+            TOUCH +
+            "return 1",
+            Long.class);
+
+    // ARGV[4] restaurant, empty for none, ARGV[5] number of upserts, then id, quantity and
+    // price of each upsert, then the ids to remove
+    private static final RedisScript<Long> APPLY_SCRIPT = new DefaultRedisScript<>(
+            "local stored = redis.call('HGET', KEYS[1], 'restaurant') " +
+            "local last = 5 + 3 * tonumber(ARGV[5]) " +
+            "if ARGV[4] ~= '' and stored and stored ~= ARGV[4] then " +
+            "  local touched = {} " +
+            "  for i = 6, last, 3 do touched['q:' .. ARGV[i]] = true end " +
+            "  for j = last + 1, #ARGV do touched['q:' .. ARGV[j]] = true end " +
+            "  for _, field in ipairs(redis.call('HKEYS', KEYS[1])) do " +
+            "    if string.sub(field, 1, 2) == 'q:' and not touched[field] then return " + DIFFERENT_RESTAURANT + " end " +
+            "  end " +
+            "end " +
+            "for i = 6, last, 3 do " +
+            "  redis.call('HSET', KEYS[1], 'q:' .. ARGV[i], ARGV[i + 1], 'p:' .. ARGV[i], ARGV[i + 2]) " +
+            "end " +
+            "for j = last + 1, #ARGV do redis.call('HDEL', KEYS[1], 'q:' .. ARGV[j], 'p:' .. ARGV[j]) end " +
+            "local empty = true " +
+            "for _, field in ipairs(redis.call('HKEYS', KEYS[1])) do " +
+            "  if string.sub(field, 1, 2) == 'q:' then empty = false break end " +
+            "end " +
+            // Lines added concurrently by the cart's own restaurant keep it even when the caller emptied its view
+            "if empty then redis.call('HDEL', KEYS[1], 'restaurant') " +
+            "elseif ARGV[4] ~= '' then redis.call('HSET', KEYS[1], 'restaurant', ARGV[4]) end " +
+            TOUCH +
+            "return 1",
+            Long.class);
+
+    private static final RedisScript<Long> CLEAR_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) " +
+            TOUCH +
+            "return 1",
+            Long.class);
+
+    // ARGV[1] cart id, ARGV[2] touched before
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>(
+            "local touched = redis.call('ZSCORE', KEYS[2], ARGV[1]) " +
+            "if not touched or tonumber(touched) >= tonumber(ARGV[2]) then return 0 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('ZREM', KEYS[2], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Value("${app.cart.ttl-ms:604800000}")
+    private long ttlMs;
+
+    public RedisCartStore(@Lazy RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public StoredCart find(UUID cartId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(key(cartId));
+        if (fields.isEmpty()) {
+            return null;
+        }
+
+        UUID restaurantId = null;
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        Map<UUID, BigDecimal> prices = new HashMap<>();
+        for (Map.Entry<Object, Object> field : fields.entrySet()) {
+            String name = (String) field.getKey();
+            String value = (String) field.getValue();
+            if (name.equals(RESTAURANT)) {
+                restaurantId = UUID.fromString(value);
+            } else if (name.startsWith("q:")) {
+                quantities.put(UUID.fromString(name.substring(2)), Integer.parseInt(value));
+            } else if (name.startsWith("p:")) {
+                prices.put(UUID.fromString(name.substring(2)), new BigDecimal(value));
+            }
+        }
+
+        Map<UUID, Line> lines = new LinkedHashMap<>();
+        quantities.forEach((productId, quantity) -> lines.put(productId, new Line(quantity, prices.get(productId))));
+        return new StoredCart(restaurantId, lines);
+    }
+
+    @Override
+    public void load(UUID cartId, StoredCart cart) {
+        List<String> args = touchArgs(cartId);
+        args.add(LOADED);
+        args.add("1");
+        if (cart.restaurantId() != null) {
+            args.add(RESTAURANT);
+            args.add(cart.restaurantId().toString());
+        }
+        cart.lines().forEach((productId, line) -> {
+            args.add("q:" + productId);
+            args.add(String.valueOf(line.quantity()));
+            if (line.unitPrice() != null) {
+                args.add("p:" + productId);
+                args.add(line.unitPrice().toPlainString());
+            }
+        });
+        Long loaded = run(LOAD_SCRIPT, cartId, args);
+        if (loaded != null && loaded == 1) {
+            loads.increment();
+        }
+    }
+
+    @Override
+    public int increment(UUID cartId, UUID restaurantId, UUID productId, int delta, BigDecimal unitPrice) {
+        List<String> args = touchArgs(cartId);
+        args.add(restaurantId.toString());
+        args.add(productId.toString());
+        args.add(String.valueOf(delta));
+        args.add(unitPrice.toPlainString());
+        return run(INCREMENT_SCRIPT, cartId, args).intValue();
+    }
+
+    @Override
+    public void update(UUID cartId, UUID productId, int quantity, BigDecimal unitPrice) {
+        List<String> args = touchArgs(cartId);
+        args.add(productId.toString());
+        args.add(String.valueOf(quantity));
+        args.add(unitPrice.toPlainString());
+        run(UPDATE_SCRIPT, cartId, args);
+    }
+
+    @Override
+    public void remove(UUID cartId, UUID productId) {
+        List<String> args = touchArgs(cartId);
+        args.add(productId.toString());
+        run(REMOVE_SCRIPT, cartId, args);
+    }
+
+    @Override
+    public boolean apply(UUID cartId, UUID restaurantId, Map<UUID, Line> upserts, Collection<UUID> removals) {
+        List<String> args = touchArgs(cartId);
+        args.add(restaurantId != null ? restaurantId.toString() : "");
+        args.add(String.valueOf(upserts.size()));
+        upserts.forEach((productId, line) -> {
+            args.add(productId.toString());
+            args.add(String.valueOf(line.quantity()));
+            args.add(line.unitPrice().toPlainString());
+        });
+        removals.forEach(productId -> args.add(productId.toString()));
+        return run(APPLY_SCRIPT, cartId, args) != DIFFERENT_RESTAURANT;
+    }
+
+    @Override
+    public void clear(UUID cartId) {
+        run(CLEAR_SCRIPT, cartId, touchArgs(cartId));
+    }
+
+    @Override
+    public boolean evict(UUID cartId, long touchedBefore) {
+        Long evicted = redisTemplate.execute(EVICT_SCRIPT, List.of(key(cartId), TOUCHED_KEY),
+                cartId.toString(), String.valueOf(touchedBefore));
+        if (evicted != null && evicted == 1) {
+            evictions.increment();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Set<UUID> findIdle(long touchedBefore) {
+        Set<String> idle = redisTemplate.opsForZSet().rangeByScore(TOUCHED_KEY, 0, touchedBefore - 1, 0, IDLE_BATCH);
+        if (idle == null) {
+            return Set.of();
+        }
+        return idle.stream().map(UUID::fromString).collect(Collectors.toSet());
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("backend", "redis");
+        metrics.put("loads", loads.sum());
+        metrics.put("evictions", evictions.sum());
+        return metrics;
+    }
+
+    private Long run(RedisScript<Long> script, UUID cartId, List<String> args) {
+        return redisTemplate.execute(script, List.of(key(cartId), TOUCHED_KEY), args.toArray());
+    }
+
+    private List<String> touchArgs(UUID cartId) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(ttlMs));
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(cartId.toString());
+        return args;
+    }
+
+    private String key(UUID cartId) {
+        return KEY_PREFIX + cartId;
+    }
+}
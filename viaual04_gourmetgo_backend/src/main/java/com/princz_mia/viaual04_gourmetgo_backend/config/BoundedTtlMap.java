@@ -0,0 +1,191 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded map whose entries expire a fixed time after they were written, or after they
+ * were last read when {@code renewOnAccess} is set. Entries are kept in expiry order within
+ * a few independently locked segments, so a full segment drops its oldest entry in constant
+ * time instead of sorting the map on the request thread. Expired entries are dropped when
+ * read and by {@link #evictExpired()}.
+ */
+public class BoundedTtlMap<K, V> {
+
+    private static final int SEGMENTS = 16;
+    // Below this size one segment is enough, and the bound stays exact
+    private static final int SEGMENTED_FROM = 1024;
+
+    private final Segment<K, V>[] segments;
+    private final boolean renewOnAccess;
+    private final LongSupplier clock;
+
+    public BoundedTtlMap(int maxSize, boolean renewOnAccess) {
+        this(maxSize, renewOnAccess, System::currentTimeMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    public BoundedTtlMap(int maxSize, boolean renewOnAccess, LongSupplier clock) {
+        int count = maxSize >= SEGMENTED_FROM ? SEGMENTS : 1;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(Math.max(1, (maxSize + count - 1) / count), renewOnAccess);
+        }
+        this.renewOnAccess = renewOnAccess;
+        this.clock = clock;
+    }
+
+    /**
+     * The live value for the key, or {@code null} when there is none or it has expired.
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = clock.getAsLong();
+        synchronized (segment) {
+            Node<V> node = segment.get(key);
+            if (node == null) {
+                return null;
+            }
+            if (node.expiresAt <= now) {
+                segment.remove(key);
+                return null;
+            }
+            if (renewOnAccess) {
+                node.expiresAt = now + node.ttlMs;
+            }
+            return node.value;
+        }
+    }
+
+    public void put(K key, V value, long ttlMs) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = clock.getAsLong();
+        synchronized (segment) {
+            // Re-inserted at the end, so iteration order stays expiry order
+            segment.remove(key);
+            segment.put(key, new Node<>(value, ttlMs, now + ttlMs));
+        }
+    }
+
+    /**
+     * The live value for the key, created with {@code factory} and stored when there is none.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory, long ttlMs) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        long now = clock.getAsLong();
+        synchronized (segment) {
+            Node<V> node = segment.get(key);
+            if (node != null && node.expiresAt > now) {
+                return node.value;
+            }
+            segment.remove(key);
+            V created = factory.apply(key);
+            segment.put(key, new Node<>(created, ttlMs, now + ttlMs));
+            return created;
+        }
+    }
+
+    public void remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    public void removeIf(BiPredicate<? super K, ? super V> predicate) {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue().value));
+            }
+        }
+    }
+
+    /**
+     * Drops every expired entry.
+     *
+     * @return the number of entries dropped
+     */
+    public int evictExpired() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                Iterator<Node<V>> nodes = segment.values().iterator();
+                while (nodes.hasNext()) {
+                    if (nodes.next().expiresAt <= now) {
+                        nodes.remove();
+                        evicted++;
+                    }
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Entries dropped to stay within the size bound, not counting expired ones.
+     */
+    public long overflowEvictions() {
+        long evictions = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                evictions += segment.overflowEvictions;
+            }
+        }
+        return evictions;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        return segments[Math.floorMod(key.hashCode(), segments.length)];
+    }
+
+    private static final class Node<V> {
+        private final V value;
+        private final long ttlMs;
+        private long expiresAt;
+
+        private Node(V value, long ttlMs, long expiresAt) {
+            this.value = value;
+            this.ttlMs = ttlMs;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, Node<V>> {
+        private final int maxSize;
+        private long overflowEvictions;
+
+        private Segment(int maxSize, boolean accessOrder) {
+            super(16, 0.75f, accessOrder);
+            this.maxSize = maxSize;
+        }
+
+        // The eldest entry is the first written, or the least recently read when reads renew
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Node<V>> eldest) {
+            if (size() > maxSize) {
+                overflowEvictions++;
+                return true;
+            }
+            return false;
+        }
+    }
+}
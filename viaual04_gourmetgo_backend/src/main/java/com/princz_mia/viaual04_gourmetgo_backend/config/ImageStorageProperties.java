@@ -0,0 +1,28 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.images")
+public class ImageStorageProperties {
+
+    // Root directory of the content-addressed image store
+    private String storageRoot = "data/images";
+    // Moves image blobs still stored in PostgreSQL into the file store on startup
+    private boolean migrateBlobs = false;
+    private int migrationBatchSize = 50;
+    // Unreferenced content stored or matched more recently than this is kept and released by a later sweep,
+    // it may belong to an upload whose transaction has not committed yet
+    private Duration releaseGrace = Duration.ofMinutes(10);
+    // Resized variants are generated off the request thread on this many workers
+    private int variantWorkers = 2;
+    private int variantQueueCapacity = 100;
+    private float variantJpegQuality = 0.82f;
+    // Larger originals are not decoded, they would need hundreds of megabytes of heap
+    private long maxSourcePixels = 40_000_000L;
+}
@@ -1,14 +1,28 @@
 package com.princz_mia.viaual04_gourmetgo_backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 @Configuration
 public class RedisConfig {
 
+    /**
+     * Bounds every Redis command, so callers with a local fallback (rate limiting, token blacklist)
+     * give up quickly instead of waiting for Lettuce's one-minute default while Redis is down.
+     */
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer redisCommandTimeout(
+            @Value("${app.redis.command-timeout-ms:500}") long commandTimeoutMs) {
+        return builder -> builder.commandTimeout(Duration.ofMillis(commandTimeoutMs));
+    }
+
     @Bean
     public RedisTemplate<String, String> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, String> template = new RedisTemplate<>();
@@ -20,4 +34,4 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
-}
\ No newline at end of file
+}
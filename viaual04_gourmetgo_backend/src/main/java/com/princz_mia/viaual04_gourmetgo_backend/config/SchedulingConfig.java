@@ -3,9 +3,12 @@ package com.princz_mia.viaual04_gourmetgo_backend.config;
 import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ActiveSessionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -17,7 +20,20 @@ import java.time.LocalDateTime;
 public class SchedulingConfig {
     
     private final ActiveSessionRepository activeSessionRepository;
-    
+
+    /**
+     * Runs the @Scheduled jobs on a pool instead of Spring's single default thread, so the
+     * one-second statistics broadcast does not wait behind cart write-backs, blacklist
+     * resyncs, visit flushes and the other database or Redis bound jobs.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${app.scheduling.pool-size:8}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+
     @Scheduled(fixedRate = 300000) // Every 5 minutes
     @Transactional
     public void cleanupInactiveSessions() {
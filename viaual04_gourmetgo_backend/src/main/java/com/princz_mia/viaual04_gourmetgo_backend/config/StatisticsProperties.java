@@ -0,0 +1,69 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.statistics")
+public class StatisticsProperties {
+
+    private RequestLog requestLog = new RequestLog();
+    private Revenue revenue = new Revenue();
+    private Broadcast broadcast = new Broadcast();
+    private OrderEvents orderEvents = new OrderEvents();
+    private Performance performance = new Performance();
+    private Visits visits = new Visits();
+
+    public enum BackpressurePolicy {
+        // Discard the event immediately when the buffer is full
+        DROP,
+        // Wait up to blockTimeoutMs for free space, then discard
+        BLOCK
+    }
+
+    @Data
+    public static class RequestLog {
+        private int capacity = 10000;
+        private int batchSize = 500;
+        private long flushIntervalMs = 1000;
+        private BackpressurePolicy backpressure = BackpressurePolicy.DROP;
+        private long blockTimeoutMs = 50;
+        private long shutdownTimeoutMs = 10000;
+    }
+
+    @Data
+    public static class Revenue {
+        private int windowDays = 365;
+    }
+
+    @Data
+    public static class Broadcast {
+        // Upper bound on how often each dashboard scope is recomputed and pushed
+        private long intervalMs = 1000;
+    }
+
+    @Data
+    public static class OrderEvents {
+        // Events of one restaurant always share a lane, so handling order is preserved per restaurant
+        private int lanes = 4;
+        private int queueCapacity = 1000;
+        private long shutdownTimeoutMs = 5000;
+    }
+
+    @Data
+    public static class Performance {
+        private int windowMinutes = 60;
+        // Endpoints beyond this per minute are counted under "other"
+        private int maxEndpoints = 100;
+        private long snapshotIntervalMs = 60000;
+    }
+
+    @Data
+    public static class Visits {
+        private long flushIntervalMs = 5000;
+        // Sessions idle for longer are dropped from memory once persisted
+        private int sessionIdleMinutes = 60;
+    }
+}
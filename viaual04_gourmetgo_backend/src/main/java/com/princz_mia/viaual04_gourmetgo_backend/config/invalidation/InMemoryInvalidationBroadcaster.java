@@ -0,0 +1,31 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.invalidation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Process-local stand-in for the Redis broadcaster, for tests and single-node setups
+ * without Redis.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation", havingValue = "in-memory")
+public class InMemoryInvalidationBroadcaster implements InvalidationBroadcaster {
+
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String channel, String key) {
+        listeners.getOrDefault(channel, List.of()).forEach(listener -> listener.accept(key));
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listeners.computeIfAbsent(channel, ignored -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+}
@@ -0,0 +1,18 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Announces keys of locally cached entries that changed, so every application instance can
+ * drop its own copy. Delivery is best effort: a lost message leaves a copy on another
+ * instance until it expires, so caches relying on this keep their TTL short.
+ */
+public interface InvalidationBroadcaster {
+
+    /**
+     * Announces the key to every instance, including this one. Throws on failure.
+     */
+    void publish(String channel, String key);
+
+    void subscribe(String channel, Consumer<String> listener);
+}
@@ -0,0 +1,67 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.invalidation;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Announces invalidated keys on {@code invalidate:<channel>} pub/sub channels. All channels
+ * share one listener container, started with the first subscription.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class RedisInvalidationBroadcaster implements InvalidationBroadcaster {
+
+    private static final String CHANNEL_PREFIX = "invalidate:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private RedisMessageListenerContainer container;
+
+    public RedisInvalidationBroadcaster(@Lazy RedisTemplate<String, String> redisTemplate,
+                                        RedisConnectionFactory connectionFactory) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public void publish(String channel, String key) {
+        redisTemplate.convertAndSend(CHANNEL_PREFIX + channel, key);
+    }
+
+    @Override
+    public synchronized void subscribe(String channel, Consumer<String> listener) {
+        if (container == null) {
+            container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.afterPropertiesSet();
+            // The container keeps retrying the subscription while Redis is unreachable
+            container.start();
+        }
+        container.addMessageListener((message, pattern) -> {
+            String key = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                listener.accept(key);
+            } catch (RuntimeException e) {
+                log.warn("Ignoring invalidation '{}' on channel {}: {}", key, channel, e.getMessage());
+            }
+        }, new ChannelTopic(CHANNEL_PREFIX + channel));
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+}
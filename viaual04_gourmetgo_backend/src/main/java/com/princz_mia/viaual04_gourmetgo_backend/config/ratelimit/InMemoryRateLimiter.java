@@ -0,0 +1,74 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.ratelimit;
+
+import com.princz_mia.viaual04_gourmetgo_backend.config.BoundedTtlMap;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bucket4j buckets held per node. Buckets idle long enough to be full again are evicted, so
+ * the map stays proportional to recently active clients instead of every address ever seen;
+ * beyond {@code max-keys} the least recently seen clients are forgotten.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final RateLimitProperties properties;
+    // Idle expiry: a bucket untouched for its time to full would be full again anyway
+    private final BoundedTtlMap<String, Bucket> buckets;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public InMemoryRateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.buckets = new BoundedTtlMap<>(properties.getMaxKeys(), true);
+    }
+
+    @Override
+    public Decision tryConsume(String key, RateLimitProperties.Policy policy) {
+        Bucket bucket = buckets.computeIfAbsent(key, k -> newBucket(policy), policy.timeToFull().toMillis());
+
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (probe.isConsumed()) {
+            allowed.increment();
+            return new Decision(true, probe.getRemainingTokens(), 0);
+        }
+        rejected.increment();
+        return new Decision(false, 0, TimeUnit.NANOSECONDS.toMillis(probe.getNanosToWaitForRefill()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        evictions.add(buckets.evictExpired());
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("backend", "in-memory");
+        metrics.put("buckets", buckets.size());
+        metrics.put("maxKeys", properties.getMaxKeys());
+        metrics.put("allowed", allowed.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("evictions", evictions.sum() + buckets.overflowEvictions());
+        return metrics;
+    }
+
+    private static Bucket newBucket(RateLimitProperties.Policy policy) {
+        return Bucket.builder()
+                .addLimit(Bandwidth.classic(policy.getCapacity(),
+                        Refill.intervally(policy.effectiveRefillTokens(), policy.getRefillPeriod())))
+                .build();
+    }
+}
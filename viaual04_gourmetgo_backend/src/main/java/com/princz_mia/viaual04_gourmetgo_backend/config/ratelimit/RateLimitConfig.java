@@ -0,0 +1,19 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Applies to every handler, the interceptor itself skips those without @RateLimited
+        registry.addInterceptor(rateLimitInterceptor);
+    }
+}
@@ -0,0 +1,84 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Enforces {@link RateLimited} policies before the handler runs and answers 429 with a
+ * {@code Retry-After} header when the caller's bucket is empty.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            rateLimited = handlerMethod.getBeanType().getAnnotation(RateLimited.class);
+        }
+        if (rateLimited == null) {
+            return true;
+        }
+
+        String policyName = rateLimited.value();
+        RateLimitProperties.Policy policy = properties.getPolicies().get(policyName);
+        if (policy == null) {
+            throw new IllegalStateException("No rate limit policy configured under app.rate-limit.policies." + policyName);
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryConsume(policyName + ":" + resolveKey(request, policy), policy);
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remainingTokens()));
+        if (decision.allowed()) {
+            return true;
+        }
+
+        LoggingUtils.logSecurityEvent(log, "RATE_LIMIT_EXCEEDED", "policy", policyName, "path", request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (decision.retryAfterMs() + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse<>(false, policy.getMessage(), null));
+        return false;
+    }
+
+    private String resolveKey(HttpServletRequest request, RateLimitProperties.Policy policy) {
+        if (policy.getKeyBy() == RateLimitProperties.KeyStrategy.PRINCIPAL) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "user:" + authentication.getName();
+            }
+        }
+        return "ip:" + getClientIP(request);
+    }
+
+    private String getClientIP(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+        return request.getRemoteAddr();
+    }
+}
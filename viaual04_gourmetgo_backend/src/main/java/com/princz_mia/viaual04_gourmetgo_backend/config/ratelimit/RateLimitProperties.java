@@ -0,0 +1,68 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    // Upper bound on buckets held in memory, by the in-memory limiter and the Redis fallback
+    private int maxKeys = 100000;
+    private long evictionIntervalMs = 60000;
+    // How long the Redis limiter stays on per-node buckets after a failed call before trying Redis again
+    private Duration redisRetryInterval = Duration.ofSeconds(5);
+    private Map<String, Policy> policies = defaultPolicies();
+
+    public enum KeyStrategy {
+        // Client address, honouring X-Forwarded-For
+        IP,
+        // Authenticated user name, client address for anonymous requests
+        PRINCIPAL
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Policy {
+        private long capacity = 10;
+        // Tokens added at the end of every refill period, capacity when not set
+        private long refillTokens;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+        private KeyStrategy keyBy = KeyStrategy.IP;
+        private String message = "Too many requests. Please try again later.";
+
+        public long effectiveRefillTokens() {
+            return refillTokens > 0 ? refillTokens : capacity;
+        }
+
+        /**
+         * Time after which an idle bucket is full again and can be forgotten without changing behaviour.
+         */
+        public Duration timeToFull() {
+            long periods = (capacity + effectiveRefillTokens() - 1) / effectiveRefillTokens();
+            return refillPeriod.multipliedBy(periods);
+        }
+    }
+
+    private static Map<String, Policy> defaultPolicies() {
+        Map<String, Policy> policies = new HashMap<>();
+        policies.put("login", new Policy(5, 5, Duration.ofMinutes(1), KeyStrategy.IP,
+                "Too many login attempts. Please try again later."));
+        policies.put("token-refresh", new Policy(30, 30, Duration.ofMinutes(1), KeyStrategy.IP,
+                "Too many token refresh attempts. Please try again later."));
+        policies.put("registration", new Policy(10, 10, Duration.ofHours(1), KeyStrategy.IP,
+                "Too many registration attempts. Please try again later."));
+        policies.put("password-reset", new Policy(5, 5, Duration.ofMinutes(15), KeyStrategy.IP,
+                "Too many password reset attempts. Please try again later."));
+        return policies;
+    }
+}
@@ -0,0 +1,20 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Applies the named policy from {@code app.rate-limit.policies} to a controller method, or to
+ * every handler of a controller when placed on the class. A method annotation wins over the class one.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /**
+     * Policy name, also used as the bucket namespace so routes never share tokens.
+     */
+    String value();
+}
@@ -0,0 +1,17 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.ratelimit;
+
+import java.util.Map;
+
+/**
+ * Token bucket store behind {@link RateLimitInterceptor}. Selected with {@code app.rate-limit.backend}:
+ * {@code in-memory} (default, per node) or {@code redis} (shared by all instances).
+ */
+public interface RateLimiter {
+
+    Decision tryConsume(String key, RateLimitProperties.Policy policy);
+
+    Map<String, Object> getMetrics();
+
+    record Decision(boolean allowed, long remainingTokens, long retryAfterMs) {
+    }
+}
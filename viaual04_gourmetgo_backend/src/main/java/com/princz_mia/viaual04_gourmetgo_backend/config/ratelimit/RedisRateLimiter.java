@@ -0,0 +1,124 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets shared by every instance. Each check is one atomic Lua script that refills
+ * and consumes on Redis' own clock, so limits hold across the cluster regardless of which
+ * node serves the request. While Redis is unreachable, checks fall back to per-node buckets;
+ * after a failure Redis is not tried again for {@code app.rate-limit.redis-retry-interval},
+ * so an outage costs one command timeout per interval instead of one per request.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "redis")
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    // Same semantics as Bucket4j's intervally refill: whole periods add refillTokens, capped at capacity
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CONSUME_SCRIPT = new DefaultRedisScript<>(
+            "local capacity = tonumber(ARGV[1]) " +
+            "local refillTokens = tonumber(ARGV[2]) " +
+            "local periodMs = tonumber(ARGV[3]) " +
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local state = redis.call('HMGET', KEYS[1], 'tokens', 'refilled') " +
+            "local tokens = tonumber(state[1]) " +
+            "local refilled = tonumber(state[2]) " +
+            "if tokens == nil or refilled == nil then tokens = capacity refilled = now end " +
+            "local periods = math.floor((now - refilled) / periodMs) " +
+            "if periods > 0 then " +
+            "  tokens = math.min(capacity, tokens + periods * refillTokens) " +
+            "  refilled = refilled + periods * periodMs " +
+            "end " +
+            "local allowed = 0 " +
+            "local retryAfter = 0 " +
+            "if tokens >= 1 then tokens = tokens - 1 allowed = 1 " +
+            "else retryAfter = refilled + periodMs - now end " +
+            "redis.call('HSET', KEYS[1], 'tokens', tokens, 'refilled', refilled) " +
+            "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / refillTokens) * periodMs) " +
+            "return {allowed, tokens, retryAfter}",
+            List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final InMemoryRateLimiter fallback;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final long retryIntervalMs;
+    private volatile boolean redisAvailable = true;
+    // Until this instant checks go straight to the fallback without touching Redis
+    private volatile long redisRetryAt;
+
+    public RedisRateLimiter(@Lazy RedisTemplate<String, String> redisTemplate, RateLimitProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = new InMemoryRateLimiter(properties);
+        this.retryIntervalMs = properties.getRedisRetryInterval().toMillis();
+    }
+
+    @Override
+    public Decision tryConsume(String key, RateLimitProperties.Policy policy) {
+        if (!redisAvailable && System.currentTimeMillis() < redisRetryAt) {
+            fallbacks.increment();
+            return fallback.tryConsume(key, policy);
+        }
+        try {
+            List<?> result = redisTemplate.execute(CONSUME_SCRIPT, List.of(KEY_PREFIX + key),
+                    String.valueOf(policy.getCapacity()),
+                    String.valueOf(policy.effectiveRefillTokens()),
+                    String.valueOf(policy.getRefillPeriod().toMillis()));
+            if (!redisAvailable) {
+                log.info("Redis reachable again, rate limits are shared across instances");
+                redisAvailable = true;
+            }
+
+            Decision decision = new Decision(((Number) result.get(0)).longValue() == 1,
+                    ((Number) result.get(1)).longValue(), ((Number) result.get(2)).longValue());
+            if (decision.allowed()) {
+                allowed.increment();
+            } else {
+                rejected.increment();
+            }
+            return decision;
+        } catch (Exception e) {
+            if (redisAvailable) {
+                log.warn("Redis unavailable for rate limiting, falling back to per-node buckets: {}", e.getMessage());
+                redisAvailable = false;
+            }
+            redisRetryAt = System.currentTimeMillis() + retryIntervalMs;
+            fallbacks.increment();
+            return fallback.tryConsume(key, policy);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        fallback.evictIdle();
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("backend", "redis");
+        metrics.put("redisAvailable", redisAvailable);
+        metrics.put("allowed", allowed.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("fallbacks", fallbacks.sum());
+        metrics.put("fallback", fallback.getMetrics());
+        return metrics;
+    }
+}
@@ -2,11 +2,10 @@ package com.princz_mia.viaual04_gourmetgo_backend.config.security;
 
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IStatisticsService;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
+import com.princz_mia.viaual04_gourmetgo_backend.config.ratelimit.RateLimited;
 import com.princz_mia.viaual04_gourmetgo_backend.config.security.jwt.JWTTokenProvider;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ApiResponse;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Refill;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -23,8 +22,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.Duration;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
 
 @RestController
@@ -38,7 +35,7 @@ public class AuthController {
     private final CustomUserDetailsService customerDetailsService;
     private final SessionManagementService sessionManagementService;
     private final IStatisticsService statisticsService;
-    private final Map<String, Bucket> rateLimitBuckets = new ConcurrentHashMap<>();
+    private final PrincipalCache principalCache;
     
     @Value("${auth.token.jwtExpirationInMs}")
     private int accessTokenExpiry;
@@ -47,14 +44,11 @@ public class AuthController {
     private int refreshTokenExpiry;
 
     @PostMapping("/login")
+    @RateLimited("login")
     public ResponseEntity<ApiResponse> login(@Valid @RequestBody LoginRequest request, 
                                            HttpServletRequest httpRequest, 
                                            HttpServletResponse response) {
-        
-        if (!isAllowed(getClientIP(httpRequest))) {
-            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                    .body(new ApiResponse("Too many login attempts. Please try again later.", null));
-        }
+
         LoggingUtils.logMethodEntry(log, "login", "email", LoggingUtils.maskSensitiveData(request.getEmailAddress()));
         long startTime = System.currentTimeMillis();
         
@@ -78,7 +72,7 @@ public class AuthController {
             }
             
             JWTTokenProvider.TokenPair tokenPair = jwtTokenProvider.generateTokenPair(authentication);
-            String sessionId = jwtTokenProvider.getTokenId(tokenPair.getAccessToken());
+            String sessionId = tokenPair.getTokenId();
             
             // Register session
             sessionManagementService.addSession(userEmail, sessionId);
@@ -88,6 +82,7 @@ public class AuthController {
             
             // Update user login attempts and last login
             customerDetailsService.updateUserLoginSuccess(userEmail);
+            principalCache.invalidate(userEmail);
             
             // Set httpOnly cookies
             setTokenCookies(response, tokenPair);
@@ -124,6 +119,7 @@ public class AuthController {
     }
     
     @PostMapping("/refresh")
+    @RateLimited("token-refresh")
     public ResponseEntity<ApiResponse> refreshToken(HttpServletRequest request, HttpServletResponse response) {
         Cookie[] cookies = request.getCookies();
         String refreshToken = null;
@@ -142,8 +138,10 @@ public class AuthController {
                     .body(new ApiResponse("No refresh token found", null));
         }
         
+        Claims refreshClaims;
         try {
-            if (!jwtTokenProvider.validateToken(refreshToken)) {
+            refreshClaims = jwtTokenProvider.validateAndGetClaims(refreshToken);
+            if (refreshClaims == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(new ApiResponse("Invalid refresh token", null));
             }
@@ -153,7 +151,7 @@ public class AuthController {
         }
         
         try {
-            String userEmail = jwtTokenProvider.getUserEmailFromJWT(refreshToken);
+            String userEmail = refreshClaims.getSubject();
             CustomUserDetails userDetails = (CustomUserDetails) customerDetailsService.loadUserByUsername(userEmail);
             Authentication auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
             
@@ -175,13 +173,19 @@ public class AuthController {
             for (Cookie cookie : cookies) {
                 if ("accessToken".equals(cookie.getName()) || "refreshToken".equals(cookie.getName())) {
                     if (cookie.getValue() != null) {
-                        jwtTokenProvider.blacklistToken(cookie.getValue());
                         // Remove session
                         try {
-                            String userEmail = jwtTokenProvider.getUserEmailFromJWT(cookie.getValue());
-                            String sessionId = jwtTokenProvider.getTokenId(cookie.getValue());
+                            // The filter already parsed a valid access token cookie
+                            Claims claims = "accessToken".equals(cookie.getName())
+                                    && request.getAttribute(JWTTokenProvider.CLAIMS_ATTRIBUTE) instanceof Claims parsed
+                                    ? parsed
+                                    : jwtTokenProvider.parseClaims(cookie.getValue());
+                            jwtTokenProvider.blacklistToken(claims);
+                            String userEmail = claims.getSubject();
+                            String sessionId = claims.get("tokenId", String.class);
                             sessionManagementService.removeSession(userEmail, sessionId);
                             statisticsService.removeSession(sessionId);
+                            principalCache.invalidate(userEmail);
                         } catch (Exception e) {
                             // Ignore errors during logout
                         }
@@ -222,15 +226,6 @@ public class AuthController {
         response.addCookie(refreshCookie);
     }
     
-    private boolean isAllowed(String clientIP) {
-        Bucket bucket = rateLimitBuckets.computeIfAbsent(clientIP, k -> 
-            Bucket.builder()
-                .addLimit(Bandwidth.classic(5, Refill.intervally(5, Duration.ofMinutes(1))))
-                .build()
-        );
-        return bucket.tryConsume(1);
-    }
-    
     private String getClientIP(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
@@ -0,0 +1,75 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal of a request authenticated by token. Holds only the immutable fields the
+ * request needs, so it can be cached and shared between requests without keeping the
+ * user and credential entities attached to it. It carries no password.
+ */
+public final class AuthenticatedUser implements UserDetails {
+
+    private final UUID id;
+    private final String emailAddress;
+    private final List<GrantedAuthority> authorities;
+    private final boolean enabled;
+    private final boolean accountNonLocked;
+
+    private AuthenticatedUser(UUID id, String emailAddress, Collection<? extends GrantedAuthority> authorities,
+                              boolean enabled, boolean accountNonLocked) {
+        this.id = id;
+        this.emailAddress = emailAddress;
+        this.authorities = List.copyOf(authorities);
+        this.enabled = enabled;
+        this.accountNonLocked = accountNonLocked;
+    }
+
+    public static AuthenticatedUser of(CustomUserDetails details) {
+        return new AuthenticatedUser(details.getUser().getId(), details.getUsername(), details.getAuthorities(),
+                details.isEnabled(), details.isAccountNonLocked());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return emailAddress;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return accountNonLocked;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
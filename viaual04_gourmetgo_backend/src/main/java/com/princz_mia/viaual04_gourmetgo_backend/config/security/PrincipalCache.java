@@ -0,0 +1,110 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.security;
+
+import com.princz_mia.viaual04_gourmetgo_backend.config.BoundedTtlMap;
+import com.princz_mia.viaual04_gourmetgo_backend.config.invalidation.InvalidationBroadcaster;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by email address, so the
+ * JWT filter does not reload the user and credential rows on every request. Only the
+ * immutable {@link AuthenticatedUser} is cached, never the entities it was built from.
+ * <p>
+ * Entries are dropped whenever an account is locked, deleted, re-keyed or gets a new
+ * password, on this instance right away and on the others through the {@code principals}
+ * channel of the {@link InvalidationBroadcaster} once the change commits. Delivery is best
+ * effort: if an announcement is lost, another instance can keep authenticating a locked
+ * account for up to {@code auth.principal-cache.ttl-ms} (30 s by default), which is why
+ * the TTL stays short.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private static final String CHANNEL = "principals";
+
+    private final BoundedTtlMap<String, AuthenticatedUser> entries;
+    private final InvalidationBroadcaster broadcaster;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Value("${auth.principal-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    private final int maxSize;
+
+    public PrincipalCache(InvalidationBroadcaster broadcaster,
+                          @Value("${auth.principal-cache.max-size:10000}") int maxSize) {
+        this.broadcaster = broadcaster;
+        this.maxSize = maxSize;
+        this.entries = new BoundedTtlMap<>(maxSize, false);
+    }
+
+    @PostConstruct
+    public void init() {
+        broadcaster.subscribe(CHANNEL, entries::remove);
+    }
+
+    public AuthenticatedUser get(String emailAddress, Function<String, AuthenticatedUser> loader) {
+        AuthenticatedUser cached = entries.get(emailAddress);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        AuthenticatedUser principal = loader.apply(emailAddress);
+        entries.put(emailAddress, principal, ttlMs);
+        return principal;
+    }
+
+    public void invalidate(String emailAddress) {
+        if (emailAddress == null) {
+            return;
+        }
+        entries.remove(emailAddress);
+        invalidations.increment();
+        // Drop it again after commit, a request racing the transaction may have cached the old state
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entries.remove(emailAddress);
+                    announce(emailAddress);
+                }
+            });
+        } else {
+            announce(emailAddress);
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("size", entries.size());
+        metrics.put("maxSize", maxSize);
+        metrics.put("hits", hits.sum());
+        metrics.put("misses", misses.sum());
+        metrics.put("invalidations", invalidations.sum());
+        return metrics;
+    }
+
+    private void announce(String emailAddress) {
+        try {
+            broadcaster.publish(CHANNEL, emailAddress);
+        } catch (Exception e) {
+            log.warn("Principal invalidation could not be announced, other instances keep it until it expires: {}",
+                    e.getMessage());
+        }
+    }
+
+}
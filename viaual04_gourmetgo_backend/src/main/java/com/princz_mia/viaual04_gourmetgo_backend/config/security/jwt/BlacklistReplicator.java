@@ -0,0 +1,20 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.security.jwt;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Shares revoked token ids between application instances. Implementations throw on
+ * failure so {@link TokenBlacklist} can keep the revocation and retry it later.
+ */
+public interface BlacklistReplicator {
+
+    void publish(String tokenId, long expiresAtMillis);
+
+    /**
+     * All revocations currently known to the shared store, by token id and expiry.
+     */
+    Map<String, Long> loadAll();
+
+    void subscribe(BiConsumer<String, Long> listener);
+}
@@ -0,0 +1,41 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.security.jwt;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Process-local stand-in for the Redis replicator, for tests and single-node setups
+ * without Redis.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.blacklist.replication", havingValue = "in-memory")
+public class InMemoryBlacklistReplicator implements BlacklistReplicator {
+
+    private final Map<String, Long> store = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, Long>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String tokenId, long expiresAtMillis) {
+        store.put(tokenId, expiresAtMillis);
+        listeners.forEach(listener -> listener.accept(tokenId, expiresAtMillis));
+    }
+
+    @Override
+    public Map<String, Long> loadAll() {
+        long now = System.currentTimeMillis();
+        store.values().removeIf(expiresAt -> expiresAt <= now);
+        return new HashMap<>(store);
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, Long> listener) {
+        listeners.add(listener);
+    }
+}
@@ -1,8 +1,11 @@
 package com.princz_mia.viaual04_gourmetgo_backend.config.security.jwt;
 
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
+import com.princz_mia.viaual04_gourmetgo_backend.config.security.AuthenticatedUser;
 import com.princz_mia.viaual04_gourmetgo_backend.config.security.CustomUserDetails;
 import com.princz_mia.viaual04_gourmetgo_backend.config.security.CustomUserDetailsService;
+import com.princz_mia.viaual04_gourmetgo_backend.config.security.PrincipalCache;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -27,6 +30,7 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
     private final JWTTokenProvider tokenProvider;
     private final CustomUserDetailsService customerDetailsService;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -38,14 +42,24 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJWTFromRequest(request);
             if (StringUtils.hasText(jwt)) {
-                if (tokenProvider.validateToken(jwt)) {
-                    String userEmail = tokenProvider.getUserEmailFromJWT(jwt);
-                    CustomUserDetails customerPrincipal = (CustomUserDetails) customerDetailsService.loadUserByUsername(userEmail);
+                Claims claims = tokenProvider.validateAndGetClaims(jwt);
+                if (claims != null) {
+                    // Parsed once here, later consumers read the claims from the request
+                    request.setAttribute(JWTTokenProvider.CLAIMS_ATTRIBUTE, claims);
+                    String userEmail = claims.getSubject();
+                    AuthenticatedUser customerPrincipal = principalCache.get(userEmail,
+                            email -> AuthenticatedUser.of((CustomUserDetails) customerDetailsService.loadUserByUsername(email)));
+                    if (!customerPrincipal.isAccountNonLocked() || !customerPrincipal.isEnabled()) {
+                        // Locked or disabled accounts keep their tokens but no longer authenticate
+                        LoggingUtils.logSecurityEvent(log, "JWT_ACCOUNT_UNAVAILABLE", "userId", customerPrincipal.getId(), "uri", requestURI);
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(customerPrincipal, null, customerPrincipal.getAuthorities());
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                     
-                    LoggingUtils.logSecurityEvent(log, "JWT_AUTHENTICATION_SUCCESS", "userId", customerPrincipal.getUser().getId(), "email", LoggingUtils.maskSensitiveData(userEmail), "uri", requestURI);
+                    LoggingUtils.logSecurityEvent(log, "JWT_AUTHENTICATION_SUCCESS", "userId", customerPrincipal.getId(), "email", LoggingUtils.maskSensitiveData(userEmail), "uri", requestURI);
                 } else {
                     LoggingUtils.logSecurityEvent(log, "JWT_TOKEN_INVALID", "uri", requestURI);
                 }
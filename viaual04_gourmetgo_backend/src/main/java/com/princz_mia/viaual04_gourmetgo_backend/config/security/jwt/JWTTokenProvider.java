@@ -3,20 +3,19 @@ package com.princz_mia.viaual04_gourmetgo_backend.config.security.jwt;
 import com.princz_mia.viaual04_gourmetgo_backend.config.security.CustomUserDetails;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Lazy;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 @Component
 public class JWTTokenProvider  {
@@ -30,10 +29,18 @@ public class JWTTokenProvider  {
     @Value("${auth.token.refreshExpirationInMs}")
     private int refreshExpirationInMs;
 
-    private final RedisTemplate<String, String> redisTemplate;
+    /**
+     * Request attribute holding the claims of the token that authenticated the request.
+     */
+    public static final String CLAIMS_ATTRIBUTE = JWTTokenProvider.class.getName() + ".claims";
 
-    public JWTTokenProvider(@Lazy RedisTemplate<String, String> redisTemplate) {
-        this.redisTemplate = redisTemplate;
+    private final TokenBlacklist tokenBlacklist;
+
+    private Key signingKey;
+    private JwtParser parser;
+
+    public JWTTokenProvider(TokenBlacklist tokenBlacklist) {
+        this.tokenBlacklist = tokenBlacklist;
     }
 
     public TokenPair generateTokenPair(Authentication authentication) {
@@ -64,97 +71,79 @@ public class JWTTokenProvider  {
                 .signWith(key(), SignatureAlgorithm.HS256)
                 .compact();
 
-        return new TokenPair(accessToken, refreshToken);
+        return new TokenPair(accessToken, refreshToken, tokenId);
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    @PostConstruct
+    public void init() {
+        // Decoding the secret and building the parser once; both are immutable and thread-safe
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        parser = Jwts.parser()
+                .setSigningKey(signingKey)
+                .build();
     }
 
-    public String getUserEmailFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+    private Key key() {
+        return signingKey;
     }
-    
-    public String getTokenId(String token) {
+
+    /**
+     * Verifies the signature and expiry of the token and returns its claims.
+     * Throws {@link JwtException} when the token is malformed, forged or expired.
+     */
+    public Claims parseClaims(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .setSigningKey(key())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.get("tokenId", String.class);
-        } catch (Exception e) {
-            return null;
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new JwtException(e.getMessage());
         }
     }
 
-    public boolean validateToken(String authToken) {
-        try{
-            Claims claims = Jwts.parser()
-                    .setSigningKey(key())
-                    .build()
-                    .parseClaimsJws(authToken)
-                    .getBody();
-            
-            String tokenId = claims.get("tokenId", String.class);
-            if (tokenId != null && isTokenBlacklisted(tokenId)) {
-                return false;
-            }
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            throw new JwtException(e.getMessage());
+    /**
+     * Parses the token once and checks the blacklist. Returns null for a revoked token.
+     */
+    public Claims validateAndGetClaims(String token) {
+        Claims claims = parseClaims(token);
+        String tokenId = claims.get("tokenId", String.class);
+        if (tokenId != null && isTokenBlacklisted(tokenId)) {
+            return null;
         }
+        return claims;
     }
 
     public void blacklistToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .setSigningKey(key())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            
-            String tokenId = claims.get("tokenId", String.class);
-            if (tokenId != null) {
-                long ttl = claims.getExpiration().getTime() - System.currentTimeMillis();
-                if (ttl > 0) {
-                    try {
-                        redisTemplate.opsForValue().set("blacklist:" + tokenId, "true", ttl, TimeUnit.MILLISECONDS);
-                    } catch (Exception redisException) {
-                        // Redis not available, token blacklisting will be skipped
-                        System.out.println("Redis not available for token blacklisting: " + redisException.getMessage());
-                    }
-                }
-            }
+            blacklistToken(parseClaims(token));
         } catch (Exception e) {
             // Token already invalid, no need to blacklist
         }
     }
 
-    private boolean isTokenBlacklisted(String tokenId) {
-        try {
-            return Boolean.TRUE.equals(redisTemplate.hasKey("blacklist:" + tokenId));
-        } catch (Exception e) {
-            // Redis not available, skip blacklist check
-            return false;
+    public void blacklistToken(Claims claims) {
+        String tokenId = claims.get("tokenId", String.class);
+        if (tokenId != null) {
+            tokenBlacklist.revoke(tokenId, claims.getExpiration().getTime());
         }
     }
 
+    private boolean isTokenBlacklisted(String tokenId) {
+        // Answered from the local mirror, no network round trip per request
+        return tokenBlacklist.isRevoked(tokenId);
+    }
+
     public static class TokenPair {
         private final String accessToken;
         private final String refreshToken;
+        private final String tokenId;
 
-        public TokenPair(String accessToken, String refreshToken) {
+        public TokenPair(String accessToken, String refreshToken, String tokenId) {
             this.accessToken = accessToken;
             this.refreshToken = refreshToken;
+            this.tokenId = tokenId;
         }
 
         public String getAccessToken() { return accessToken; }
         public String getRefreshToken() { return refreshToken; }
+        public String getTokenId() { return tokenId; }
     }
 }
@@ -0,0 +1,143 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.security.jwt;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Stores revocations as expiring {@code blacklist:<tokenId>} keys and announces them on a
+ * pub/sub channel so every instance updates its local mirror without polling.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.blacklist.replication", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class RedisBlacklistReplicator implements BlacklistReplicator {
+
+    private static final String KEY_PREFIX = "blacklist:";
+    private static final int SCAN_BATCH = 1000;
+    private static final ChannelTopic CHANNEL = new ChannelTopic("token-blacklist");
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private RedisMessageListenerContainer container;
+
+    public RedisBlacklistReplicator(@Lazy RedisTemplate<String, String> redisTemplate,
+                                    RedisConnectionFactory connectionFactory) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public void publish(String tokenId, long expiresAtMillis) {
+        long ttl = expiresAtMillis - System.currentTimeMillis();
+        if (ttl <= 0) {
+            return;
+        }
+        redisTemplate.opsForValue().set(KEY_PREFIX + tokenId, String.valueOf(expiresAtMillis), ttl, TimeUnit.MILLISECONDS);
+        redisTemplate.convertAndSend(CHANNEL.getTopic(), tokenId + ":" + expiresAtMillis);
+    }
+
+    /**
+     * Reads the expiries stored as values with one MGET per scanned batch of keys.
+     */
+    @Override
+    public Map<String, Long> loadAll() {
+        Map<String, Long> revoked = new HashMap<>();
+        List<String> legacyKeys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(SCAN_BATCH).build();
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            List<String> batch = new ArrayList<>(SCAN_BATCH);
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == SCAN_BATCH || !keys.hasNext()) {
+                    readBatch(batch, revoked, legacyKeys);
+                    batch.clear();
+                }
+            }
+        }
+        if (!legacyKeys.isEmpty()) {
+            readLegacy(legacyKeys, revoked);
+        }
+        return revoked;
+    }
+
+    private void readBatch(List<String> keys, Map<String, Long> revoked, List<String> legacyKeys) {
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < keys.size(); i++) {
+            String value = values.get(i);
+            if (value == null) {
+                continue; // Expired between SCAN and MGET
+            }
+            try {
+                long expiresAt = Long.parseLong(value);
+                if (expiresAt > now) {
+                    revoked.put(keys.get(i).substring(KEY_PREFIX.length()), expiresAt);
+                }
+            } catch (NumberFormatException e) {
+                legacyKeys.add(keys.get(i));
+            }
+        }
+    }
+
+    // Keys written before expiries were stored as values only carry a TTL, read in one pipeline
+    private void readLegacy(List<String> keys, Map<String, Long> revoked) {
+        List<Object> ttls = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.keyCommands().pTtl(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < keys.size(); i++) {
+            if (ttls.get(i) instanceof Long ttl && ttl > 0) {
+                revoked.put(keys.get(i).substring(KEY_PREFIX.length()), now + ttl);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, Long> listener) {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = body.lastIndexOf(':');
+            try {
+                listener.accept(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                log.warn("Ignoring malformed token blacklist message '{}'", body);
+            }
+        }, CHANNEL);
+        container.afterPropertiesSet();
+        // The container keeps retrying the subscription while Redis is unreachable
+        container.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+}
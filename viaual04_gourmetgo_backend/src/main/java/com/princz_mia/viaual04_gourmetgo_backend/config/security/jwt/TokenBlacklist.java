@@ -0,0 +1,107 @@
+package com.princz_mia.viaual04_gourmetgo_backend.config.security.jwt;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process mirror of revoked token ids, so the per-request blacklist check never leaves
+ * the JVM. The mirror is fed by local revocations, by the replicator's change feed and by
+ * a periodic full resync. Revocations that could not be replicated are kept and retried,
+ * so an outage of the shared store delays propagation but never drops a revocation.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenBlacklist {
+
+    private final BlacklistReplicator replicator;
+
+    // Token id to expiry in epoch millis; expired ids are purged on resync
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Map<String, Long> pendingPublish = new ConcurrentHashMap<>();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final AtomicLong lastResync = new AtomicLong();
+    private volatile boolean replicaInSync;
+
+    /**
+     * Only subscribes to the change feed. The first full sync is the scheduled
+     * {@link #resync()}, which runs as soon as the scheduler starts, so startup never
+     * waits on the shared store.
+     */
+    @PostConstruct
+    public void init() {
+        replicator.subscribe(this::apply);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        lookups.increment();
+        Long expiresAt = revoked.get(tokenId);
+        if (expiresAt != null && expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public void revoke(String tokenId, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        apply(tokenId, expiresAtMillis);
+        try {
+            replicator.publish(tokenId, expiresAtMillis);
+        } catch (Exception e) {
+            pendingPublish.put(tokenId, expiresAtMillis);
+            log.warn("Token revocation could not be replicated, retrying on next resync: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.blacklist.resync-interval-ms:60000}")
+    public void resync() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        pendingPublish.values().removeIf(expiresAt -> expiresAt <= now);
+
+        try {
+            for (Map.Entry<String, Long> pending : Map.copyOf(pendingPublish).entrySet()) {
+                replicator.publish(pending.getKey(), pending.getValue());
+                pendingPublish.remove(pending.getKey(), pending.getValue());
+            }
+            // Catches revocations whose change notification was missed while disconnected
+            replicator.loadAll().forEach(this::apply);
+            replicaInSync = true;
+            lastResync.set(now);
+        } catch (Exception e) {
+            if (replicaInSync) {
+                log.warn("Token blacklist resync failed, serving local mirror only: {}", e.getMessage());
+            }
+            replicaInSync = false;
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("size", revoked.size());
+        metrics.put("pendingReplication", pendingPublish.size());
+        metrics.put("lookups", lookups.sum());
+        metrics.put("hits", hits.sum());
+        metrics.put("inSync", replicaInSync);
+        metrics.put("lastResync", lastResync.get());
+        return metrics;
+    }
+
+    private void apply(String tokenId, Long expiresAtMillis) {
+        revoked.merge(tokenId, expiresAtMillis, Math::max);
+    }
+}
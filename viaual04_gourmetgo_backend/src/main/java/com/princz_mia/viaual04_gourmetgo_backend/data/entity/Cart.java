@@ -62,36 +62,54 @@ public class Cart {
     private Customer customer;
 
     /**
-     * Adds an item to the cart and updates the total amount.
+     * Adds an item to the cart and adds its line total to the total amount.
      * @param item the item to be added
      */
     public void addItem(CartItem item) {
-        this.items.add(item);
+        if (this.items.add(item)) {
+            adjustTotalAmount(lineTotal(item));
+        }
         item.setCart(this);
-        updateTotalAmount();
     }
 
     /**
-     * Removes an item from the cart and updates the total amount.
+     * Removes an item from the cart and subtracts its line total from the total amount.
      * @param item the item to be removed
      */
     public void removeItem(CartItem item) {
-        this.items.remove(item);
+        if (this.items.remove(item)) {
+            adjustTotalAmount(lineTotal(item).negate());
+        }
         item.setCart(null);
-        updateTotalAmount();
     }
 
     /**
-     * Recalculates the total amount based on current cart items.
-     * Handles null unit prices safely.
+     * Changes the quantity and unit price of an item already in the cart and moves the
+     * total amount by the difference of its line total, without revisiting the other items.
+     * @param item the item to be changed
+     * @param quantity the new quantity
+     * @param unitPrice the new unit price
      */
-    private void updateTotalAmount() {
-        this.totalAmount = items.stream().map(item -> {
-            BigDecimal unitPrice = item.getUnitPrice();
-            if (unitPrice == null) {
-                return BigDecimal.ZERO;
-            }
-            return unitPrice.multiply(BigDecimal.valueOf(item.getQuantity()));
-        }).reduce(BigDecimal.ZERO, BigDecimal::add);
+    public void updateItem(CartItem item, int quantity, BigDecimal unitPrice) {
+        BigDecimal previous = lineTotal(item);
+        item.setQuantity(quantity);
+        item.setUnitPrice(unitPrice);
+        item.setTotalPrice();
+        adjustTotalAmount(lineTotal(item).subtract(previous));
+    }
+
+    private void adjustTotalAmount(BigDecimal delta) {
+        this.totalAmount = (this.totalAmount != null ? this.totalAmount : BigDecimal.ZERO).add(delta);
+    }
+
+    /**
+     * Line total of an item, handling null unit prices safely.
+     */
+    private static BigDecimal lineTotal(CartItem item) {
+        BigDecimal unitPrice = item.getUnitPrice();
+        if (unitPrice == null) {
+            return BigDecimal.ZERO;
+        }
+        return unitPrice.multiply(BigDecimal.valueOf(item.getQuantity()));
     }
 }
@@ -4,14 +4,18 @@ import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Image;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Restaurant;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.sql.Blob;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Getter
 @Setter
 @Entity
+@DynamicUpdate
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -31,6 +35,11 @@ public class Image {
     private String fileType;
     private String downloadUrl;
 
+    // SHA-256 of the content in the image store; null while the bytes still live in the data blob
+    @Column(length = 64)
+    private String contentHash;
+    private Long contentLength;
+
     @Lob
     private Blob data;
 
@@ -41,4 +50,8 @@ public class Image {
     @OneToOne
     @JoinColumn(name = "restaurant_id", unique = true)
     private Restaurant restaurant;
+
+    @OneToMany(mappedBy = "image", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private List<ImageVariant> variants = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(
+        name = "image_variants",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"image_id", "variant"})
+)
+public class ImageVariant {
+    @Id
+    @UuidGenerator(style = UuidGenerator.Style.RANDOM)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "image_id", nullable = false)
+    private Image image;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private ImageVariantSize variant;
+
+    // Hash of the original the variant was derived from, variants of replaced content are ignored
+    @Column(length = 64, nullable = false)
+    private String sourceHash;
+
+    @Column(length = 64, nullable = false)
+    private String contentHash;
+
+    private Long contentLength;
+    private Integer width;
+    private Integer height;
+}
@@ -0,0 +1,32 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.entity;
+
+import java.util.Locale;
+import java.util.Optional;
+
+public enum ImageVariantSize {
+    THUMBNAIL(160),
+    CARD(480),
+    FULL(1280);
+
+    // Longest edge in pixels, smaller originals are never upscaled
+    private final int maxDimension;
+
+    ImageVariantSize(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public static Optional<ImageVariantSize> fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(valueOf(value.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pre-aggregated order counts and revenue per restaurant, hour and order status.
+ * <p>
+ * Maintained together with every order write so dashboard series can be read with a
+ * single range scan instead of one query per day or hour.
+ * </p>
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "order_stats_hourly",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"restaurant_id", "bucket_start", "status"}))
+public class OrderStatsHourly {
+
+    @Id
+    @UuidGenerator(style = UuidGenerator.Style.RANDOM)
+    private UUID id;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private UUID restaurantId;
+
+    /**
+     * Start of the hour this row aggregates, truncated to the hour.
+     */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long orderCount = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private BigDecimal revenue = BigDecimal.ZERO;
+}
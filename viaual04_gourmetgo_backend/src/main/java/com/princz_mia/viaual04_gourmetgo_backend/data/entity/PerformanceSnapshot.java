@@ -0,0 +1,53 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Request volume and latency distribution of one completed minute.
+ * <p>
+ * Written periodically from the in-memory request metrics so history survives restarts
+ * without aggregating raw request logs.
+ * </p>
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "performance_snapshots")
+public class PerformanceSnapshot {
+
+    @Id
+    @UuidGenerator(style = UuidGenerator.Style.RANDOM)
+    private UUID id;
+
+    /**
+     * Start of the minute this row aggregates.
+     */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private Long requestCount;
+
+    @Column(nullable = false)
+    private Long errorCount;
+
+    @Column(nullable = false)
+    private Double averageResponseTime;
+
+    @Column(name = "p50_response_time", nullable = false)
+    private Long p50ResponseTime;
+
+    @Column(name = "p95_response_time", nullable = false)
+    private Long p95ResponseTime;
+
+    @Column(name = "p99_response_time", nullable = false)
+    private Long p99ResponseTime;
+}
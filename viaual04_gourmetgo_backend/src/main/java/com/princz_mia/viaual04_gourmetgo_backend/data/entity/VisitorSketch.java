@@ -0,0 +1,29 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Serialized HyperLogLog sketch of the distinct visitors of one day.
+ * <p>
+ * Kept apart from {@link VisitStatistics} so loading the daily counters never pulls the
+ * sketch payload along.
+ * </p>
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "visitor_sketches")
+public class VisitorSketch {
+
+    @Id
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private byte[] sketch;
+}
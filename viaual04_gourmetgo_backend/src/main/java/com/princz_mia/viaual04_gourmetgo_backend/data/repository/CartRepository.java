@@ -1,13 +1,24 @@
 package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
 
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Cart;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface CartRepository extends JpaRepository<Cart, UUID> {
 
     Cart findByCustomer_Id(UUID customerId);
+
+    @Query("SELECT c.id FROM Cart c WHERE c.customer.id = :customerId")
+    Optional<UUID> findIdByCustomerId(@Param("customerId") UUID customerId);
+
+    // Everything the cart view shows, in one query
+    @EntityGraph(attributePaths = {"items", "items.product", "items.product.category", "items.product.image", "items.product.restaurant"})
+    Optional<Cart> findWithItemsById(UUID id);
 }
@@ -1,11 +1,28 @@
 package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
 
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Image;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface ImageRepository extends JpaRepository<Image, UUID> {
     Image findByProduct_Id(UUID productId);
     Image findByRestaurant_Id(UUID restaurantId);
+    boolean existsByContentHash(String contentHash);
+
+    @Query("SELECT DISTINCT i.contentHash FROM Image i WHERE i.contentHash IN :hashes")
+    Set<String> findContentHashesIn(@Param("hashes") Collection<String> hashes);
+
+    @Query("SELECT i.id FROM Image i WHERE i.contentHash IS NULL AND i.data IS NOT NULL AND i.id > :after ORDER BY i.id")
+    List<UUID> findBlobOnlyIdsAfter(@Param("after") UUID after, Pageable pageable);
+
+    // Large objects are not removed with the row reference, they have to be unlinked explicitly
+    @Query(value = "SELECT lo_unlink(data) FROM images WHERE id = :id AND data IS NOT NULL", nativeQuery = true)
+    Integer unlinkData(@Param("id") UUID id);
 }
\ No newline at end of file
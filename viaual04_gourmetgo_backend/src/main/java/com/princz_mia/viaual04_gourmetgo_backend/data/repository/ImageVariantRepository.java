@@ -0,0 +1,20 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.ImageVariant;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.ImageVariantSize;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, UUID> {
+    Optional<ImageVariant> findByImage_IdAndVariantAndSourceHash(UUID imageId, ImageVariantSize variant, String sourceHash);
+    boolean existsByContentHash(String contentHash);
+
+    @Query("SELECT DISTINCT v.contentHash FROM ImageVariant v WHERE v.contentHash IN :hashes")
+    Set<String> findContentHashesIn(@Param("hashes") Collection<String> hashes);
+}
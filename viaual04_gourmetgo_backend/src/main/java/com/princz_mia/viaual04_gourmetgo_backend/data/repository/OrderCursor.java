@@ -0,0 +1,34 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last order on a page, in the {@code (order_date, id)} order of the listing.
+ * Clients receive it as an opaque URL-safe token.
+ */
+public record OrderCursor(LocalDateTime orderDate, UUID id) {
+
+    public String encode() {
+        String value = orderDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static OrderCursor decode(String token) {
+        String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = value.indexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed order cursor");
+        }
+        try {
+            return new OrderCursor(LocalDateTime.parse(value.substring(0, separator)), UUID.fromString(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed order cursor", e);
+        }
+    }
+}
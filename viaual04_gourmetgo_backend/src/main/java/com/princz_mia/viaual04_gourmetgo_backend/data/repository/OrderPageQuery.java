@@ -0,0 +1,23 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.OrderStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Filters of an order listing. Every field is optional; {@code from} is inclusive and
+ * {@code to} exclusive.
+ */
+@Getter
+@Builder
+public class OrderPageQuery {
+
+    private UUID customerId;
+    private UUID restaurantId;
+    private OrderStatus status;
+    private LocalDateTime from;
+    private LocalDateTime to;
+}
@@ -0,0 +1,16 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderPageRepository {
+
+    /**
+     * Returns the ids of up to {@code limit} orders matching the query, newest first, that
+     * come after the given cursor. Seeks on the {@code (order_date, id)} indexes, so a deep
+     * page costs the same as the first one.
+     *
+     * @param after last order of the previous page, {@code null} for the first page
+     */
+    List<UUID> findOrderIdsPage(OrderPageQuery query, OrderCursor after, int limit);
+}
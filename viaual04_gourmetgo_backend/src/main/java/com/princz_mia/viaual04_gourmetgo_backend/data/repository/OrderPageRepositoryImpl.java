@@ -0,0 +1,60 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class OrderPageRepositoryImpl implements OrderPageRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UUID> findOrderIdsPage(OrderPageQuery query, OrderCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT o.id FROM orders o WHERE 1 = 1 ");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (query.getCustomerId() != null) {
+            sql.append("AND o.customer_id = :customerId ");
+            parameters.put("customerId", query.getCustomerId());
+        }
+        if (query.getRestaurantId() != null) {
+            sql.append("AND o.restaurant_id = :restaurantId ");
+            parameters.put("restaurantId", query.getRestaurantId());
+        }
+        if (query.getStatus() != null) {
+            sql.append("AND o.status = :status ");
+            parameters.put("status", query.getStatus().name());
+        }
+        if (query.getFrom() != null) {
+            sql.append("AND o.order_date >= :from ");
+            parameters.put("from", query.getFrom());
+        }
+        if (query.getTo() != null) {
+            sql.append("AND o.order_date < :to ");
+            parameters.put("to", query.getTo());
+        }
+        if (after != null) {
+            // Row comparison, so the index is entered right after the cursor instead of skipping rows
+            sql.append("AND (o.order_date, o.id) < (:afterDate, :afterId) ");
+            parameters.put("afterDate", after.orderDate());
+            parameters.put("afterId", after.id());
+        }
+        sql.append("ORDER BY o.order_date DESC, o.id DESC LIMIT :limit");
+        parameters.put("limit", limit);
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString());
+        parameters.forEach(nativeQuery::setParameter);
+        List<?> rows = nativeQuery.getResultList();
+        return rows.stream().map(this::toUuid).collect(Collectors.toList());
+    }
+
+    private UUID toUuid(Object value) {
+        return value instanceof UUID uuid ? uuid : UUID.fromString(value.toString());
+    }
+}
@@ -2,6 +2,7 @@ package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
 
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Order;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.OrderStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,16 +11,22 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, UUID> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, OrderSeriesRepository, OrderPageRepository {
 
     List<Order> findByCustomer_Id(UUID customerId);
 
     List<Order> findByRestaurant_Id(UUID restaurantId);
 
+    // Loads one page of orders with everything the order DTO shows in a single query
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.product", "orderItems.product.category",
+            "orderItems.product.image", "restaurant", "customer", "coupon", "paymentMethod"})
+    List<Order> findByIdIn(Collection<UUID> ids);
+
     boolean existsByCustomer_IdAndRestaurant_Id(UUID customerId, UUID restaurantId);
     
     // Statistics queries
@@ -35,11 +42,10 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     @Query("SELECT SUM(o.totalAmount) FROM Order o WHERE DATE(o.orderDate) BETWEEN :startDate AND :endDate AND o.restaurant.id = :restaurantId AND o.status != 'CANCELLED'")
     BigDecimal sumRevenueByRestaurantBetweenDates(@Param("restaurantId") UUID restaurantId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT COUNT(o) FROM Order o WHERE o.restaurant.id = :restaurantId AND DATE(o.orderDate) BETWEEN :startDate AND :endDate")
-    Long countOrdersByRestaurantBetweenDates(@Param("restaurantId") UUID restaurantId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-    
-    @Query("SELECT o.status, COUNT(o) FROM Order o WHERE o.restaurant.id = :restaurantId AND DATE(o.orderDate) BETWEEN :startDate AND :endDate GROUP BY o.status")
-    List<Object[]> countOrdersByRestaurantAndStatusGrouped(@Param("restaurantId") UUID restaurantId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    @Query("SELECT CAST(o.orderDate AS LocalDate), SUM(o.totalAmount) FROM Order o " +
+           "WHERE o.restaurant.id = :restaurantId AND o.orderDate >= :since AND o.status != 'CANCELLED' " +
+           "GROUP BY CAST(o.orderDate AS LocalDate)")
+    List<Object[]> sumDailyRevenueByRestaurantSince(@Param("restaurantId") UUID restaurantId, @Param("since") LocalDateTime since);
     
     @Query("SELECT p.name, SUM(oi.quantity) FROM Order o JOIN o.orderItems oi JOIN oi.product p " +
            "WHERE DATE(o.orderDate) BETWEEN :startDate AND :endDate " +
@@ -0,0 +1,17 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderSeriesRepository {
+
+    /**
+     * Returns order count and revenue per time bucket for orders placed in {@code [from, to)},
+     * computed with a single grouped query. The series is dense: buckets without orders are
+     * included with zero values.
+     *
+     * @param restaurantId optional restaurant filter, {@code null} for all restaurants
+     */
+    List<TimeBucket> findOrderSeries(TimeGranularity granularity, LocalDateTime from, LocalDateTime to, UUID restaurantId);
+}
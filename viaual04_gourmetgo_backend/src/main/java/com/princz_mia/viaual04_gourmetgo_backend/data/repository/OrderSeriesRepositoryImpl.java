@@ -0,0 +1,59 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class OrderSeriesRepositoryImpl implements OrderSeriesRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TimeBucket> findOrderSeries(TimeGranularity granularity, LocalDateTime from, LocalDateTime to, UUID restaurantId) {
+        // Plain range predicate on order_date so the (restaurant_id, order_date) index can be used
+        String sql = "SELECT date_trunc(:unit, o.order_date) AS bucket, COUNT(*) AS order_count, " +
+                "COALESCE(SUM(CASE WHEN o.status <> 'CANCELLED' THEN o.total_amount END), 0) AS revenue " +
+                "FROM orders o WHERE o.order_date >= :from AND o.order_date < :to " +
+                (restaurantId != null ? "AND o.restaurant_id = :restaurantId " : "") +
+                "GROUP BY 1 ORDER BY 1";
+
+        Query query = entityManager.createNativeQuery(sql)
+                .setParameter("unit", granularity.getSqlUnit())
+                .setParameter("from", from)
+                .setParameter("to", to);
+        if (restaurantId != null) {
+            query.setParameter("restaurantId", restaurantId);
+        }
+
+        Map<LocalDateTime, TimeBucket> buckets = new HashMap<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            LocalDateTime bucketStart = toLocalDateTime(columns[0]);
+            buckets.put(bucketStart, new TimeBucket(bucketStart, ((Number) columns[1]).longValue(), (BigDecimal) columns[2]));
+        }
+
+        List<TimeBucket> series = new ArrayList<>();
+        for (LocalDateTime bucket = granularity.truncate(from); bucket.isBefore(to); bucket = granularity.next(bucket)) {
+            TimeBucket found = buckets.get(bucket);
+            series.add(found != null ? found : new TimeBucket(bucket, 0L, BigDecimal.ZERO));
+        }
+        return series;
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
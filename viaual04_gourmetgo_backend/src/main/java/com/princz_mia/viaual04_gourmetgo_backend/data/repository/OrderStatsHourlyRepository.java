@@ -0,0 +1,61 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.OrderStatsHourly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OrderStatsHourlyRepository extends JpaRepository<OrderStatsHourly, UUID> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO order_stats_hourly (id, restaurant_id, bucket_start, status, order_count, revenue) " +
+                   "VALUES (gen_random_uuid(), :restaurantId, :bucketStart, :status, :countDelta, :revenueDelta) " +
+                   "ON CONFLICT (restaurant_id, bucket_start, status) DO UPDATE SET " +
+                   "order_count = order_stats_hourly.order_count + EXCLUDED.order_count, " +
+                   "revenue = order_stats_hourly.revenue + EXCLUDED.revenue",
+           nativeQuery = true)
+    void upsertDelta(@Param("restaurantId") UUID restaurantId, @Param("bucketStart") LocalDateTime bucketStart,
+                     @Param("status") String status, @Param("countDelta") long countDelta,
+                     @Param("revenueDelta") BigDecimal revenueDelta);
+
+    @Modifying
+    @Transactional
+    @Query(value = "LOCK TABLE order_stats_hourly IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM order_stats_hourly", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO order_stats_hourly (id, restaurant_id, bucket_start, status, order_count, revenue) " +
+                   "SELECT gen_random_uuid(), o.restaurant_id, date_trunc('hour', o.order_date), o.status, " +
+                   "COUNT(*), COALESCE(SUM(o.total_amount), 0) " +
+                   "FROM orders o WHERE o.order_date IS NOT NULL AND o.status IS NOT NULL " +
+                   "GROUP BY o.restaurant_id, date_trunc('hour', o.order_date), o.status",
+           nativeQuery = true)
+    int rebuildFromOrders();
+
+    // Dashboard queries, all bounded by a half-open [from, to) range on bucket_start
+    @Query("SELECT s.bucketStart, SUM(s.orderCount), " +
+           "SUM(CASE WHEN s.status <> com.princz_mia.viaual04_gourmetgo_backend.data.entity.OrderStatus.CANCELLED THEN s.revenue ELSE 0 END) " +
+           "FROM OrderStatsHourly s WHERE s.restaurantId = :restaurantId AND s.bucketStart >= :from AND s.bucketStart < :to " +
+           "GROUP BY s.bucketStart ORDER BY s.bucketStart")
+    List<Object[]> sumHourlyByRestaurant(@Param("restaurantId") UUID restaurantId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT s.status, SUM(s.orderCount) FROM OrderStatsHourly s " +
+           "WHERE s.restaurantId = :restaurantId AND s.bucketStart >= :from AND s.bucketStart < :to GROUP BY s.status")
+    List<Object[]> countByRestaurantGroupedByStatus(@Param("restaurantId") UUID restaurantId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,15 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.PerformanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PerformanceSnapshotRepository extends JpaRepository<PerformanceSnapshot, UUID> {
+
+    List<PerformanceSnapshot> findByBucketStartBetweenOrderByBucketStart(LocalDateTime startTime, LocalDateTime endTime);
+}
@@ -0,0 +1,26 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public interface ProductInventoryRepository {
+
+    /**
+     * Decrements the inventory of every product by its quantity in one batched statement.
+     * Each decrement only applies while the product still has enough stock, so concurrent
+     * checkouts can never drive the inventory below zero. Lines that could not be applied are
+     * left untouched; the caller decides whether to roll back the ones that were.
+     *
+     * @param quantities quantity to take per product id
+     * @return ids of the products whose stock was insufficient, empty when every line applied
+     */
+    Set<UUID> decrementInventory(Map<UUID, Integer> quantities);
+
+    /**
+     * Returns the current inventory of the given products with a single query, without
+     * loading the entities. Products that do not exist are missing from the result.
+     */
+    Map<UUID, Integer> findInventory(Collection<UUID> productIds);
+}
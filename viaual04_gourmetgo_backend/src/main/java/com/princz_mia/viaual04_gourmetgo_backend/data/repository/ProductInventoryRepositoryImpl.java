@@ -0,0 +1,62 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class ProductInventoryRepositoryImpl implements ProductInventoryRepository {
+
+    private static final String DECREMENT_SQL =
+            "UPDATE product SET inventory = inventory - ? WHERE id = ? AND inventory >= ?";
+
+    private static final String INVENTORY_SQL = "SELECT id, inventory FROM product WHERE id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<UUID> decrementInventory(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Set.of();
+        }
+        // Rows are locked in id order, so two orders sharing products cannot deadlock
+        List<Map.Entry<UUID, Integer>> lines = new ArrayList<>(quantities.entrySet());
+        lines.sort(Map.Entry.comparingByKey());
+
+        int[][] updated = jdbcTemplate.batchUpdate(DECREMENT_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setObject(2, line.getKey());
+            ps.setInt(3, line.getValue());
+        });
+
+        Set<UUID> insufficient = new HashSet<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (updated[0][i] == 0) {
+                insufficient.add(lines.get(i).getKey());
+            }
+        }
+        return insufficient;
+    }
+
+    @Override
+    public Map<UUID, Integer> findInventory(Collection<UUID> productIds) {
+        Map<UUID, Integer> inventory = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return inventory;
+        }
+        jdbcTemplate.query(INVENTORY_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", productIds.toArray())),
+                rs -> {
+                    inventory.put(rs.getObject(1, UUID.class), rs.getInt(2));
+                });
+        return inventory;
+    }
+}
@@ -1,24 +1,42 @@
 package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
 
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, ProductInventoryRepository {
 
+    // Finders used for DTOs fetch restaurant, category and image in the same query,
+    // the inverse one-to-one image would otherwise be loaded with one select per product
+    @Override
+    @EntityGraph(attributePaths = {"restaurant", "category", "image"})
+    List<Product> findAll();
+
+    @EntityGraph(attributePaths = {"restaurant", "category", "image"})
     List<Product> findByName(String name);
     
+    @EntityGraph(attributePaths = {"restaurant", "category", "image"})
     List<Product> findByCategory_Name(String categoryName);
     
     List<Product> findByRestaurant_Id(UUID restaurantId);
 
+    @EntityGraph(attributePaths = {"restaurant", "category", "image"})
+    List<Product> findByRestaurant_IdAndDeletedFalse(UUID restaurantId);
+
+    @EntityGraph(attributePaths = {"restaurant", "category", "image"})
     List<Product> findByRestaurant_IdAndName(UUID restaurantId, String name);
 
+    @EntityGraph(attributePaths = {"restaurant", "category", "image"})
     List<Product> findByRestaurant_IdAndCategory_Name(UUID restaurantId, String categoryName);
 
+    @EntityGraph(attributePaths = {"restaurant", "category", "image"})
+    List<Product> findByIdIn(Collection<UUID> ids);
+
     boolean existsByNameAndCategory_Name(String name, String categoryName);
 }
@@ -11,7 +11,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface RequestLogRepository extends JpaRepository<RequestLog, UUID> {
+public interface RequestLogRepository extends JpaRepository<RequestLog, UUID>, RequestSeriesRepository {
     
     @Query("SELECT COUNT(r) FROM RequestLog r WHERE r.timestamp BETWEEN :startTime AND :endTime")
     Long countRequestsBetween(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
@@ -0,0 +1,14 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface RequestSeriesRepository {
+
+    /**
+     * Returns the number of logged requests per time bucket in {@code [from, to)}, in bucket
+     * order, computed with a single grouped query. The series is dense: buckets without
+     * requests are included with a zero count.
+     */
+    Map<LocalDateTime, Long> countRequestSeries(TimeGranularity granularity, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,47 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class RequestSeriesRepositoryImpl implements RequestSeriesRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<LocalDateTime, Long> countRequestSeries(TimeGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        // Plain range predicate on timestamp so idx_request_logs_timestamp can be used
+        String sql = "SELECT date_trunc(:unit, r.timestamp) AS bucket, COUNT(*) AS request_count " +
+                "FROM request_logs r WHERE r.timestamp >= :from AND r.timestamp < :to " +
+                "GROUP BY 1 ORDER BY 1";
+
+        Map<LocalDateTime, Long> counts = new HashMap<>();
+        for (Object row : entityManager.createNativeQuery(sql)
+                .setParameter("unit", granularity.getSqlUnit())
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList()) {
+            Object[] columns = (Object[]) row;
+            counts.put(toLocalDateTime(columns[0]), ((Number) columns[1]).longValue());
+        }
+
+        Map<LocalDateTime, Long> series = new LinkedHashMap<>();
+        for (LocalDateTime bucket = granularity.truncate(from); bucket.isBefore(to); bucket = granularity.next(bucket)) {
+            series.put(bucket, counts.getOrDefault(bucket, 0L));
+        }
+        return series;
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,17 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class TimeBucket {
+
+    private LocalDateTime bucketStart;
+    private long orderCount;
+    // Revenue excludes cancelled orders, matching the other revenue queries
+    private BigDecimal revenue;
+}
@@ -0,0 +1,17 @@
+package com.princz_mia.viaual04_gourmetgo_backend.data.repository;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.VisitorSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface VisitorSketchRepository extends JpaRepository<VisitorSketch, LocalDate> {
+
+    List<VisitorSketch> findByDateBetween(LocalDate startDate, LocalDate endDate);
+
+    List<VisitorSketch> findByDateIn(Collection<LocalDate> dates);
+}
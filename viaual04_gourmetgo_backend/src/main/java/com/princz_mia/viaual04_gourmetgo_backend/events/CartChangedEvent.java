@@ -0,0 +1,16 @@
+package com.princz_mia.viaual04_gourmetgo_backend.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when an item of a cart is added, removed or changed.
+ */
+@Getter
+@AllArgsConstructor
+public class CartChangedEvent {
+
+    private UUID cartId;
+}
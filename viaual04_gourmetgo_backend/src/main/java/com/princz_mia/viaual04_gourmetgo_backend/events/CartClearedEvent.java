@@ -0,0 +1,17 @@
+package com.princz_mia.viaual04_gourmetgo_backend.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when every item is removed from a cart, either by the customer or because the
+ * cart was turned into an order.
+ */
+@Getter
+@AllArgsConstructor
+public class CartClearedEvent {
+
+    private UUID cartId;
+}
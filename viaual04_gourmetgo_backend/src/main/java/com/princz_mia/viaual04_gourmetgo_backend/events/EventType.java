@@ -5,5 +5,6 @@ public enum EventType {
     APPROVED,
     RESET_PASSWORD,
     ORDER_PLACED,
+    ORDER_STATUS_CHANGED,
     COUPON_PUBLISHED,
 }
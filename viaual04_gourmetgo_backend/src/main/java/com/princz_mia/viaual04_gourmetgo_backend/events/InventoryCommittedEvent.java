@@ -0,0 +1,17 @@
+package com.princz_mia.viaual04_gourmetgo_backend.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Published when an order has taken its quantities off {@code Product.inventory}.
+ */
+@Getter
+@AllArgsConstructor
+public class InventoryCommittedEvent {
+
+    private Map<UUID, Integer> quantities;
+}
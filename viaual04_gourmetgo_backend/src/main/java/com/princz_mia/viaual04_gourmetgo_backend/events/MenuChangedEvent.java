@@ -0,0 +1,17 @@
+package com.princz_mia.viaual04_gourmetgo_backend.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published whenever anything shown on a restaurant's public page changes: its products,
+ * their images, inventory or prices, or the restaurant's own details.
+ */
+@Getter
+@AllArgsConstructor
+public class MenuChangedEvent {
+
+    private UUID restaurantId;
+}
@@ -0,0 +1,35 @@
+package com.princz_mia.viaual04_gourmetgo_backend.events;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Order;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class OrderEvent {
+
+    private UUID orderId;
+    private UUID restaurantId;
+    private LocalDateTime orderDate;
+    private BigDecimal totalAmount;
+    private OrderStatus previousStatus;
+    private OrderStatus status;
+    private EventType type;
+    private Instant occurredAt;
+
+    public static OrderEvent placed(Order order) {
+        return new OrderEvent(order.getId(), order.getRestaurant().getId(), order.getOrderDate(),
+                order.getTotalAmount(), null, order.getStatus(), EventType.ORDER_PLACED, Instant.now());
+    }
+
+    public static OrderEvent statusChanged(Order order, OrderStatus previousStatus) {
+        return new OrderEvent(order.getId(), order.getRestaurant().getId(), order.getOrderDate(),
+                order.getTotalAmount(), previousStatus, order.getStatus(), EventType.ORDER_STATUS_CHANGED, Instant.now());
+    }
+}
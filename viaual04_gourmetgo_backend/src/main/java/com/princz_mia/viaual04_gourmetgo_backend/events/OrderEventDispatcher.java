@@ -0,0 +1,137 @@
+package com.princz_mia.viaual04_gourmetgo_backend.events;
+
+import com.princz_mia.viaual04_gourmetgo_backend.config.StatisticsProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Runs {@link OrderEvent} handlers off the request thread on a fixed number of
+ * single-threaded lanes with bounded queues. Events of the same restaurant always
+ * land on the same lane, so they are handled in publication order.
+ */
+@Component
+@Slf4j
+public class OrderEventDispatcher {
+
+    private final StatisticsProperties.OrderEvents properties;
+    private final ThreadPoolExecutor[] lanes;
+
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder totalLagMs = new LongAdder();
+    private final AtomicLong maxLagMs = new AtomicLong();
+    private final AtomicLong lastLagMs = new AtomicLong();
+
+    public OrderEventDispatcher(StatisticsProperties statisticsProperties) {
+        this.properties = statisticsProperties.getOrderEvents();
+        this.lanes = new ThreadPoolExecutor[Math.max(1, properties.getLanes())];
+        for (int i = 0; i < lanes.length; i++) {
+            String threadName = "order-events-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    /**
+     * Queues the handler on the event's lane.
+     *
+     * @return {@code false} when the lane is full and the handler will not run, the caller
+     *         has to make up for the event
+     */
+    public boolean dispatch(OrderEvent event, Consumer<OrderEvent> handler) {
+        try {
+            laneFor(event).execute(() -> handle(event, handler));
+            dispatched.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            if (rejected.sum() % 1000 == 1) {
+                log.warn("Order event lane full, rejected {} for order {} ({} rejected so far)",
+                        event.getType(), event.getOrderId(), rejected.sum());
+            }
+            return false;
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        long processedCount = processed.sum();
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size();
+        }
+
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("lanes", lanes.length);
+        metrics.put("queueDepth", queued);
+        metrics.put("dispatched", dispatched.sum());
+        metrics.put("processed", processedCount);
+        metrics.put("rejected", rejected.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("lastLagMs", lastLagMs.get());
+        metrics.put("maxLagMs", maxLagMs.get());
+        metrics.put("averageLagMs", processedCount > 0 ? totalLagMs.sum() / (double) processedCount : 0.0);
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                if (!lane.awaitTermination(properties.getShutdownTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                    log.warn("Order event lane did not drain in time, {} events discarded", lane.shutdownNow().size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ThreadPoolExecutor laneFor(OrderEvent event) {
+        Object key = event.getRestaurantId() != null ? event.getRestaurantId() : event.getOrderId();
+        int hash = key != null ? key.hashCode() : 0;
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+
+    private void handle(OrderEvent event, Consumer<OrderEvent> handler) {
+        // Lag is measured from publication inside the order transaction to the start of handling
+        long lagMs = event.getOccurredAt() != null
+                ? Math.max(0, Duration.between(event.getOccurredAt(), Instant.now()).toMillis())
+                : 0;
+        lastLagMs.set(lagMs);
+        maxLagMs.accumulateAndGet(lagMs, Math::max);
+        totalLagMs.add(lagMs);
+
+        try {
+            handler.accept(event);
+        } catch (Exception e) {
+            failed.increment();
+            log.error("Failed to handle {} for order {}", event.getType(), event.getOrderId(), e);
+        } finally {
+            processed.increment();
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.princz_mia.viaual04_gourmetgo_backend.web.controller;
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.ICartService;
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.ICustomerService;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
-import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Cart;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Customer;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ResourceNotFoundException;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ApiResponse;
@@ -32,8 +31,7 @@ public class CartController {
         long startTime = System.currentTimeMillis();
         
         try {
-            Cart cart = cartService.getCart(id);
-            CartDto cartDto = cartService.convertToDto(cart);
+            CartDto cartDto = cartService.getCartView(id);
             
             LoggingUtils.logBusinessEvent(log, "CART_RETRIEVED", "cartId", id);
             LoggingUtils.logPerformance(log, "getCart", System.currentTimeMillis() - startTime);
@@ -52,8 +50,7 @@ public class CartController {
         
         try {
             Customer customer = customerService.getAuthenticatedCustomer();
-            Cart cart = cartService.getCartByCustomerId(customer.getId());
-            CartDto cartDto = cartService.convertToDto(cart);
+            CartDto cartDto = cartService.getCartViewByCustomerId(customer.getId());
             
             LoggingUtils.logBusinessEvent(log, "CUSTOMER_CART_RETRIEVED", "customerId", customer.getId());
             LoggingUtils.logPerformance(log, "getCartByCustomerId", System.currentTimeMillis() - startTime);
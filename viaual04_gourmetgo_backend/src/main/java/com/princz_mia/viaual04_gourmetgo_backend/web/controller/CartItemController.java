@@ -8,7 +8,10 @@ import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Cart;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Customer;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ResourceNotFoundException;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ApiResponse;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartSyncRequest;
 import io.jsonwebtoken.JwtException;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -96,4 +99,24 @@ public class CartItemController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(e.getMessage(), null));
         }
     }
+
+    @PostMapping("/sync")
+    public ResponseEntity<ApiResponse> syncItems(@Valid @RequestBody CartSyncRequest request) {
+        LoggingUtils.logMethodEntry(log, "syncItems", "items", request.getItems().size());
+        long startTime = System.currentTimeMillis();
+
+        try {
+            Customer customer = customerService.getAuthenticatedCustomer();
+            Cart cart = cartService.createCart(customer);
+            CartDto cartDto = cartItemService.syncItems(cart.getId(), request.getItems());
+
+            LoggingUtils.logBusinessEvent(log, "CART_ITEMS_SYNCED", "items", request.getItems().size(), "customerId", customer.getId());
+            LoggingUtils.logPerformance(log, "syncItems", System.currentTimeMillis() - startTime);
+
+            return ResponseEntity.ok(new ApiResponse("Cart Sync Success", cartDto));
+        } catch (ResourceNotFoundException e) {
+            LoggingUtils.logError(log, "Failed to sync cart items", e, "items", request.getItems().size());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(e.getMessage(), null));
+        }
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.princz_mia.viaual04_gourmetgo_backend.web.controller;
 
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.ICustomerService;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
+import com.princz_mia.viaual04_gourmetgo_backend.config.ratelimit.RateLimited;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Customer;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ApiResponse;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CreateCustomerRequest;
@@ -63,6 +64,7 @@ public class CustomerController {
     }
 
     @PostMapping("/register")
+    @RateLimited("registration")
     public ResponseEntity<ApiResponse> registerCustomer(@Valid @RequestBody CreateCustomerRequest request) {
         LoggingUtils.logMethodEntry(log, "registerCustomer", "email", LoggingUtils.maskSensitiveData(request.getEmailAddress()));
         long startTime = System.currentTimeMillis();
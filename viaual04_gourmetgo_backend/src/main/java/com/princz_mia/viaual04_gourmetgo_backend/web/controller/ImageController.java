@@ -1,23 +1,30 @@
 package com.princz_mia.viaual04_gourmetgo_backend.web.controller;
 
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IImageService;
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.impl.ImageVariantService;
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.ImageStorage;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Image;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.ImageVariant;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.ImageVariantSize;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ResourceNotFoundException;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ApiResponse;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ImageDto;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.sql.SQLException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
@@ -29,7 +36,15 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 @Slf4j
 public class ImageController {
 
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final IImageService imageService;
+    private final ImageStorage imageStorage;
+    private final ImageVariantService imageVariantService;
 
     @PostMapping("/products/upload")
     public ResponseEntity<ApiResponse> uploadProductImage(
@@ -85,20 +100,62 @@ public class ImageController {
     }
 
     @GetMapping("/download/{imageId}")
-    @Transactional
-    public ResponseEntity<Resource> downloadImage(@PathVariable UUID imageId) throws SQLException {
+    public void downloadImage(@PathVariable UUID imageId,
+                              @RequestParam(name = "v", required = false) String version,
+                              @RequestParam(required = false) String size,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
         LoggingUtils.logMethodEntry(log, "downloadImage", "imageId", imageId);
         long startTime = System.currentTimeMillis();
         
         Image image = imageService.getImageById(imageId);
-        ByteArrayResource resource = new ByteArrayResource(image.getData().getBytes(1, (int) image.getData().length()));
+        if (image.getContentHash() == null) {
+            // Not migrated yet, served from the database blob
+            imageService.streamImage(imageId, (img, contentLength) -> {
+                writeImageHeaders(response, img, img.getFileType(), contentLength);
+                return response.getOutputStream();
+            });
+            LoggingUtils.logPerformance(log, "downloadImage", System.currentTimeMillis() - startTime);
+            return;
+        }
         
-        LoggingUtils.logBusinessEvent(log, "IMAGE_DOWNLOADED", "imageId", imageId, "fileName", image.getFileName());
-        LoggingUtils.logPerformance(log, "downloadImage", System.currentTimeMillis() - startTime);
+        String contentHash = image.getContentHash();
+        long contentLength = image.getContentLength();
+        String contentType = image.getFileType();
+        boolean exactContent = true;
+        Optional<ImageVariantSize> variantSize = ImageVariantSize.fromParameter(size);
+        if (variantSize.isPresent()) {
+            Optional<ImageVariant> variant = imageVariantService.findVariant(image, variantSize.get());
+            if (variant.isPresent()) {
+                contentHash = variant.get().getContentHash();
+                contentLength = variant.get().getContentLength();
+                contentType = MediaType.IMAGE_JPEG_VALUE;
+            } else {
+                // Original served in the meantime, it must not be cached as the variant
+                exactContent = false;
+                imageVariantService.generate(image.getId(), image.getContentHash());
+            }
+        }
+        
+        // Stored content never changes, so a URL carrying its version can be cached forever
+        boolean versioned = image.getContentHash().substring(0, IImageService.VERSION_LENGTH).equals(version);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, versioned && exactContent ? IMMUTABLE_CACHE_CONTROL : "no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + contentHash + "\"")) {
+            return;
+        }
         
-        return  ResponseEntity.ok().contentType(MediaType.parseMediaType(image.getFileType()))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" +image.getFileName() + "\"")
-                .body(resource);
+        writeImageHeaders(response, image, contentType, contentLength);
+        Optional<Path> file = imageStorage.localFile(contentHash);
+        if (file.isPresent() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat copies the file to the socket with sendfile after the handler returns
+            request.setAttribute(SENDFILE_FILENAME, file.get().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, contentLength);
+        } else {
+            imageStorage.transferTo(contentHash, Channels.newChannel(response.getOutputStream()));
+        }
+        
+        LoggingUtils.logPerformance(log, "downloadImage", System.currentTimeMillis() - startTime);
     }
 
     @GetMapping("/{imageId}")
@@ -174,4 +231,11 @@ public class ImageController {
                     .body(new ApiResponse("Delete failed!", ex.getMessage()));
         }
     }
+
+    private void writeImageHeaders(HttpServletResponse response, Image image, String contentType, long contentLength) {
+        response.setContentType(MediaType.parseMediaType(contentType).toString());
+        response.setContentLengthLong(contentLength);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + image.getFileName() + "\"");
+        LoggingUtils.logBusinessEvent(log, "IMAGE_DOWNLOADED", "imageId", image.getId(), "fileName", image.getFileName());
+    }
 }
\ No newline at end of file
@@ -7,17 +7,21 @@ import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Customer;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Order;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.OrderStatus;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.OrderPageQuery;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.BusinessRuleException;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ApiResponse;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CursorPageDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.OrderDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.OrderStatusDto;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -43,6 +47,22 @@ public class OrderController {
         return ResponseEntity.ok(new ApiResponse("Orders retrieved successfully", orders));
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse> getOrderPage(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        LoggingUtils.logMethodEntry(log, "getOrderPage", "status", status, "limit", limit);
+        long startTime = System.currentTimeMillis();
+        
+        CursorPageDto<OrderDto> page = orderService.getOrderPage(pageQuery(null, null, status, from, to), cursor, limit);
+        LoggingUtils.logPerformance(log, "getOrderPage", System.currentTimeMillis() - startTime);
+        
+        return ResponseEntity.ok(new ApiResponse("Orders retrieved successfully", page));
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<ApiResponse> getOrderById(@PathVariable UUID orderId) {
         LoggingUtils.logMethodEntry(log, "getOrderById", "orderId", orderId);
@@ -67,6 +87,23 @@ public class OrderController {
         return ResponseEntity.ok(new ApiResponse("Customer orders retrieved successfully", orders));
     }
 
+    @GetMapping("/customer/{customerId}/page")
+    public ResponseEntity<ApiResponse> getCustomerOrderPage(
+            @PathVariable UUID customerId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        LoggingUtils.logMethodEntry(log, "getCustomerOrderPage", "customerId", customerId, "status", status, "limit", limit);
+        long startTime = System.currentTimeMillis();
+        
+        CursorPageDto<OrderDto> page = orderService.getOrderPage(pageQuery(customerId, null, status, from, to), cursor, limit);
+        LoggingUtils.logPerformance(log, "getCustomerOrderPage", System.currentTimeMillis() - startTime);
+        
+        return ResponseEntity.ok(new ApiResponse("Customer orders retrieved successfully", page));
+    }
+
     @GetMapping("/restaurant/{restaurantId}")
     public ResponseEntity<ApiResponse> getRestaurantOrders(@PathVariable UUID restaurantId) {
         LoggingUtils.logMethodEntry(log, "getRestaurantOrders", "restaurantId", restaurantId);
@@ -79,6 +116,23 @@ public class OrderController {
         return ResponseEntity.ok(new ApiResponse("Restaurant orders retrieved successfully", orders));
     }
 
+    @GetMapping("/restaurant/{restaurantId}/page")
+    public ResponseEntity<ApiResponse> getRestaurantOrderPage(
+            @PathVariable UUID restaurantId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        LoggingUtils.logMethodEntry(log, "getRestaurantOrderPage", "restaurantId", restaurantId, "status", status, "limit", limit);
+        long startTime = System.currentTimeMillis();
+        
+        CursorPageDto<OrderDto> page = orderService.getOrderPage(pageQuery(null, restaurantId, status, from, to), cursor, limit);
+        LoggingUtils.logPerformance(log, "getRestaurantOrderPage", System.currentTimeMillis() - startTime);
+        
+        return ResponseEntity.ok(new ApiResponse("Restaurant orders retrieved successfully", page));
+    }
+
     @GetMapping("/has-ordered/{restaurantId}")
     public ResponseEntity<ApiResponse> hasOrdered(@PathVariable UUID restaurantId) {
         LoggingUtils.logMethodEntry(log, "hasOrdered", "restaurantId", restaurantId);
@@ -129,4 +183,15 @@ public class OrderController {
         
         return ResponseEntity.ok(new ApiResponse("Order status updated successfully", null));
     }
+
+    private OrderPageQuery pageQuery(UUID customerId, UUID restaurantId, OrderStatus status, LocalDate from, LocalDate to) {
+        // Dates are whole days, the upper one inclusive
+        return OrderPageQuery.builder()
+                .customerId(customerId)
+                .restaurantId(restaurantId)
+                .status(status)
+                .from(from != null ? from.atStartOfDay() : null)
+                .to(to != null ? to.plusDays(1).atStartOfDay() : null)
+                .build();
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.princz_mia.viaual04_gourmetgo_backend.web.controller;
 
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IProductService;
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.impl.MenuCacheService;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ApiResponse;
@@ -8,7 +9,9 @@ import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ProductDto;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -23,6 +26,7 @@ import java.util.UUID;
 public class ProductController {
 
     private final IProductService productService;
+    private final MenuCacheService menuCacheService;
 
     @GetMapping
     public ResponseEntity<ApiResponse> getAllProducts() {
@@ -81,16 +85,22 @@ public class ProductController {
     }
 
     @GetMapping("/by-restaurant/{restaurantId}")
-    public ResponseEntity<ApiResponse> getProductsByRestaurantId(@PathVariable UUID restaurantId) {
+    public ResponseEntity<byte[]> getProductsByRestaurantId(@PathVariable UUID restaurantId) {
         LoggingUtils.logMethodEntry(log, "getProductsByRestaurantId", "restaurantId", restaurantId);
         long startTime = System.currentTimeMillis();
         
-        List<ProductDto> products = productService.getProductsByRestaurantId(restaurantId);
+        MenuCacheService.Snapshot menu = menuCacheService.get(restaurantId, MenuCacheService.View.PRODUCTS,
+                () -> new ApiResponse("Products retrieved successfully", productService.getProductsByRestaurantId(restaurantId)));
         
-        LoggingUtils.logBusinessEvent(log, "RESTAURANT_PRODUCTS_RETRIEVED", "restaurantId", restaurantId, "count", products.size());
+        LoggingUtils.logBusinessEvent(log, "RESTAURANT_PRODUCTS_RETRIEVED", "restaurantId", restaurantId, "version", menu.version());
         LoggingUtils.logPerformance(log, "getProductsByRestaurantId", System.currentTimeMillis() - startTime);
         
-        return ResponseEntity.ok(new ApiResponse("Products retrieved successfully", products));
+        // A matching If-None-Match is answered with 304 by Spring from the ETag
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(menu.etag())
+                .body(menu.body());
     }
 
     @GetMapping("/by-restaurant-and-name")
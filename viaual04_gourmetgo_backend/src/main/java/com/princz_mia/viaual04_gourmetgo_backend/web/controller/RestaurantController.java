@@ -1,8 +1,9 @@
 package com.princz_mia.viaual04_gourmetgo_backend.web.controller;
 
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IRestaurantService;
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.impl.MenuCacheService;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
-import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Restaurant;
+import com.princz_mia.viaual04_gourmetgo_backend.config.ratelimit.RateLimited;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.AppException;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ResourceNotFoundException;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ApiResponse;
@@ -13,6 +14,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -29,6 +31,7 @@ import java.util.UUID;
 @Slf4j
 public class RestaurantController {
     private final IRestaurantService restaurantService;
+    private final MenuCacheService menuCacheService;
 
     @GetMapping
     public ResponseEntity<ApiResponse> getAllRestaurants() {
@@ -44,18 +47,23 @@ public class RestaurantController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse> getById(@PathVariable UUID id) {
+    public ResponseEntity<?> getById(@PathVariable UUID id) {
         LoggingUtils.logMethodEntry(log, "getById", "id", id);
         long startTime = System.currentTimeMillis();
         
         try {
-            Restaurant restaurant = restaurantService.getRestaurantById(id);
-            RestaurantDto restaurantDto = restaurantService.convertRestaurantToDto(restaurant);
+            MenuCacheService.Snapshot page = menuCacheService.get(id, MenuCacheService.View.RESTAURANT,
+                    () -> new ApiResponse("Success", restaurantService.convertRestaurantToDto(restaurantService.getRestaurantById(id))));
             
-            LoggingUtils.logBusinessEvent(log, "RESTAURANT_RETRIEVED", "restaurantId", id);
+            LoggingUtils.logBusinessEvent(log, "RESTAURANT_RETRIEVED", "restaurantId", id, "version", page.version());
             LoggingUtils.logPerformance(log, "getById", System.currentTimeMillis() - startTime);
             
-            return ResponseEntity.ok(new ApiResponse("Success", restaurantDto));
+            // A matching If-None-Match is answered with 304 by Spring from the ETag
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(page.etag())
+                    .body(page.body());
         } catch (ResourceNotFoundException e) {
             LoggingUtils.logError(log, "Restaurant not found", e, "id", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(e.getMessage(), null));
@@ -63,6 +71,7 @@ public class RestaurantController {
     }
 
     @PostMapping(value = "/register", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @RateLimited("registration")
     public ResponseEntity<ApiResponse> register(
             @RequestPart("data") @Valid RestaurantRegistrationDto data,
             @RequestPart("logo") MultipartFile logo
@@ -3,7 +3,7 @@ package com.princz_mia.viaual04_gourmetgo_backend.web.controller;
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IStatisticsService;
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IPdfReportService;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
-import com.princz_mia.viaual04_gourmetgo_backend.config.security.CustomUserDetails;
+import com.princz_mia.viaual04_gourmetgo_backend.config.security.AuthenticatedUser;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.AdminDashboardDto;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ApiResponse;
 import com.princz_mia.viaual04_gourmetgo_backend.web.dto.RestaurantDashboardDto;
@@ -61,14 +61,14 @@ public class StatisticsController {
             @PathVariable UUID restaurantId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @AuthenticationPrincipal CustomUserDetails userDetails) {
+            @AuthenticationPrincipal AuthenticatedUser userDetails) {
         
         LoggingUtils.logMethodEntry(log, "getRestaurantDashboard", "restaurantId", restaurantId);
         long startTime = System.currentTimeMillis();
         
         try {
             // Verify restaurant access
-            if (!userDetails.getUser().getId().equals(restaurantId)) {
+            if (!userDetails.getId().equals(restaurantId)) {
                 return ResponseEntity.status(403).body(new ApiResponse("Access denied", null));
             }
             
@@ -100,6 +100,20 @@ public class StatisticsController {
         }
     }
     
+    @PostMapping("/admin/order-stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> rebuildOrderStatsRollup() {
+        LoggingUtils.logMethodEntry(log, "rebuildOrderStatsRollup");
+        
+        try {
+            int rows = statisticsService.rebuildOrderStatsRollup();
+            return ResponseEntity.ok(new ApiResponse("Order statistics rebuilt", rows));
+        } catch (Exception e) {
+            LoggingUtils.logError(log, "Error rebuilding order statistics", e);
+            return ResponseEntity.internalServerError().body(new ApiResponse("Error rebuilding order statistics", null));
+        }
+    }
+    
     @GetMapping("/admin/report/pdf")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<byte[]> generateAdminPdfReport(
@@ -139,13 +153,13 @@ public class StatisticsController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) String sections,
-            @AuthenticationPrincipal CustomUserDetails userDetails) {
+            @AuthenticationPrincipal AuthenticatedUser userDetails) {
         
         LoggingUtils.logMethodEntry(log, "generateRestaurantPdfReport", "restaurantId", restaurantId);
         
         try {
             // Verify restaurant access
-            if (!userDetails.getUser().getId().equals(restaurantId)) {
+            if (!userDetails.getId().equals(restaurantId)) {
                 return ResponseEntity.status(403).build();
             }
             
@@ -2,6 +2,7 @@ package com.princz_mia.viaual04_gourmetgo_backend.web.controller;
 
 import com.princz_mia.viaual04_gourmetgo_backend.business.service.IUserService;
 import com.princz_mia.viaual04_gourmetgo_backend.config.logging.LoggingUtils;
+import com.princz_mia.viaual04_gourmetgo_backend.config.ratelimit.RateLimited;
 import com.princz_mia.viaual04_gourmetgo_backend.data.entity.User;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.AppException;
 import com.princz_mia.viaual04_gourmetgo_backend.exception.ResourceNotFoundException;
@@ -104,6 +105,7 @@ public class UserController {
     }
 
     @PostMapping("/forgot-password")
+    @RateLimited("password-reset")
     public ResponseEntity<ApiResponse> forgotPassword(
             @RequestParam("email")
             @NotBlank(message = "Email must not be blank")
@@ -122,6 +124,7 @@ public class UserController {
     }
 
     @PostMapping("/reset-password/password")
+    @RateLimited("password-reset")
     public ResponseEntity<ApiResponse> verifyUserAccount(
             @RequestParam("key") @NotEmpty(message = "Key cannot be empty or null") String key,
             @RequestBody @Valid PasswordDto passwordDto) {
@@ -42,6 +42,10 @@ public class AdminDashboardDto {
         private Long weeklyVisits;
         private Long monthlyVisits;
         private Long yearlyVisits;
+        private Long uniqueVisitors;
+        private Long weeklyUniqueVisitors;
+        private Long monthlyUniqueVisitors;
+        private Long yearlyUniqueVisitors;
     }
     
     @Getter
@@ -65,6 +69,9 @@ public class AdminDashboardDto {
         private Long requestsPerHour;
         private Double averageResponseTime;
         private Double errorRate;
+        private Long p50ResponseTime;
+        private Long p95ResponseTime;
+        private Long p99ResponseTime;
         private List<EndpointStatsDto> topEndpoints;
     }
     
@@ -76,6 +83,9 @@ public class AdminDashboardDto {
     public static class EndpointStatsDto {
         private String endpoint;
         private Long requestCount;
+        private Double averageResponseTime;
+        private Long p95ResponseTime;
+        private Long p99ResponseTime;
     }
     
     @Getter
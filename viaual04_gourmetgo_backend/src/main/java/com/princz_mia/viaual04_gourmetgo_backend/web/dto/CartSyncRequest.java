@@ -0,0 +1,30 @@
+package com.princz_mia.viaual04_gourmetgo_backend.web.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Desired state of several cart lines, applied together. {@code quantity} is the line's new
+ * quantity rather than a change to it, zero or less removes the line; products not listed
+ * are left as they are.
+ */
+@Data
+public class CartSyncRequest {
+    @Valid
+    @NotNull(message = "Items are required")
+    @Size(max = 100, message = "At most 100 items can be synced at once")
+    private List<Item> items = new ArrayList<>();
+
+    @Data
+    public static class Item {
+        @NotNull(message = "Product id is required")
+        private UUID productId;
+        private int quantity;
+    }
+}
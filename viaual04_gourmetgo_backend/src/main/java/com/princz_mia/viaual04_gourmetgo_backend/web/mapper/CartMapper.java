@@ -0,0 +1,15 @@
+package com.princz_mia.viaual04_gourmetgo_backend.web.mapper;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Cart;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.CartItem;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartItemDto;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MapperSettings.class, uses = ProductMapper.class)
+public interface CartMapper {
+
+    CartDto toDto(Cart cart);
+
+    CartItemDto toDto(CartItem item);
+}
@@ -0,0 +1,30 @@
+package com.princz_mia.viaual04_gourmetgo_backend.web.mapper;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Address;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Image;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.PaymentMethod;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.ProductCategory;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.RestaurantCategory;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.AddressDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ImageDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.PaymentMethodDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ProductCategoryDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.RestaurantCategoryDto;
+import org.mapstruct.Mapper;
+
+/**
+ * Mappings of the small value-like entities shared by the larger DTOs.
+ */
+@Mapper(config = MapperSettings.class)
+public interface CommonMapper {
+
+    ImageDto toDto(Image image);
+
+    AddressDto toDto(Address address);
+
+    PaymentMethodDto toDto(PaymentMethod paymentMethod);
+
+    ProductCategoryDto toDto(ProductCategory category);
+
+    RestaurantCategoryDto toDto(RestaurantCategory category);
+}
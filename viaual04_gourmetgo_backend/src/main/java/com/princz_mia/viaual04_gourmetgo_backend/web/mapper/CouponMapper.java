@@ -0,0 +1,11 @@
+package com.princz_mia.viaual04_gourmetgo_backend.web.mapper;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Coupon;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CouponDto;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MapperSettings.class)
+public interface CouponMapper {
+
+    CouponDto toDto(Coupon coupon);
+}
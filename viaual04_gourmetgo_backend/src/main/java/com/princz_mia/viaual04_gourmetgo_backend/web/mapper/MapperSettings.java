@@ -0,0 +1,21 @@
+package com.princz_mia.viaual04_gourmetgo_backend.web.mapper;
+
+import org.mapstruct.Builder;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Shared settings of the generated entity to DTO mappers. Every DTO property has to be
+ * mapped or explicitly ignored, so a new field fails the build instead of silently staying
+ * empty. DTO builders are bypassed because Lombok names them after the {@code is*} fields.
+ */
+@MapperConfig(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        unmappedTargetPolicy = ReportingPolicy.ERROR,
+        builder = @Builder(disableBuilder = true)
+)
+public interface MapperSettings {
+}
@@ -0,0 +1,22 @@
+package com.princz_mia.viaual04_gourmetgo_backend.web.mapper;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Order;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.OrderItem;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.OrderDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.OrderItemDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapperSettings.class, uses = {CommonMapper.class, CouponMapper.class, ProductMapper.class, RestaurantMapper.class})
+public interface OrderMapper {
+
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "pointsToRedeem", ignore = true)
+    OrderDto toDto(Order order);
+
+    OrderItemDto toDto(OrderItem item);
+
+    OrderDto.BillingInfoDto toDto(Order.BillingInformation billingInformation);
+
+    OrderDto.ShippingInfoDto toDto(Order.ShippingInformation shippingInformation);
+}
@@ -0,0 +1,22 @@
+package com.princz_mia.viaual04_gourmetgo_backend.web.mapper;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ProductDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+@Mapper(config = MapperSettings.class, uses = {CommonMapper.class, RestaurantMapper.class})
+public interface ProductMapper {
+
+    ProductDto toDto(Product product);
+
+    /**
+     * Maps a product without its restaurant and category, for callers that map those once
+     * and share them across a whole menu.
+     */
+    @Named("withoutReferences")
+    @Mapping(target = "restaurant", ignore = true)
+    @Mapping(target = "category", ignore = true)
+    ProductDto toDtoWithoutReferences(Product product);
+}
@@ -0,0 +1,22 @@
+package com.princz_mia.viaual04_gourmetgo_backend.web.mapper;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Restaurant;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.RestaurantDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.time.DayOfWeek;
+import java.util.Map;
+
+@Mapper(config = MapperSettings.class, uses = CommonMapper.class)
+public interface RestaurantMapper {
+
+    // Product categories are a lazy collection no client reads from the restaurant
+    @Mapping(target = "name", source = "fullName")
+    @Mapping(target = "productCategories", ignore = true)
+    RestaurantDto toDto(Restaurant restaurant);
+
+    Map<DayOfWeek, RestaurantDto.HoursDto> toDto(Map<DayOfWeek, Restaurant.Hours> openingHours);
+
+    RestaurantDto.HoursDto toDto(Restaurant.Hours hours);
+}
@@ -0,0 +1,20 @@
+package com.princz_mia.viaual04_gourmetgo_backend.web.mapper;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Customer;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Review;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CustomerDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ReviewDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapperSettings.class, uses = RestaurantMapper.class)
+public interface ReviewMapper {
+
+    ReviewDto toDto(Review review);
+
+    // A reviewer is shown by name only, the customer's orders, cart and points are not loaded
+    @Mapping(target = "orders", ignore = true)
+    @Mapping(target = "cart", ignore = true)
+    @Mapping(target = "rewardPoint", ignore = true)
+    CustomerDto toReviewer(Customer customer);
+}
@@ -0,0 +1,26 @@
+package com.princz_mia.viaual04_gourmetgo_backend.web.mapper;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.RewardPoint;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.RewardTransaction;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.RewardPointDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.RewardTransactionDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Reward rows use numeric ids, which the UUID ids of the DTOs cannot carry.
+ */
+@Mapper(config = MapperSettings.class)
+public interface RewardMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "lastUpdated", source = "updatedAt")
+    RewardPointDto toDto(RewardPoint rewardPoint);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "amount", source = "points")
+    @Mapping(target = "orderId", source = "relatedOrder.id")
+    RewardTransactionDto toDto(RewardTransaction transaction);
+}
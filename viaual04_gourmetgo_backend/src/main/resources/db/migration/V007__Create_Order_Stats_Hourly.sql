@@ -0,0 +1,20 @@
+-- Create hourly order statistics rollup
+CREATE TABLE order_stats_hourly (
+    id UUID PRIMARY KEY,
+    restaurant_id UUID NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(38,2) NOT NULL DEFAULT 0,
+    CONSTRAINT uk_order_stats_hourly_bucket UNIQUE (restaurant_id, bucket_start, status)
+);
+
+-- The unique constraint also serves restaurant + time range scans
+CREATE INDEX idx_order_stats_hourly_bucket_start ON order_stats_hourly(bucket_start);
+
+-- Backfill from existing orders
+INSERT INTO order_stats_hourly (id, restaurant_id, bucket_start, status, order_count, revenue)
+SELECT gen_random_uuid(), o.restaurant_id, date_trunc('hour', o.order_date), o.status, COUNT(*), COALESCE(SUM(o.total_amount), 0)
+FROM orders o
+WHERE o.order_date IS NOT NULL AND o.status IS NOT NULL
+GROUP BY o.restaurant_id, date_trunc('hour', o.order_date), o.status;
@@ -0,0 +1,3 @@
+-- Support range scans on order_date for time series queries
+CREATE INDEX IF NOT EXISTS idx_orders_order_date ON orders(order_date);
+CREATE INDEX IF NOT EXISTS idx_orders_restaurant_order_date ON orders(restaurant_id, order_date);
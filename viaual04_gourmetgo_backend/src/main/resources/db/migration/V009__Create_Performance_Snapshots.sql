@@ -0,0 +1,13 @@
+-- Per-minute request metrics snapshots written from the in-memory metrics engine
+CREATE TABLE performance_snapshots (
+    id UUID PRIMARY KEY,
+    bucket_start TIMESTAMP NOT NULL,
+    request_count BIGINT NOT NULL,
+    error_count BIGINT NOT NULL,
+    average_response_time DOUBLE PRECISION NOT NULL,
+    p50_response_time BIGINT NOT NULL,
+    p95_response_time BIGINT NOT NULL,
+    p99_response_time BIGINT NOT NULL
+);
+
+CREATE INDEX idx_performance_snapshots_bucket_start ON performance_snapshots(bucket_start);
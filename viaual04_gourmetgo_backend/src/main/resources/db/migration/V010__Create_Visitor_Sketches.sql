@@ -0,0 +1,5 @@
+-- Daily HyperLogLog sketches of distinct visitors, merged for unique visitor counts over any range
+CREATE TABLE visitor_sketches (
+    date DATE PRIMARY KEY,
+    sketch BYTEA NOT NULL
+);
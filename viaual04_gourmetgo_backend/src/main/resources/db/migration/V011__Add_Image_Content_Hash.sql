@@ -0,0 +1,6 @@
+-- Image bytes move to a content-addressed file store; rows keep the SHA-256 and size of their content
+ALTER TABLE images
+ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64),
+ADD COLUMN IF NOT EXISTS content_length BIGINT;
+
+CREATE INDEX IF NOT EXISTS idx_images_content_hash ON images (content_hash);
@@ -0,0 +1,14 @@
+-- Resized JPEG renditions of an image, stored in the image store like the original
+CREATE TABLE image_variants (
+    id UUID PRIMARY KEY,
+    image_id UUID NOT NULL REFERENCES images(id) ON DELETE CASCADE,
+    variant VARCHAR(16) NOT NULL,
+    source_hash VARCHAR(64) NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    content_length BIGINT,
+    width INTEGER,
+    height INTEGER,
+    CONSTRAINT uk_image_variants_image_variant UNIQUE (image_id, variant)
+);
+
+CREATE INDEX idx_image_variants_content_hash ON image_variants (content_hash);
@@ -0,0 +1,8 @@
+-- Keyset pagination of order listings seeks on (order_date, id), newest first
+CREATE INDEX IF NOT EXISTS idx_orders_order_date_id ON orders (order_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_restaurant_order_date_id ON orders (restaurant_id, order_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_customer_order_date_id ON orders (customer_id, order_date DESC, id DESC);
+
+-- Superseded by the indexes above, which serve the same order_date range scans
+DROP INDEX IF EXISTS idx_orders_order_date;
+DROP INDEX IF EXISTS idx_orders_restaurant_order_date;
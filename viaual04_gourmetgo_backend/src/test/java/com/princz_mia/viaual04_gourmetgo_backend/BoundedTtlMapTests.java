@@ -0,0 +1,73 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import com.princz_mia.viaual04_gourmetgo_backend.config.BoundedTtlMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedTtlMapTests {
+
+	private final AtomicLong now = new AtomicLong(1_000);
+
+	@Test
+	void entriesExpireAfterTheirTtl() {
+		BoundedTtlMap<String, String> map = new BoundedTtlMap<>(10, false, now::get);
+		map.put("a", "1", 100);
+
+		now.addAndGet(99);
+		assertThat(map.get("a")).isEqualTo("1");
+		now.addAndGet(1);
+		assertThat(map.get("a")).isNull();
+		assertThat(map.size()).isZero();
+	}
+
+	@Test
+	void readsRenewTheTtlWhenAsked() {
+		BoundedTtlMap<String, String> map = new BoundedTtlMap<>(10, true, now::get);
+		map.put("a", "1", 100);
+
+		now.addAndGet(80);
+		assertThat(map.get("a")).isEqualTo("1");
+		now.addAndGet(80);
+		assertThat(map.get("a")).isEqualTo("1");
+	}
+
+	@Test
+	void aFullMapDropsTheLeastRecentlyUsedEntry() {
+		BoundedTtlMap<String, String> map = new BoundedTtlMap<>(2, true, now::get);
+		map.put("a", "1", 1_000);
+		map.put("b", "2", 1_000);
+		map.get("a");
+
+		map.put("c", "3", 1_000);
+
+		assertThat(map.get("a")).isEqualTo("1");
+		assertThat(map.get("b")).isNull();
+		assertThat(map.get("c")).isEqualTo("3");
+		assertThat(map.overflowEvictions()).isEqualTo(1);
+	}
+
+	@Test
+	void evictExpiredOnlyDropsExpiredEntries() {
+		BoundedTtlMap<String, String> map = new BoundedTtlMap<>(10, false, now::get);
+		map.put("short", "1", 100);
+		map.put("long", "2", 1_000);
+		now.addAndGet(500);
+
+		assertThat(map.evictExpired()).isEqualTo(1);
+		assertThat(map.get("long")).isEqualTo("2");
+	}
+
+	@Test
+	void computeIfAbsentReplacesAnExpiredValue() {
+		BoundedTtlMap<String, String> map = new BoundedTtlMap<>(10, false, now::get);
+		assertThat(map.computeIfAbsent("a", key -> "first", 100)).isEqualTo("first");
+		assertThat(map.computeIfAbsent("a", key -> "second", 100)).isEqualTo("first");
+
+		now.addAndGet(100);
+
+		assertThat(map.computeIfAbsent("a", key -> "second", 100)).isEqualTo("second");
+	}
+}
@@ -0,0 +1,128 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.ICartService;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Cart;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.CartItem;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.ProductCategory;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Restaurant;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.CartRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ProductCategoryRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ProductRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.RestaurantRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.CartMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a cart GET: a cached view, a view built on a miss in a read-only
+ * transaction, and the former read that saved the cart and mapped it reflectively. Boots the
+ * application against a Testcontainers PostgreSQL, so it needs Docker; run with
+ * {@code mvn -Pbenchmarks test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class CartReadBenchmarks {
+
+	@Param({"1", "10"})
+	private int cartItems;
+
+	private ConfigurableApplicationContext context;
+	private ICartService cartService;
+	private CartRepository cartRepository;
+	private CartMapper cartMapper;
+	private ModelMapper modelMapper;
+	private TransactionTemplate transaction;
+	private TransactionTemplate readOnlyTransaction;
+	private UUID cartId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = SpringApplication.from(Viaual04GourmetgoBackendApplication::main)
+				.with(TestcontainersConfiguration.class)
+				.run("--spring.main.web-application-type=none")
+				.getApplicationContext();
+		cartService = context.getBean(ICartService.class);
+		cartRepository = context.getBean(CartRepository.class);
+		cartMapper = context.getBean(CartMapper.class);
+		modelMapper = context.getBean(ModelMapper.class);
+		PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+		transaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+		cartId = transaction.execute(status -> createCart());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public CartDto cachedView() {
+		return cartService.getCartView(cartId);
+	}
+
+	@Benchmark
+	public CartDto uncachedView() {
+		return readOnlyTransaction.execute(status -> cartMapper.toDto(cartRepository.findWithItemsById(cartId).orElseThrow()));
+	}
+
+	@Benchmark
+	public CartDto writeOnRead() {
+		return transaction.execute(status -> {
+			Cart cart = cartRepository.findById(cartId).orElseThrow();
+			cart.setTotalAmount(cart.getTotalAmount());
+			return modelMapper.map(cartRepository.save(cart), CartDto.class);
+		});
+	}
+
+	private UUID createCart() {
+		Restaurant restaurant = context.getBean(RestaurantRepository.class).save(TestRestaurants.approved("cart", "Cart Bistro"));
+		ProductCategory category = context.getBean(ProductCategoryRepository.class)
+				.save(ProductCategory.builder().name("Mains").restaurant(restaurant).build());
+
+		Cart cart = cartRepository.save(new Cart());
+		for (int i = 0; i < cartItems; i++) {
+			Product product = context.getBean(ProductRepository.class).save(Product.builder()
+					.name("Dish " + i)
+					.price(new BigDecimal("9.90"))
+					.inventory(100)
+					.category(category)
+					.restaurant(restaurant)
+					.build());
+			CartItem item = CartItem.builder().product(product).quantity(2).unitPrice(product.getPrice()).build();
+			item.setTotalPrice();
+			item.setCart(cart);
+			cart.addItem(item);
+		}
+		return cartRepository.save(cart).getId();
+	}
+}
@@ -0,0 +1,121 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.ICartItemService;
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.ICartService;
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.impl.StoredCartService;
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.CartStore;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Cart;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.CartItem;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Restaurant;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.CartRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ProductRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.RestaurantRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.CartDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "app.cart.store=in-memory")
+class CartStoreWriteBackTests {
+
+	@Autowired
+	private ICartItemService cartItemService;
+
+	@Autowired
+	private ICartService cartService;
+
+	@Autowired
+	private StoredCartService storedCartService;
+
+	@Autowired
+	private CartStore cartStore;
+
+	@Autowired
+	private CartRepository cartRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private RestaurantRepository restaurantRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void cartChangesStayInTheStoreUntilWrittenBack() {
+		Restaurant restaurant = createRestaurant();
+		UUID pizza = createProduct(restaurant, "Pizza", "9.90");
+		UUID soda = createProduct(restaurant, "Soda", "2.00");
+		UUID cartId = cartRepository.save(new Cart()).getId();
+
+		cartItemService.addItemToCart(cartId, pizza, 2);
+		cartItemService.addItemToCart(cartId, soda, 1);
+		cartItemService.addItemToCart(cartId, pizza, 1);
+
+		CartDto view = cartService.getCartView(cartId);
+		assertThat(view.getItems()).hasSize(2);
+		assertThat(view.getTotalAmount()).isEqualByComparingTo("31.70");
+		assertThat(persistedQuantities(cartId)).isEmpty();
+
+		storedCartService.writeBack(cartId);
+		assertThat(persistedQuantities(cartId)).isEqualTo(Map.of(pizza, 3, soda, 1));
+	}
+
+	@Test
+	void idleCartsAreWrittenBackAndReleased() {
+		Restaurant restaurant = createRestaurant();
+		UUID pizza = createProduct(restaurant, "Pizza", "9.90");
+		UUID soda = createProduct(restaurant, "Soda", "2.00");
+		UUID cartId = cartRepository.save(new Cart()).getId();
+
+		cartItemService.addItemToCart(cartId, pizza, 1);
+		cartItemService.addItemToCart(cartId, soda, 2);
+		storedCartService.writeBack(cartId);
+		cartItemService.removeItemFromCart(cartId, soda);
+
+		Object idleWriteBackMs = ReflectionTestUtils.getField(storedCartService, "idleWriteBackMs");
+		ReflectionTestUtils.setField(storedCartService, "idleWriteBackMs", -60_000L);
+		try {
+			storedCartService.writeBackIdleCarts();
+		} finally {
+			ReflectionTestUtils.setField(storedCartService, "idleWriteBackMs", idleWriteBackMs);
+		}
+
+		assertThat(cartStore.find(cartId)).isNull();
+		assertThat(persistedQuantities(cartId)).isEqualTo(Map.of(pizza, 1));
+		// The next use reads the written back rows into the store again
+		assertThat(cartService.getCartView(cartId).getItems()).hasSize(1);
+	}
+
+	private Map<UUID, Integer> persistedQuantities(UUID cartId) {
+		return transactionTemplate.execute(status -> cartRepository.findWithItemsById(cartId).orElseThrow()
+				.getItems().stream()
+				.collect(Collectors.toMap(item -> item.getProduct().getId(), CartItem::getQuantity)));
+	}
+
+	private Restaurant createRestaurant() {
+		return restaurantRepository.save(TestRestaurants.approved("stored-cart", "Stored Cart"));
+	}
+
+	private UUID createProduct(Restaurant restaurant, String name, String price) {
+		return productRepository.save(Product.builder()
+				.name(name)
+				.price(new BigDecimal(price))
+				.inventory(10)
+				.restaurant(restaurant)
+				.build()).getId();
+	}
+}
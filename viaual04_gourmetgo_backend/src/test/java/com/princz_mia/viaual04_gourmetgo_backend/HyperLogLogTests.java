@@ -0,0 +1,68 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.impl.HyperLogLog;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTests {
+
+	@Test
+	void estimatesStayWithinThreeStandardErrors() {
+		for (int cardinality : new int[]{100, 1_000, 10_000, 100_000, 1_000_000}) {
+			HyperLogLog sketch = sketchOf(0, cardinality);
+			// Adding the same visitors again must not move the estimate
+			for (int i = 0; i < cardinality; i += 7) {
+				sketch.add("visitor-" + i);
+			}
+			assertThat((double) sketch.estimate())
+					.as("estimate of %d distinct values", cardinality)
+					.isCloseTo(cardinality, within(cardinality * 0.05));
+		}
+	}
+
+	@Test
+	void mergingMatchesASketchOfTheUnion() {
+		HyperLogLog monday = sketchOf(0, 30_000);
+		HyperLogLog tuesday = sketchOf(20_000, 50_000);
+		HyperLogLog both = sketchOf(0, 50_000);
+
+		monday.merge(tuesday);
+		assertThat(monday.toBytes()).isEqualTo(both.toBytes());
+		assertThat(monday.estimate()).isEqualTo(both.estimate());
+		assertThat((double) monday.estimate()).isCloseTo(50_000, within(2_500.0));
+
+		// Merging is idempotent
+		monday.merge(tuesday);
+		assertThat(monday.toBytes()).isEqualTo(both.toBytes());
+	}
+
+	@Test
+	void serializedSketchesRoundTrip() {
+		HyperLogLog sketch = sketchOf(0, 12_345);
+		byte[] bytes = sketch.toBytes();
+		HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+		assertThat(restored.toBytes()).isEqualTo(bytes);
+		assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+		assertThat(HyperLogLog.fromBytes(new HyperLogLog().toBytes()).estimate()).isZero();
+
+		byte[] otherPrecision = bytes.clone();
+		otherPrecision[0] = 14;
+		assertThatThrownBy(() -> HyperLogLog.fromBytes(otherPrecision)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> HyperLogLog.fromBytes(Arrays.copyOf(bytes, 100))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> HyperLogLog.fromBytes(null)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private HyperLogLog sketchOf(int from, int to) {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int i = from; i < to; i++) {
+			sketch.add("visitor-" + i);
+		}
+		return sketch;
+	}
+}
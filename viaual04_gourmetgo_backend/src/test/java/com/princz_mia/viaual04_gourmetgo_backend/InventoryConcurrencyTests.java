@@ -0,0 +1,109 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Restaurant;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ProductRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.RestaurantRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class InventoryConcurrencyTests {
+
+	private static final int CHECKOUTS = 200;
+	private static final int STOCK = 50;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private RestaurantRepository restaurantRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void parallelCheckoutsOfAHotProductNeverOversell() throws Exception {
+		Restaurant restaurant = createRestaurant();
+		UUID hot = createProduct(restaurant, "Hot dish", STOCK);
+		UUID side = createProduct(restaurant, "Side", CHECKOUTS);
+
+		ExecutorService executor = Executors.newFixedThreadPool(CHECKOUTS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> checkouts = new ArrayList<>();
+		for (int i = 0; i < CHECKOUTS; i++) {
+			checkouts.add(executor.submit(() -> {
+				start.await();
+				// Same shape as placeOrder: all lines in one transaction, rolled back if any line fails
+				return transactionTemplate.execute(status -> {
+					Set<UUID> insufficient = productRepository.decrementInventory(Map.of(hot, 1, side, 1));
+					if (!insufficient.isEmpty()) {
+						assertThat(insufficient).containsExactly(hot);
+						status.setRollbackOnly();
+						return false;
+					}
+					return true;
+				});
+			}));
+		}
+		start.countDown();
+
+		int succeeded = 0;
+		for (Future<Boolean> checkout : checkouts) {
+			if (checkout.get()) {
+				succeeded++;
+			}
+		}
+		executor.shutdown();
+
+		assertThat(succeeded).isEqualTo(STOCK);
+		assertThat(productRepository.findById(hot).orElseThrow().getInventory()).isZero();
+		assertThat(productRepository.findById(side).orElseThrow().getInventory()).isEqualTo(CHECKOUTS - STOCK);
+	}
+
+	@Test
+	void reportsExactlyTheLinesWithoutEnoughStock() {
+		Restaurant restaurant = createRestaurant();
+		UUID plenty = createProduct(restaurant, "Plenty", 10);
+		UUID scarce = createProduct(restaurant, "Scarce", 1);
+		UUID empty = createProduct(restaurant, "Empty", 0);
+
+		Set<UUID> insufficient = transactionTemplate.execute(status ->
+				productRepository.decrementInventory(Map.of(plenty, 3, scarce, 2, empty, 1)));
+
+		assertThat(insufficient).containsExactlyInAnyOrder(scarce, empty);
+		assertThat(productRepository.findById(plenty).orElseThrow().getInventory()).isEqualTo(7);
+		assertThat(productRepository.findById(scarce).orElseThrow().getInventory()).isEqualTo(1);
+		assertThat(productRepository.findById(empty).orElseThrow().getInventory()).isZero();
+	}
+
+	private Restaurant createRestaurant() {
+		return restaurantRepository.save(TestRestaurants.approved("inventory", "Inventory"));
+	}
+
+	private UUID createProduct(Restaurant restaurant, String name, int inventory) {
+		return productRepository.save(Product.builder()
+				.name(name)
+				.price(new BigDecimal("9.90"))
+				.inventory(inventory)
+				.restaurant(restaurant)
+				.build()).getId();
+	}
+}
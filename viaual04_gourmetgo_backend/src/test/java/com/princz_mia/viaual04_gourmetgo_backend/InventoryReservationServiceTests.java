@@ -0,0 +1,132 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.impl.InventoryReservationService;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ProductRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.events.CartClearedEvent;
+import com.princz_mia.viaual04_gourmetgo_backend.events.InventoryCommittedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InventoryReservationServiceTests {
+
+	private final UUID firstCart = UUID.randomUUID();
+	private final UUID secondCart = UUID.randomUUID();
+
+	private ProductRepository productRepository;
+	private InventoryReservationService reservations;
+	private Product product;
+
+	@BeforeEach
+	void setUp() {
+		productRepository = mock(ProductRepository.class);
+		reservations = new InventoryReservationService(productRepository);
+		ReflectionTestUtils.setField(reservations, "ttlMs", 60_000L);
+		product = Product.builder().id(UUID.randomUUID()).name("Hot dish").inventory(5).build();
+	}
+
+	@Test
+	void holdsAreLimitedToTheStockOtherCartsDoNotHold() {
+		assertThat(reservations.reserve(firstCart, product, 3)).isTrue();
+		assertThat(reservations.reserve(secondCart, product, 3)).isFalse();
+		assertThat(reservations.reserve(secondCart, product, 2)).isTrue();
+
+		// A new quantity replaces the cart's hold rather than adding to it
+		assertThat(reservations.reserve(firstCart, product, 1)).isTrue();
+		assertThat(reservations.reserve(secondCart, product, 4)).isTrue();
+	}
+
+	@Test
+	void releasedClearedAndExpiredHoldsFreeTheirStock() {
+		reservations.reserve(firstCart, product, 5);
+		reservations.release(firstCart, product.getId());
+		assertThat(reservations.reserve(secondCart, product, 5)).isTrue();
+
+		reservations.onCartCleared(new CartClearedEvent(secondCart));
+		assertThat(reservations.reserve(firstCart, product, 5)).isTrue();
+
+		ReflectionTestUtils.setField(reservations, "ttlMs", 0L);
+		reservations.reserve(firstCart, product, 5);
+		assertThat(reservations.reserve(secondCart, product, 5)).isTrue();
+	}
+
+	@Test
+	void aFailedBatchPutsBackTheHoldsItChanged() {
+		Product scarce = Product.builder().id(UUID.randomUUID()).name("Last slice").inventory(1).build();
+		Product other = Product.builder().id(UUID.randomUUID()).name("Side salad").inventory(5).build();
+		reservations.reserve(firstCart, product, 2);
+
+		Map<UUID, Product> products = Map.of(product.getId(), product, scarce.getId(), scarce, other.getId(), other);
+		Map<UUID, Integer> quantities = new LinkedHashMap<>();
+		quantities.put(product.getId(), 4);
+		quantities.put(other.getId(), 5);
+		quantities.put(scarce.getId(), 2);
+		assertThat(reservations.reserveAll(firstCart, products, quantities)).containsExactly(scarce.getId());
+
+		assertThat(reservations.reserve(secondCart, product, 4)).isFalse();
+		assertThat(reservations.reserve(secondCart, product, 3)).isTrue();
+		assertThat(reservations.reserve(secondCart, other, 5)).isTrue();
+
+		quantities.put(scarce.getId(), 1);
+		quantities.put(product.getId(), 2);
+		quantities.remove(other.getId());
+		assertThat(reservations.reserveAll(firstCart, products, quantities)).isEmpty();
+	}
+
+	@Test
+	void aSnapshotPutsBackPlacedAndReleasedHolds() {
+		Product other = Product.builder().id(UUID.randomUUID()).name("Side salad").inventory(5).build();
+		reservations.reserve(firstCart, product, 2);
+
+		InventoryReservationService.HoldSnapshot snapshot = reservations.snapshot(firstCart, List.of(product.getId(), other.getId()));
+		reservations.release(firstCart, product.getId());
+		reservations.reserve(firstCart, other, 5);
+		reservations.restore(snapshot);
+
+		assertThat(reservations.reserve(secondCart, product, 4)).isFalse();
+		assertThat(reservations.reserve(secondCart, product, 3)).isTrue();
+		assertThat(reservations.reserve(secondCart, other, 5)).isTrue();
+	}
+
+	@Test
+	void holdsChangedInARolledBackTransactionArePutBack() {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			reservations.restoreOnRollback(reservations.snapshot(firstCart, List.of(product.getId())));
+			reservations.reserve(firstCart, product, 5);
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertThat(reservations.reserve(secondCart, product, 5)).isTrue();
+	}
+
+	@Test
+	void committedOrdersLowerTheStockUntilReconciliationReloadsIt() {
+		reservations.reserve(firstCart, product, 2);
+		reservations.onInventoryCommitted(new InventoryCommittedEvent(Map.of(product.getId(), 2)));
+		reservations.onCartCleared(new CartClearedEvent(firstCart));
+
+		assertThat(reservations.reserve(secondCart, product, 4)).isFalse();
+		assertThat(reservations.reserve(secondCart, product, 3)).isTrue();
+
+		when(productRepository.findInventory(any())).thenReturn(Map.of(product.getId(), 10));
+		reservations.reconcile();
+		assertThat(reservations.reserve(secondCart, product, 10)).isTrue();
+	}
+}
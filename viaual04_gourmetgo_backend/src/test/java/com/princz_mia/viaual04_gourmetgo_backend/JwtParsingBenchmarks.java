@@ -0,0 +1,87 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import com.princz_mia.viaual04_gourmetgo_backend.config.security.jwt.InMemoryBlacklistReplicator;
+import com.princz_mia.viaual04_gourmetgo_backend.config.security.jwt.JWTTokenProvider;
+import com.princz_mia.viaual04_gourmetgo_backend.config.security.jwt.TokenBlacklist;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request with a JWT: the former path, which decoded the secret,
+ * built a parser and verified the token once for validation and again for the subject,
+ * against the cached parser behind {@link JWTTokenProvider#validateAndGetClaims}. Blacklist
+ * lookups are local in both cases so only the token handling is measured. Run with
+ * {@code mvn -Pbenchmarks test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParsingBenchmarks {
+
+	private String secret;
+	private String token;
+	private JWTTokenProvider tokenProvider;
+
+	@Setup
+	public void setUp() {
+		secret = Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+		token = Jwts.builder()
+				.setSubject("jane@example.com")
+				.claim("id", UUID.randomUUID())
+				.claim("email", "jane@example.com")
+				.claim("role", List.of("ROLE_CUSTOMER"))
+				.claim("tokenId", UUID.randomUUID().toString())
+				.setIssuedAt(new Date())
+				.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+				.signWith(key(), SignatureAlgorithm.HS256)
+				.compact();
+
+		TokenBlacklist tokenBlacklist = new TokenBlacklist(new InMemoryBlacklistReplicator());
+		tokenBlacklist.init();
+		tokenProvider = new JWTTokenProvider(tokenBlacklist);
+		ReflectionTestUtils.setField(tokenProvider, "jwtSecret", secret);
+		tokenProvider.init();
+	}
+
+	@Benchmark
+	public String parserPerCall() {
+		Claims claims = Jwts.parser().setSigningKey(key()).build().parseClaimsJws(token).getBody();
+		if (claims.get("tokenId", String.class) == null) {
+			return null;
+		}
+		return Jwts.parser().setSigningKey(key()).build().parseClaimsJws(token).getBody().getSubject();
+	}
+
+	@Benchmark
+	public String cachedParser() {
+		return tokenProvider.validateAndGetClaims(token).getSubject();
+	}
+
+	private Key key() {
+		return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+	}
+}
@@ -0,0 +1,188 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Address;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Coupon;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.CouponType;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Customer;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Image;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Order;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.OrderItem;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.OrderStatus;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.PaymentMethod;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.ProductCategory;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Restaurant;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.RestaurantCategory;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.OrderDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ProductDto;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.CommonMapperImpl;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.CouponMapperImpl;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.OrderMapper;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.OrderMapperImpl;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.ProductMapper;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.ProductMapperImpl;
+import com.princz_mia.viaual04_gourmetgo_backend.web.mapper.RestaurantMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping throughput of the reflective ModelMapper against the generated mappers, on
+ * detached entity graphs so no database work is measured. Run with {@code mvn -Pbenchmarks test};
+ * the gc profiler reports the allocation rate per operation next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmarks {
+
+	@Param({"1", "10"})
+	private int orderItems;
+
+	private ModelMapper modelMapper;
+	private ProductMapper productMapper;
+	private OrderMapper orderMapper;
+
+	private Product product;
+	private Order order;
+
+	@Setup
+	public void setUp() {
+		modelMapper = new ModelMapper();
+		CommonMapperImpl commonMapper = new CommonMapperImpl();
+		RestaurantMapperImpl restaurantMapper = new RestaurantMapperImpl(commonMapper);
+		productMapper = new ProductMapperImpl(commonMapper, restaurantMapper);
+		orderMapper = new OrderMapperImpl(commonMapper, new CouponMapperImpl(), productMapper, restaurantMapper);
+
+		Restaurant restaurant = restaurant();
+		ProductCategory category = ProductCategory.builder().id(UUID.randomUUID()).name("Pizza").restaurant(restaurant).build();
+		product = product(restaurant, category, 0);
+		order = order(restaurant, category);
+	}
+
+	@Benchmark
+	public ProductDto productWithModelMapper() {
+		return modelMapper.map(product, ProductDto.class);
+	}
+
+	@Benchmark
+	public ProductDto productWithGeneratedMapper() {
+		return productMapper.toDto(product);
+	}
+
+	@Benchmark
+	public OrderDto orderWithModelMapper() {
+		return modelMapper.map(order, OrderDto.class);
+	}
+
+	@Benchmark
+	public OrderDto orderWithGeneratedMapper() {
+		return orderMapper.toDto(order);
+	}
+
+	private Restaurant restaurant() {
+		Restaurant restaurant = new Restaurant();
+		restaurant.setId(UUID.randomUUID());
+		restaurant.setFullName("Benchmark Bistro");
+		restaurant.setEmailAddress("bistro@example.com");
+		restaurant.setPhoneNumber("+36 1 234 5678");
+		restaurant.setDeliveryFee(new BigDecimal("2.50"));
+		restaurant.setApproved(true);
+		restaurant.setEnabled(true);
+		restaurant.setAccountNonLocked(true);
+		restaurant.setRating(4.5);
+		restaurant.setCreatedAt(LocalDateTime.now());
+		restaurant.setAddress(address());
+		restaurant.setCategories(List.of(RestaurantCategory.builder().id(UUID.randomUUID()).name("Italian").build()));
+		for (DayOfWeek day : DayOfWeek.values()) {
+			restaurant.getOpeningHours().put(day, new Restaurant.Hours(LocalTime.of(10, 0), LocalTime.of(22, 0)));
+		}
+		restaurant.setLogo(Image.builder().id(UUID.randomUUID()).fileName("logo.png")
+				.downloadUrl("/api/v1/images/download/logo").build());
+		return restaurant;
+	}
+
+	private Product product(Restaurant restaurant, ProductCategory category, int index) {
+		Product product = Product.builder()
+				.id(UUID.randomUUID())
+				.name("Margherita " + index)
+				.description("Tomato, mozzarella, basil")
+				.price(new BigDecimal("8.90"))
+				.inventory(100)
+				.category(category)
+				.restaurant(restaurant)
+				.build();
+		product.setImage(Image.builder().id(UUID.randomUUID()).fileName("pizza.png")
+				.downloadUrl("/api/v1/images/download/pizza").product(product).build());
+		return product;
+	}
+
+	private Order order(Restaurant restaurant, ProductCategory category) {
+		Order order = new Order();
+		order.setId(UUID.randomUUID());
+		order.setOrderDate(LocalDateTime.now());
+		order.setStatus(OrderStatus.PENDING);
+		order.setTotalAmount(new BigDecimal("42.00"));
+		order.setOrderNotes("Ring twice");
+		order.setRestaurant(restaurant);
+		Customer customer = new Customer();
+		customer.setId(UUID.randomUUID());
+		order.setCustomer(customer);
+		order.setPaymentMethod(PaymentMethod.builder().id(UUID.randomUUID()).name("Card").build());
+		order.setCoupon(Coupon.builder().id(UUID.randomUUID()).code("WELCOME").type(CouponType.AMOUNT)
+				.value(BigDecimal.ONE).expirationDate(LocalDate.now().plusDays(30)).build());
+
+		Order.BillingInformation billing = new Order.BillingInformation();
+		billing.setFullName("Jane Doe");
+		billing.setPhoneNumber("+36 30 123 4567");
+		billing.setAddress(address());
+		order.setBillingInformation(billing);
+		Order.ShippingInformation shipping = new Order.ShippingInformation();
+		shipping.setFullName("Jane Doe");
+		shipping.setPhoneNumber("+36 30 123 4567");
+		shipping.setAddress(billing.getAddress());
+		order.setShippingInformation(shipping);
+
+		for (int i = 0; i < orderItems; i++) {
+			order.getOrderItems().add(OrderItem.builder()
+					.id(UUID.randomUUID())
+					.order(order)
+					.product(product(restaurant, category, i))
+					.quantity(2)
+					.price(new BigDecimal("17.80"))
+					.build());
+		}
+		return order;
+	}
+
+	private Address address() {
+		return Address.builder()
+				.id(UUID.randomUUID())
+				.region("Budapest")
+				.postalCode("1051")
+				.city("Budapest")
+				.addressLine("Example street 1")
+				.build();
+	}
+}
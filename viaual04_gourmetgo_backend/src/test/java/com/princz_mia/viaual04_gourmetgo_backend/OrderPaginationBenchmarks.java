@@ -0,0 +1,129 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one restaurant order page at increasing depths, keyset against OFFSET, on the
+ * indexes of the V013 migration. The keyset statement has the shape OrderPageRepositoryImpl
+ * issues for a restaurant listing. Needs Docker; run with {@code mvn -Pbenchmarks test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPaginationBenchmarks {
+
+	private static final int ORDERS = 200_000;
+	private static final int PAGE_SIZE = 20;
+
+	private static final String KEYSET_SQL = "SELECT o.id FROM orders o WHERE 1 = 1 AND o.restaurant_id = ? "
+			+ "AND (o.order_date, o.id) < (?, ?) ORDER BY o.order_date DESC, o.id DESC LIMIT ?";
+
+	private static final String OFFSET_SQL = "SELECT o.id FROM orders o WHERE o.restaurant_id = ? "
+			+ "ORDER BY o.order_date DESC, o.id DESC OFFSET ? LIMIT ?";
+
+	@Param({"1", "100", "1000", "9000"})
+	private int page;
+
+	private PostgreSQLContainer<?> postgres;
+	private Connection connection;
+	private PreparedStatement keysetQuery;
+	private PreparedStatement offsetQuery;
+	private final UUID restaurantId = UUID.randomUUID();
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+		postgres.start();
+		connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE orders (id UUID PRIMARY KEY, customer_id UUID, restaurant_id UUID, "
+					+ "status VARCHAR(32), order_date TIMESTAMP)");
+			statement.execute(migration("V013__Add_Order_Keyset_Indexes.sql"));
+			// Another restaurant's orders interleave with the measured one, as in a shared table
+			statement.execute("INSERT INTO orders SELECT gen_random_uuid(), gen_random_uuid(), "
+					+ "CASE WHEN g % 2 = 0 THEN '" + restaurantId + "'::uuid ELSE gen_random_uuid() END, "
+					+ "'DELIVERED', now() - g * interval '1 second' FROM generate_series(1, " + ORDERS * 2 + ") g");
+			statement.execute("ANALYZE orders");
+		}
+
+		// Last row of the previous page, as the client would pass it back
+		keysetQuery = connection.prepareStatement(KEYSET_SQL);
+		keysetQuery.setObject(1, restaurantId);
+		try (PreparedStatement cursor = connection.prepareStatement("SELECT order_date, id FROM orders "
+				+ "WHERE restaurant_id = ? ORDER BY order_date DESC, id DESC OFFSET ? LIMIT 1")) {
+			cursor.setObject(1, restaurantId);
+			cursor.setInt(2, Math.max(0, (page - 1) * PAGE_SIZE - 1));
+			try (ResultSet row = cursor.executeQuery()) {
+				row.next();
+				keysetQuery.setTimestamp(2, page == 1 ? Timestamp.valueOf("9999-01-01 00:00:00") : row.getTimestamp(1));
+				keysetQuery.setObject(3, page == 1 ? new UUID(-1L, -1L) : row.getObject(2));
+			}
+		}
+		keysetQuery.setInt(4, PAGE_SIZE + 1);
+
+		offsetQuery = connection.prepareStatement(OFFSET_SQL);
+		offsetQuery.setObject(1, restaurantId);
+		offsetQuery.setInt(2, (page - 1) * PAGE_SIZE);
+		offsetQuery.setInt(3, PAGE_SIZE + 1);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		connection.close();
+		postgres.stop();
+	}
+
+	@Benchmark
+	public void keyset(Blackhole blackhole) throws Exception {
+		consume(keysetQuery, blackhole);
+	}
+
+	@Benchmark
+	public void offset(Blackhole blackhole) throws Exception {
+		consume(offsetQuery, blackhole);
+	}
+
+	private void consume(PreparedStatement query, Blackhole blackhole) throws Exception {
+		try (ResultSet rows = query.executeQuery()) {
+			while (rows.next()) {
+				blackhole.consume(rows.getObject(1));
+			}
+		}
+	}
+
+	private String migration(String name) throws Exception {
+		try (InputStream in = getClass().getResourceAsStream("/db/migration/" + name)) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
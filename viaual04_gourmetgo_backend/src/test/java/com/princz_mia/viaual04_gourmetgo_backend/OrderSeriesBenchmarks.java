@@ -0,0 +1,138 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the admin order chart for 1, 30 and 365 day ranges: the single grouped query
+ * OrderSeriesRepositoryImpl issues against the one COUNT per hour or day the chart used to
+ * run, on the indexes of the V008 migration. Needs Docker; run with {@code mvn -Pbenchmarks test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderSeriesBenchmarks {
+
+	private static final int ORDERS = 500_000;
+	private static final int HISTORY_DAYS = 400;
+
+	private static final String SERIES_SQL = "SELECT date_trunc(?, o.order_date) AS bucket, COUNT(*) AS order_count, "
+			+ "COALESCE(SUM(CASE WHEN o.status <> 'CANCELLED' THEN o.total_amount END), 0) AS revenue "
+			+ "FROM orders o WHERE o.order_date >= ? AND o.order_date < ? GROUP BY 1 ORDER BY 1";
+
+	// What the JPQL countOrdersBetweenDates and countOrdersBetweenDateTimes translate to
+	private static final String DAY_COUNT_SQL = "SELECT COUNT(*) FROM orders o WHERE CAST(o.order_date AS date) BETWEEN ? AND ?";
+	private static final String HOUR_COUNT_SQL = "SELECT COUNT(*) FROM orders o WHERE o.order_date BETWEEN ? AND ?";
+
+	@Param({"1", "30", "365"})
+	private int days;
+
+	private PostgreSQLContainer<?> postgres;
+	private Connection connection;
+	private PreparedStatement seriesQuery;
+	private PreparedStatement dayCount;
+	private PreparedStatement hourCount;
+	private LocalDate endDate;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"));
+		postgres.start();
+		connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE orders (id UUID PRIMARY KEY, restaurant_id UUID, status VARCHAR(32), "
+					+ "total_amount NUMERIC(19, 2), order_date TIMESTAMP)");
+			statement.execute(migration("V008__Add_Order_Date_Indexes.sql"));
+			statement.execute("INSERT INTO orders SELECT gen_random_uuid(), gen_random_uuid(), "
+					+ "CASE WHEN g % 10 = 0 THEN 'CANCELLED' ELSE 'DELIVERED' END, (g % 50) + 10, "
+					+ "now() - (random() * " + HISTORY_DAYS + ") * interval '1 day' FROM generate_series(1, " + ORDERS + ") g");
+			statement.execute("ANALYZE orders");
+		}
+
+		endDate = LocalDate.now().minusDays(1);
+		LocalDate startDate = endDate.minusDays(days - 1);
+		seriesQuery = connection.prepareStatement(SERIES_SQL);
+		seriesQuery.setString(1, days == 1 ? "hour" : "day");
+		seriesQuery.setTimestamp(2, Timestamp.valueOf(startDate.atStartOfDay()));
+		seriesQuery.setTimestamp(3, Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+		dayCount = connection.prepareStatement(DAY_COUNT_SQL);
+		hourCount = connection.prepareStatement(HOUR_COUNT_SQL);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		connection.close();
+		postgres.stop();
+	}
+
+	@Benchmark
+	public void groupedSeries(Blackhole blackhole) throws Exception {
+		try (ResultSet rows = seriesQuery.executeQuery()) {
+			while (rows.next()) {
+				blackhole.consume(rows.getLong(2));
+			}
+		}
+	}
+
+	@Benchmark
+	public void queryPerBucket(Blackhole blackhole) throws Exception {
+		if (days == 1) {
+			for (int hour = 0; hour < 24; hour++) {
+				LocalDateTime hourStart = endDate.atTime(hour, 0);
+				hourCount.setTimestamp(1, Timestamp.valueOf(hourStart));
+				hourCount.setTimestamp(2, Timestamp.valueOf(endDate.atTime(hour, 59, 59)));
+				count(hourCount, blackhole);
+			}
+			return;
+		}
+		for (LocalDate day = endDate.minusDays(days - 1); !day.isAfter(endDate); day = day.plusDays(1)) {
+			dayCount.setDate(1, Date.valueOf(day));
+			dayCount.setDate(2, Date.valueOf(day));
+			count(dayCount, blackhole);
+		}
+	}
+
+	private void count(PreparedStatement query, Blackhole blackhole) throws Exception {
+		try (ResultSet row = query.executeQuery()) {
+			row.next();
+			blackhole.consume(row.getLong(1));
+		}
+	}
+
+	private String migration(String name) throws Exception {
+		try (InputStream in = getClass().getResourceAsStream("/db/migration/" + name)) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
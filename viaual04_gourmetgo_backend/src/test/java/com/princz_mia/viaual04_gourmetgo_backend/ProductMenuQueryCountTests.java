@@ -0,0 +1,113 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.IProductService;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Image;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Product;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.ProductCategory;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Restaurant;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ImageRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ProductCategoryRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.ProductRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.RestaurantRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.web.dto.ProductDto;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.princz_mia.viaual04_gourmetgo_backend.ProductMenuQueryCountTests$QueryCounter")
+class ProductMenuQueryCountTests {
+
+	// Product query plus the restaurant's eager associations and lazy product categories
+	private static final int MAX_MENU_QUERIES = 8;
+
+	@Autowired
+	private IProductService productService;
+
+	@Autowired
+	private RestaurantRepository restaurantRepository;
+
+	@Autowired
+	private ProductCategoryRepository productCategoryRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private ImageRepository imageRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@ParameterizedTest
+	@ValueSource(ints = {10, 100, 1000})
+	void menuIsAssembledInAFixedNumberOfQueries(int menuSize) {
+		UUID restaurantId = transactionTemplate.execute(status -> createMenu(menuSize));
+
+		QueryCounter.reset();
+		List<ProductDto> menu = productService.getProductsByRestaurantId(restaurantId);
+		int queries = QueryCounter.count();
+
+		assertThat(menu).hasSize(menuSize);
+		assertThat(menu).allSatisfy(product -> assertThat(product.getImage()).isNotNull());
+		assertThat(queries).isLessThanOrEqualTo(MAX_MENU_QUERIES);
+	}
+
+	private UUID createMenu(int menuSize) {
+		Restaurant restaurant = restaurantRepository.save(TestRestaurants.approved("menu", "Menu " + menuSize));
+
+		List<ProductCategory> categories = List.of(
+				productCategoryRepository.save(ProductCategory.builder().name("Mains").restaurant(restaurant).build()),
+				productCategoryRepository.save(ProductCategory.builder().name("Drinks").restaurant(restaurant).build()));
+
+		for (int i = 0; i < menuSize; i++) {
+			Product product = productRepository.save(Product.builder()
+					.name("Dish " + i)
+					.price(new BigDecimal("9.90"))
+					.inventory(10)
+					.category(categories.get(i % categories.size()))
+					.restaurant(restaurant)
+					.build());
+			imageRepository.save(Image.builder()
+					.fileName("dish-" + i + ".jpg")
+					.fileType("image/jpeg")
+					.downloadUrl("/api/v1/images/download/" + i)
+					.product(product)
+					.build());
+		}
+		return restaurant.getId();
+	}
+
+	/**
+	 * Counts SQL statements prepared on the calling thread, so scheduled background work does not skew the result.
+	 */
+	public static class QueryCounter implements StatementInspector {
+
+		private static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+
+		static void reset() {
+			COUNT.set(0);
+		}
+
+		static int count() {
+			return COUNT.get();
+		}
+
+		@Override
+		public String inspect(String sql) {
+			COUNT.set(COUNT.get() + 1);
+			return sql;
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.CartStore;
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.CartStore.Line;
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.CartStore.StoredCart;
+import com.princz_mia.viaual04_gourmetgo_backend.business.storage.RedisCartStore;
+import com.princz_mia.viaual04_gourmetgo_backend.config.RedisConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Lua scripts of {@link RedisCartStore} against a real Redis.
+ */
+@Testcontainers
+class RedisCartStoreTests {
+
+	@Container
+	private static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+			.withExposedPorts(6379);
+
+	private static LettuceConnectionFactory connectionFactory;
+	private static RedisTemplate<String, String> redisTemplate;
+
+	private RedisCartStore cartStore;
+
+	@BeforeAll
+	static void connect() {
+		connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+		connectionFactory.afterPropertiesSet();
+		connectionFactory.start();
+		redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+	}
+
+	@AfterAll
+	static void disconnect() {
+		connectionFactory.destroy();
+	}
+
+	@BeforeEach
+	void createStore() {
+		redisTemplate.execute(connection -> {
+			connection.serverCommands().flushAll();
+			return null;
+		}, true);
+		cartStore = new RedisCartStore(redisTemplate);
+		ReflectionTestUtils.setField(cartStore, "ttlMs", 60_000L);
+	}
+
+	@Test
+	void incrementAddsToTheLineAndKeepsItsPrice() {
+		UUID cart = UUID.randomUUID();
+		UUID restaurant = UUID.randomUUID();
+		UUID pizza = UUID.randomUUID();
+
+		assertThat(cartStore.increment(cart, restaurant, pizza, 2, new BigDecimal("9.90"))).isEqualTo(2);
+		assertThat(cartStore.increment(cart, restaurant, pizza, 3, new BigDecimal("11.00"))).isEqualTo(5);
+
+		StoredCart stored = cartStore.find(cart);
+		assertThat(stored.restaurantId()).isEqualTo(restaurant);
+		assertThat(stored.lines()).containsExactly(Map.entry(pizza, new Line(5, new BigDecimal("9.90"))));
+	}
+
+	@Test
+	void incrementRejectsProductsOfAnotherRestaurant() {
+		UUID cart = UUID.randomUUID();
+		UUID restaurant = UUID.randomUUID();
+		UUID pizza = UUID.randomUUID();
+		cartStore.increment(cart, restaurant, pizza, 1, new BigDecimal("9.90"));
+
+		int result = cartStore.increment(cart, UUID.randomUUID(), UUID.randomUUID(), 1, new BigDecimal("4.50"));
+
+		assertThat(result).isEqualTo(CartStore.DIFFERENT_RESTAURANT);
+		StoredCart stored = cartStore.find(cart);
+		assertThat(stored.restaurantId()).isEqualTo(restaurant);
+		assertThat(stored.lines()).containsOnlyKeys(pizza);
+	}
+
+	@Test
+	void removingTheLastLineFreesTheCartForAnotherRestaurant() {
+		UUID cart = UUID.randomUUID();
+		UUID pizza = UUID.randomUUID();
+		cartStore.increment(cart, UUID.randomUUID(), pizza, 1, new BigDecimal("9.90"));
+
+		cartStore.remove(cart, pizza);
+		UUID otherRestaurant = UUID.randomUUID();
+		UUID soup = UUID.randomUUID();
+
+		assertThat(cartStore.increment(cart, otherRestaurant, soup, 1, new BigDecimal("4.50"))).isEqualTo(1);
+		assertThat(cartStore.find(cart).restaurantId()).isEqualTo(otherRestaurant);
+	}
+
+	@Test
+	void concurrentAddsFromTwoRestaurantsNeverMix() throws Exception {
+		UUID cart = UUID.randomUUID();
+		UUID pizza = UUID.randomUUID();
+		UUID soup = UUID.randomUUID();
+		List<Callable<Integer>> adds = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			adds.add(() -> cartStore.increment(cart, UUID.nameUUIDFromBytes("pizzeria".getBytes()), pizza, 1, BigDecimal.ONE));
+			adds.add(() -> cartStore.increment(cart, UUID.nameUUIDFromBytes("soup bar".getBytes()), soup, 1, BigDecimal.ONE));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			for (Future<Integer> add : executor.invokeAll(adds)) {
+				add.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		Map<UUID, Line> lines = cartStore.find(cart).lines();
+		assertThat(lines).hasSize(1);
+		assertThat(lines.values().iterator().next().quantity()).isEqualTo(50);
+	}
+
+	@Test
+	void loadKeepsACartAlreadyInTheStore() {
+		UUID cart = UUID.randomUUID();
+		UUID restaurant = UUID.randomUUID();
+		UUID pizza = UUID.randomUUID();
+		cartStore.load(cart, new StoredCart(restaurant, Map.of(pizza, new Line(2, new BigDecimal("9.90")))));
+
+		cartStore.load(cart, new StoredCart(restaurant, Map.of(pizza, new Line(7, new BigDecimal("9.90")))));
+
+		assertThat(cartStore.find(cart).lines().get(pizza).quantity()).isEqualTo(2);
+	}
+
+	@Test
+	void applySetsAndRemovesLinesInOneStep() {
+		UUID cart = UUID.randomUUID();
+		UUID restaurant = UUID.randomUUID();
+		UUID pizza = UUID.randomUUID();
+		UUID soup = UUID.randomUUID();
+		cartStore.increment(cart, restaurant, pizza, 1, new BigDecimal("9.90"));
+
+		cartStore.apply(cart, restaurant, Map.of(soup, new Line(3, new BigDecimal("4.50"))), List.of(pizza));
+
+		StoredCart stored = cartStore.find(cart);
+		assertThat(stored.lines()).containsExactly(Map.entry(soup, new Line(3, new BigDecimal("4.50"))));
+
+		cartStore.apply(cart, null, Map.of(), List.of(soup));
+
+		stored = cartStore.find(cart);
+		assertThat(stored.restaurantId()).isNull();
+		assertThat(stored.lines()).isEmpty();
+	}
+
+	@Test
+	void applyRejectsACartFilledFromAnotherRestaurantMeanwhile() {
+		UUID cart = UUID.randomUUID();
+		UUID otherRestaurant = UUID.randomUUID();
+		UUID soup = UUID.randomUUID();
+		// Added after the sync read the cart as empty
+		cartStore.increment(cart, otherRestaurant, soup, 1, new BigDecimal("4.50"));
+
+		UUID pizza = UUID.randomUUID();
+		boolean applied = cartStore.apply(cart, UUID.randomUUID(), Map.of(pizza, new Line(2, new BigDecimal("9.90"))), List.of());
+
+		assertThat(applied).isFalse();
+		StoredCart stored = cartStore.find(cart);
+		assertThat(stored.restaurantId()).isEqualTo(otherRestaurant);
+		assertThat(stored.lines()).containsOnlyKeys(soup);
+	}
+
+	@Test
+	void applyCanSwitchRestaurantWhenEveryLineIsReplaced() {
+		UUID cart = UUID.randomUUID();
+		UUID soup = UUID.randomUUID();
+		cartStore.increment(cart, UUID.randomUUID(), soup, 1, new BigDecimal("4.50"));
+
+		UUID restaurant = UUID.randomUUID();
+		UUID pizza = UUID.randomUUID();
+		boolean applied = cartStore.apply(cart, restaurant, Map.of(pizza, new Line(2, new BigDecimal("9.90"))), List.of(soup));
+
+		assertThat(applied).isTrue();
+		StoredCart stored = cartStore.find(cart);
+		assertThat(stored.restaurantId()).isEqualTo(restaurant);
+		assertThat(stored.lines()).containsOnlyKeys(pizza);
+	}
+
+	@Test
+	void evictOnlyDropsCartsIdleSinceTheCutoff() {
+		UUID cart = UUID.randomUUID();
+		long before = System.currentTimeMillis() - 1;
+		cartStore.increment(cart, UUID.randomUUID(), UUID.randomUUID(), 1, BigDecimal.ONE);
+
+		assertThat(cartStore.evict(cart, before)).isFalse();
+		assertThat(cartStore.findIdle(System.currentTimeMillis() + 1)).isEqualTo(Set.of(cart));
+		assertThat(cartStore.evict(cart, System.currentTimeMillis() + 1)).isTrue();
+		assertThat(cartStore.find(cart)).isNull();
+	}
+}
@@ -0,0 +1,95 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.impl.RestaurantRevenueAggregator;
+import com.princz_mia.viaual04_gourmetgo_backend.config.StatisticsProperties;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.OrderStatus;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.OrderRepository;
+import com.princz_mia.viaual04_gourmetgo_backend.events.EventType;
+import com.princz_mia.viaual04_gourmetgo_backend.events.OrderEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RestaurantRevenueAggregatorTests {
+
+	private final UUID restaurantId = UUID.randomUUID();
+
+	private OrderRepository orderRepository;
+	private RestaurantRevenueAggregator aggregator;
+	private final List<Object[]> committedRevenue = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		orderRepository = mock(OrderRepository.class);
+		when(orderRepository.sumDailyRevenueByRestaurantSince(eq(restaurantId), any())).thenAnswer(invocation -> committedRevenue);
+		aggregator = new RestaurantRevenueAggregator(orderRepository, new StatisticsProperties());
+	}
+
+	@Test
+	void eventsQueuedBeforeSeedingAreNotCountedTwice() {
+		// Committed and queued, but still waiting on its lane when the dashboard is first read
+		long queued = aggregator.nextSequence();
+		committedRevenue.add(new Object[]{LocalDate.now(), new BigDecimal("10.00")});
+		assertThat(aggregator.getSnapshot(restaurantId).getDailyRevenue()).isEqualByComparingTo("10.00");
+
+		aggregator.apply(placed(new BigDecimal("10.00")), queued);
+		assertThat(aggregator.getSnapshot(restaurantId).getDailyRevenue()).isEqualByComparingTo("10.00");
+
+		aggregator.apply(placed(new BigDecimal("5.00")), aggregator.nextSequence());
+		assertThat(aggregator.getSnapshot(restaurantId).getDailyRevenue()).isEqualByComparingTo("15.00");
+	}
+
+	@Test
+	void invalidatedRestaurantsAreSeededAgain() {
+		assertThat(aggregator.getSnapshot(restaurantId).getDailyRevenue()).isEqualByComparingTo("0");
+
+		// An event the lanes had no room for is picked up by the next seeding instead
+		aggregator.nextSequence();
+		committedRevenue.add(new Object[]{LocalDate.now(), new BigDecimal("7.50")});
+		aggregator.invalidate(restaurantId);
+		assertThat(aggregator.getSnapshot(restaurantId).getDailyRevenue()).isEqualByComparingTo("7.50");
+	}
+
+	@Test
+	void seedingWaitsForACommitInProgress() throws Exception {
+		long committing = aggregator.beginCommit();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<RestaurantRevenueAggregator.RevenueSnapshot> seeded = executor.submit(() -> aggregator.getSnapshot(restaurantId));
+			Thread.sleep(100);
+			assertThat(seeded).isNotDone();
+
+			// The order becomes visible to the seeding query once its commit is done
+			committedRevenue.add(new Object[]{LocalDate.now(), new BigDecimal("12.00")});
+			aggregator.endCommit();
+			assertThat(seeded.get(5, TimeUnit.SECONDS).getDailyRevenue()).isEqualByComparingTo("12.00");
+		} finally {
+			executor.shutdown();
+		}
+
+		aggregator.apply(placed(new BigDecimal("12.00")), committing);
+		assertThat(aggregator.getSnapshot(restaurantId).getDailyRevenue()).isEqualByComparingTo("12.00");
+	}
+
+	private OrderEvent placed(BigDecimal amount) {
+		return new OrderEvent(UUID.randomUUID(), restaurantId, LocalDateTime.now(), amount, null,
+				OrderStatus.PENDING, EventType.ORDER_PLACED, Instant.now());
+	}
+}
@@ -0,0 +1,32 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.Restaurant;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Restaurants for tests and benchmarks that need one to own products, approved and able to log in.
+ */
+final class TestRestaurants {
+
+	private TestRestaurants() {
+	}
+
+	/**
+	 * A new, unsaved restaurant with a unique email address starting with {@code emailPrefix}.
+	 */
+	static Restaurant approved(String emailPrefix, String fullName) {
+		Restaurant restaurant = new Restaurant();
+		restaurant.setEmailAddress(emailPrefix + "-" + UUID.randomUUID() + "@gourmetgo.com");
+		restaurant.setFullName(fullName);
+		restaurant.setDeliveryFee(new BigDecimal("2.50"));
+		restaurant.setApproved(true);
+		restaurant.setCreatedAt(LocalDateTime.now());
+		restaurant.setLoginAttempts(0);
+		restaurant.setAccountNonLocked(true);
+		restaurant.setEnabled(true);
+		return restaurant;
+	}
+}
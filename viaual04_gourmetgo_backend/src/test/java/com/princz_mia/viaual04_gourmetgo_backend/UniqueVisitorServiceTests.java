@@ -0,0 +1,74 @@
+package com.princz_mia.viaual04_gourmetgo_backend;
+
+import com.princz_mia.viaual04_gourmetgo_backend.business.service.impl.UniqueVisitorService;
+import com.princz_mia.viaual04_gourmetgo_backend.data.entity.VisitorSketch;
+import com.princz_mia.viaual04_gourmetgo_backend.data.repository.VisitorSketchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UniqueVisitorServiceTests {
+
+	private final Map<LocalDate, byte[]> storedSketches = new TreeMap<>();
+
+	private UniqueVisitorService uniqueVisitors;
+
+	@BeforeEach
+	void setUp() {
+		VisitorSketchRepository repository = mock(VisitorSketchRepository.class);
+		when(repository.findByDateBetween(any(), any())).thenAnswer(invocation -> {
+			LocalDate from = invocation.getArgument(0);
+			LocalDate to = invocation.getArgument(1);
+			return storedSketches.entrySet().stream()
+					.filter(entry -> !entry.getKey().isBefore(from) && !entry.getKey().isAfter(to))
+					.map(entry -> new VisitorSketch(entry.getKey(), entry.getValue()))
+					.toList();
+		});
+
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.update(startsWith("INSERT INTO visitor_sketches"), any(Date.class), any(byte[].class))).thenAnswer(invocation -> {
+			storedSketches.put(((Date) invocation.getArgument(1)).toLocalDate(), invocation.getArgument(2));
+			return 1;
+		});
+
+		TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+		doAnswer(invocation -> {
+			invocation.<Consumer<Object>>getArgument(0).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+
+		uniqueVisitors = new UniqueVisitorService(repository, jdbcTemplate, transactionTemplate);
+	}
+
+	@Test
+	void lateFlushesIntoACompletedMonthRefreshItsRollup() {
+		YearMonth lastMonth = YearMonth.now().minusMonths(1);
+		LocalDate firstDay = lastMonth.atDay(1);
+		LocalDate lastDay = lastMonth.atEndOfMonth();
+
+		uniqueVisitors.offer(firstDay, "first@example.com", null, null);
+		uniqueVisitors.flush();
+		assertThat(uniqueVisitors.countUniqueVisitors(firstDay, lastDay)).isEqualTo(1);
+
+		// Visits recorded just before midnight on the month's last day are flushed after it ended
+		uniqueVisitors.offer(lastDay, "second@example.com", null, null);
+		uniqueVisitors.offer(lastDay, null, "10.0.0.1", "Firefox");
+		uniqueVisitors.flush();
+		assertThat(uniqueVisitors.countUniqueVisitors(firstDay, lastDay)).isEqualTo(3);
+	}
+}
@@ -32,6 +32,16 @@ export const updateImage = async (file, imageId) => {
   return response.data;
 };
 
-export const getImageUrl = (imageId) => {
-  return `${axiosInstance.defaults.baseURL}/images/download/${imageId}`;
+const apiOrigin = new URL(axiosInstance.defaults.baseURL).origin;
+
+// image: an ImageDto; its downloadUrl carries the ?v= content version that lets the browser cache it for good
+// size: 'thumbnail', 'card' or 'full' for a resized variant, the original when omitted
+export const getImageUrl = (image, size) => {
+  const url = image.downloadUrl
+    ? new URL(image.downloadUrl, apiOrigin)
+    : new URL(`${axiosInstance.defaults.baseURL}/images/download/${image.id}`);
+  if (size) {
+    url.searchParams.set('size', size);
+  }
+  return url.toString();
 };
\ No newline at end of file
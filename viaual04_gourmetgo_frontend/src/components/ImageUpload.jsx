@@ -52,7 +52,7 @@ const ImageUpload = ({
     }
   };
 
-  const imageUrl = currentImage?.id ? getImageUrl(currentImage.id) : preview;
+  const imageUrl = currentImage?.id ? getImageUrl(currentImage) : preview;
 
   return (
     <div className={`space-y-2 ${className}`}>
@@ -41,7 +41,7 @@ const ProductCard = ({
         <img
           src={
             productImage?.id
-              ? getImageUrl(productImage.id)
+              ? getImageUrl(productImage, "card")
               : image
               ? `http://localhost:8080${image}`
               : imageNotFound
@@ -77,7 +77,7 @@ const ProductImageManager = ({ product, onImageUpdate }) => {
       <div className="flex items-center space-x-4">
         {(product?.image?.id || previewImage) && (
           <img 
-            src={product?.image?.id ? getImageUrl(product.image.id) : previewImage} 
+            src={product?.image?.id ? getImageUrl(product.image) : previewImage} 
             alt="Product" 
             className="w-20 h-20 object-cover rounded-lg border"
           />
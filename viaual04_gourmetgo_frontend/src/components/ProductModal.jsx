@@ -19,7 +19,7 @@ const ProductModal = ({ isOpen, onClose, product }) => {
         <img
           src={
             image?.id
-              ? getImageUrl(image.id)
+              ? getImageUrl(image)
               : image
               ? `http://localhost:8080${image}`
               : imageNotFound
@@ -40,7 +40,7 @@ const RestaurantCard = ({
                 <img 
                     src={
                         logo?.id
-                            ? getImageUrl(logo.id)
+                            ? getImageUrl(logo, "card")
                             : image
                             ? `http://localhost:8080${image}`
                             : imageNotFound
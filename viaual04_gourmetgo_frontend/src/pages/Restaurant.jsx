@@ -144,7 +144,7 @@ const Restaurant = () => {
         <img
           src={
             restaurant.logo?.id
-              ? getImageUrl(restaurant.logo.id)
+              ? getImageUrl(restaurant.logo)
               : restaurant.logo?.downloadUrl
               ? `http://localhost:8080${restaurant.logo.downloadUrl}`
               : imageNotFound
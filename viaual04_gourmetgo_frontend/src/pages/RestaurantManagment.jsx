@@ -428,7 +428,7 @@ const RestaurantManagement = () => {
                 <div key={p.id} className="flex items-center bg-white p-4 rounded shadow">
                   {p.image?.id && (
                     <img 
-                      src={getImageUrl(p.image.id)} 
+                      src={getImageUrl(p.image)} 
                       alt={p.name}
                       className="w-16 h-16 object-cover rounded mr-4"
                     />